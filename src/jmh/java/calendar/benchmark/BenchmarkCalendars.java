@@ -0,0 +1,143 @@
+package calendar.benchmark;
+
+import calendar.model.modelimplementations.CalendarImpl;
+import calendar.model.modelinterfaces.Calendar;
+import calendar.model.modelinterfaces.Event;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds the calendars the benchmarks run against.
+ * Events are laid out by one of the following distributions, always from a fixed seed:
+ * "uniform" spreads single events over five years, "clustered" puts most of them into
+ * four busy weeks and "series" creates them as weekly series of 52 occurrences.
+ *
+ */
+
+final class BenchmarkCalendars {
+
+  static final String UNIFORM = "uniform";
+  static final String CLUSTERED = "clustered";
+  static final String SERIES = "series";
+
+  static final LocalDate FIRST_DATE = LocalDate.of(2025, 1, 6);
+  static final int SPAN_DAYS = 5 * 365;
+  static final int SERIES_OCCURRENCES = 52;
+
+  private static final int BUSY_WEEKS = 4;
+  private static final PrintStream DISCARD = new PrintStream(OutputStream.nullOutputStream());
+
+  private BenchmarkCalendars() {
+  }
+
+  /**
+   * Creates a calendar filled with about the given number of events.
+   *
+   * @param size         number of events
+   * @param distribution one of "uniform", "clustered" or "series"
+   * @param seed         seed of the layout
+   * @return the filled calendar
+   * @throws IllegalArgumentException if the distribution is unknown
+   */
+
+  static Calendar create(int size, String distribution, long seed) {
+    Calendar calendar = new CalendarImpl("Benchmark", ZoneId.of("America/New_York"));
+    fill(calendar, size, distribution, new Random(seed));
+    return calendar;
+  }
+
+  /**
+   * Discards standard output, as the model prints a line for most operations.
+   *
+   * @return the standard output which was replaced, to restore it afterwards
+   */
+
+  static PrintStream silenceOutput() {
+    PrintStream original = System.out;
+    System.setOut(DISCARD);
+    return original;
+  }
+
+  /**
+   * Samples the start date times of the events of a calendar, evenly over its events,
+   * so that queries of the benchmarks hit dates which hold events.
+   *
+   * @param calendar calendar to sample
+   * @param samples  number of start date times wanted
+   * @return the sampled start date times in start order
+   */
+
+  static List<LocalDateTime> sampleStarts(Calendar calendar, int samples) {
+    int stride = Math.max(1, calendar.getCalendarStore().size() / samples);
+    List<LocalDateTime> starts = new ArrayList<>();
+    int index = 0;
+    for (Event event : calendar.getEventsStartingBetween(null, null)) {
+      if (index++ % stride == 0) {
+        starts.add(LocalDateTime.of(event.getStartDate(), event.getStartTime()));
+      }
+    }
+    return starts;
+  }
+
+  private static void fill(Calendar calendar, int size, String distribution, Random random) {
+    switch (distribution) {
+      case UNIFORM:
+        addSingles(calendar, 0, size, random, false);
+        break;
+      case CLUSTERED:
+        addSingles(calendar, 0, size, random, true);
+        break;
+      case SERIES:
+        int seriesCount = size / SERIES_OCCURRENCES;
+        for (int i = 0; i < seriesCount; i++) {
+          addSeries(calendar, i, random);
+        }
+        addSingles(calendar, seriesCount * SERIES_OCCURRENCES, size, random, false);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown distribution: " + distribution);
+    }
+  }
+
+  private static void addSingles(Calendar calendar, int from, int to, Random random,
+                                 boolean clustered) {
+    for (int i = from; i < to; i++) {
+      LocalDate date;
+      if (clustered && random.nextInt(10) != 0) {
+        int week = random.nextInt(BUSY_WEEKS) * (SPAN_DAYS / 7 / BUSY_WEEKS);
+        date = FIRST_DATE.plusDays(week * 7L + random.nextInt(5));
+      } else {
+        date = FIRST_DATE.plusDays(random.nextInt(SPAN_DAYS));
+      }
+      LocalDateTime start = date.atTime(6 + random.nextInt(15), random.nextInt(12) * 5);
+      LocalDateTime end = start.plusMinutes(15 + random.nextInt(8) * 15);
+      calendar.saveEvent(calendar.createEvent("Event " + i, start, end,
+          null, null, null, null));
+    }
+  }
+
+  private static void addSeries(Calendar calendar, int index, Random random) {
+    LocalDate date = FIRST_DATE.plusDays(random.nextInt(365));
+    LocalDateTime start = date.atTime(6 + random.nextInt(15), random.nextInt(4) * 15);
+    LocalDateTime end = start.plusMinutes(30 + random.nextInt(4) * 15);
+
+    List<DayOfWeek> repeatDays = new ArrayList<>();
+    repeatDays.add(date.getDayOfWeek());
+    DayOfWeek extraDay = DayOfWeek.of(1 + random.nextInt(7));
+    if (!repeatDays.contains(extraDay)) {
+      repeatDays.add(extraDay);
+    }
+
+    Event first = calendar.createEvent("Series " + index, start, end,
+        "benchmark-series-" + index, null, null, null);
+    calendar.saveEvent(first);
+    calendar.createSeries(first, SERIES_OCCURRENCES, repeatDays, null);
+  }
+}
@@ -0,0 +1,263 @@
+package calendar.benchmark;
+
+import calendar.model.modelimplementations.CalendarImpl;
+import calendar.model.modelinterfaces.Calendar;
+import calendar.model.modelinterfaces.Event;
+import calendar.model.modelutility.CopyReport;
+import calendar.model.modelutility.EventKey;
+import java.io.PrintStream;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the calendar model operations, over calendars of 1k to 1M events laid
+ * out by the distributions of {@link BenchmarkCalendars}.
+ * Queries cycle over start date times sampled from the calendar, so that they hit dates
+ * which hold events. Benchmarks which add events remove them again in the same operation,
+ * keeping the calendar at its size for the whole trial.
+ *
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class CalendarModelBenchmark {
+
+  private static final long SEED = 20250515L;
+  private static final int PROBES = 1024;
+  private static final String SERIES_ID = "benchmark-created-series";
+  private static final List<DayOfWeek> SERIES_DAYS =
+      List.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY, DayOfWeek.FRIDAY);
+
+  @Param({"1000", "10000", "100000", "1000000"})
+  public int size;
+
+  @Param({BenchmarkCalendars.UNIFORM, BenchmarkCalendars.CLUSTERED, BenchmarkCalendars.SERIES})
+  public String distribution;
+
+  private Calendar calendar;
+  private Calendar copyTarget;
+  private ZoneId[] zones;
+  private LocalDateTime[] starts;
+  private String[] startStrings;
+  private String[] weekEndStrings;
+  private Event[] conflictProbes;
+  private int next;
+  private int zoneIndex;
+  private PrintStream originalOut;
+
+  /**
+   * Builds the calendar and the query probes of the trial.
+   */
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    originalOut = BenchmarkCalendars.silenceOutput();
+    calendar = BenchmarkCalendars.create(size, distribution, SEED);
+    copyTarget = new CalendarImpl("Target", ZoneId.of("America/New_York"));
+    zones = new ZoneId[] {calendar.getCalendarTimeZone(), ZoneId.of("Europe/London")};
+
+    List<LocalDateTime> sampled = BenchmarkCalendars.sampleStarts(calendar, PROBES);
+    starts = sampled.toArray(new LocalDateTime[0]);
+    startStrings = new String[starts.length];
+    weekEndStrings = new String[starts.length];
+    conflictProbes = new Event[starts.length];
+    for (int i = 0; i < starts.length; i++) {
+      startStrings[i] = starts[i].toString();
+      weekEndStrings[i] = starts[i].plusDays(7).toString();
+      conflictProbes[i] = calendar.createEvent("Probe", starts[i].plusMinutes(5),
+          starts[i].plusMinutes(35), null, null, null, null);
+    }
+  }
+
+  /**
+   * Restores the standard output.
+   */
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    System.setOut(originalOut);
+  }
+
+  private int nextProbe() {
+    next = next + 1 == starts.length ? 0 : next + 1;
+    return next;
+  }
+
+  /**
+   * Saves a new event and removes it again.
+   *
+   * @return the size of the calendar after saving
+   */
+
+  @Benchmark
+  public int saveEvent() {
+    LocalDateTime start = starts[nextProbe()].plusMinutes(1);
+    Event event = calendar.createEvent("Benchmark", start, start.plusMinutes(30),
+        null, null, null, null);
+    calendar.saveEvent(event);
+    int saved = calendar.getCalendarStore().size();
+    calendar.getCalendarStore().remove(new EventKey(event.getSubject(), event.getStartDate(),
+        event.getEndDate(), event.getStartTime(), event.getEndTime()));
+    return saved;
+  }
+
+  /**
+   * Gets the events on a date which holds events.
+   *
+   * @return the events on the date
+   */
+
+  @Benchmark
+  public List<Event> getEventsForDate() {
+    return calendar.getEventsForDate(starts[nextProbe()].toLocalDate());
+  }
+
+  /**
+   * Gets the schedule of the week following an event.
+   *
+   * @return the events of the week
+   */
+
+  @Benchmark
+  public List<Event> getSchedule() {
+    int probe = nextProbe();
+    return calendar.getSchedule(startStrings[probe], weekEndStrings[probe]);
+  }
+
+  /**
+   * Checks an event overlapping an existing event for conflicts.
+   *
+   * @return whether the event conflicts
+   */
+
+  @Benchmark
+  public boolean hasConflict() {
+    return calendar.hasConflict(conflictProbes[nextProbe()]);
+  }
+
+  /**
+   * Shows the status at the start of an existing event.
+   *
+   * @return "Busy" or "Available"
+   */
+
+  @Benchmark
+  public String showStatus() {
+    return calendar.showStatus(startStrings[nextProbe()]);
+  }
+
+  /**
+   * Creates a series of ten occurrences and removes it again.
+   *
+   * @return the number of occurrences created
+   */
+
+  @Benchmark
+  public int createSeries() {
+    LocalDateTime start = starts[nextProbe()].plusMinutes(1);
+    Event first = calendar.createEvent("Benchmark series", start, start.plusMinutes(30),
+        SERIES_ID, null, null, null);
+    calendar.saveEvent(first);
+    calendar.createSeries(first, 10, SERIES_DAYS, null);
+
+    List<Event> created = calendar.getEventsInSeries(SERIES_ID);
+    for (Event event : created) {
+      calendar.getCalendarStore().remove(new EventKey(event.getSubject(),
+          event.getStartDate(), event.getEndDate(), event.getStartTime(),
+          event.getEndTime()));
+    }
+    return created.size();
+  }
+
+  /**
+   * Copies the week following an event into an empty calendar.
+   *
+   * @return the events copied
+   */
+
+  @Benchmark
+  public List<Event> copyEventsBetween() {
+    LocalDate from = starts[nextProbe()].toLocalDate();
+    List<Event> copied = calendar.copyEventsBetween(from, from.plusDays(6), copyTarget,
+        from.plusYears(10));
+    copyTarget.getCalendarStore().clear();
+    return copied;
+  }
+
+  /**
+   * Copies the month following an event into an empty calendar, creating the copies on
+   * this thread.
+   *
+   * @return the report of the copy
+   */
+
+  @Benchmark
+  public CopyReport copyMonthInBulk() {
+    LocalDate from = starts[nextProbe()].toLocalDate();
+    CopyReport report = calendar.copyEventsBetweenInBulk(from, from.plusDays(30), copyTarget,
+        from.plusYears(10));
+    copyTarget.getCalendarStore().clear();
+    return report;
+  }
+
+  /**
+   * Copies the month following an event into an empty calendar, creating the copies of
+   * the series groups on the common fork join pool.
+   *
+   * @return the report of the copy
+   */
+
+  @Benchmark
+  public CopyReport copyMonthInParallel() {
+    LocalDate from = starts[nextProbe()].toLocalDate();
+    CopyReport report = calendar.copyEventsBetweenInParallel(from, from.plusDays(30),
+        copyTarget, from.plusYears(10), ForkJoinPool.commonPool());
+    copyTarget.getCalendarStore().clear();
+    return report;
+  }
+
+  /**
+   * Moves the calendar to another timezone, alternating between two zones.
+   *
+   * @return the calendar
+   */
+
+  @Benchmark
+  public Calendar modifyTimezone() {
+    zoneIndex ^= 1;
+    return calendar.modifyTimezone(zones[zoneIndex]);
+  }
+
+  /**
+   * Clones the calendar, sharing its events copy-on-write.
+   *
+   * @return the clone
+   */
+
+  @Benchmark
+  public Calendar cloneCalendar() {
+    return new CalendarImpl(calendar);
+  }
+}
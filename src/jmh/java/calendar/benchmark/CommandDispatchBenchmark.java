@@ -0,0 +1,263 @@
+package calendar.benchmark;
+
+import static calendar.commandobject.ExtractCommandHelper.extractCalendarNameFromCopyEventsBetween;
+import static calendar.commandobject.ExtractCommandHelper.extractDateTimeString;
+import static calendar.commandobject.ExtractCommandHelper.extractDayOfEvent;
+import static calendar.commandobject.ExtractCommandHelper.extractDaysOfWeekOfEvent;
+import static calendar.commandobject.ExtractCommandHelper.extractEndDateTime;
+import static calendar.commandobject.ExtractCommandHelper.extractEventSubject;
+import static calendar.commandobject.ExtractCommandHelper.extractNewPropertyValue;
+import static calendar.commandobject.ExtractCommandHelper.extractProperty;
+import static calendar.commandobject.ExtractCommandHelper.extractRepeatTimes;
+import static calendar.commandobject.ExtractCommandHelper.extractSourceEndDate;
+import static calendar.commandobject.ExtractCommandHelper.extractSourceStartDate;
+import static calendar.commandobject.ExtractCommandHelper.extractStartDateTime;
+import static calendar.commandobject.ExtractCommandHelper.extractSubject;
+import static calendar.commandobject.ExtractCommandHelper.extractTargetDateBetween;
+import static calendar.commandobject.ExtractCommandHelper.extractTillLastEventDay;
+import static calendar.commandobject.ExtractCommandHelper.getDateTimeFromCommand;
+import static calendar.commandobject.ExtractCommandHelper.getSubjectFromCommand;
+
+import calendar.controller.ControllerImpl;
+import calendar.model.modelimplementations.CalendarManagerImpl;
+import calendar.model.modelinterfaces.CalendarManager;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of parsing and dispatching headless command lines, taken from the kind of
+ * scripts in res/commands.txt: quoted subjects, series with repeats and until, edit series
+ * and copy between.
+ * The parse benchmarks only run the ExtractCommandHelper methods the commands use, while
+ * the dispatch benchmarks run the whole line through ControllerImpl.processCommands.
+ * Dispatched lines which create events run against an empty scratch calendar which is
+ * cleared after every line, so every operation does the same work. Run them with the GC
+ * profiler, which the jmh task enables, to see the bytes allocated per operation.
+ *
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandDispatchBenchmark {
+
+  static final String CREATE_EVENT =
+      "create event \"Team Standup\" from 2025-05-16T09:00 to 2025-05-16T09:30";
+  static final String CREATE_SERIES_REPEATS =
+      "create event \"Weekly Standup\" from 2025-05-19T09:00 to 2025-05-19T09:30"
+          + " repeats MW for 5 times";
+  static final String CREATE_SERIES_UNTIL =
+      "create event \"Yoga Class\" on 2025-05-27 repeats TRS until 2025-07-15";
+  static final String EDIT_SERIES =
+      "edit series subject \"Gym Session\" from 2025-05-21T08:00 with \"Morning Workout\"";
+  static final String EDIT_SERIES_BACK =
+      "edit series subject \"Morning Workout\" from 2025-05-21T08:00 with \"Gym Session\"";
+  static final String COPY_BETWEEN =
+      "copy events between 2025-05-19 and 2025-05-21 --target Work to 2025-07-01";
+  static final String PRINT_RANGE =
+      "print events from 2025-05-19T00:00 to 2025-05-25T23:59";
+
+  private static final String[] FIXTURE = {
+      "create calendar --name Personal --timezone America/New_York",
+      "create calendar --name Work --timezone America/Los_Angeles",
+      "use calendar --name Personal",
+      "create event \"Gym Session\" on 2025-05-21 repeats MWF for 8 times",
+      "create event \"Client Meeting\" from 2025-05-19T11:00 to 2025-05-19T12:00",
+      "create event \"Doctor Appointment\" from 2025-05-20T15:00 to 2025-05-20T15:45",
+      "create event \"Weekly Standup\" from 2025-05-19T09:00 to 2025-05-19T09:30"
+          + " repeats MW for 5 times"
+  };
+
+  private CalendarManager calendarManager;
+  private CalendarManager scratchManager;
+  private ControllerImpl fixture;
+  private ControllerImpl scratch;
+  private PrintStream originalOut;
+
+  /**
+   * Builds a controller over the fixture calendars, and one over the scratch calendar
+   * with a calendar manager of its own.
+   */
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    originalOut = BenchmarkCalendars.silenceOutput();
+    PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+
+    calendarManager = new CalendarManagerImpl();
+    fixture = new ControllerImpl(calendarManager, new StringReader(""), discard,
+        "headless", null);
+    fixture.initializeCommands();
+    for (String line : FIXTURE) {
+      fixture.processCommands(line);
+    }
+
+    scratchManager = new CalendarManagerImpl();
+    scratch = new ControllerImpl(scratchManager, new StringReader(""), discard,
+        "headless", null);
+    scratch.initializeCommands();
+    scratch.processCommands("create calendar --name Scratch --timezone America/New_York");
+    scratch.processCommands("use calendar --name Scratch");
+  }
+
+  /**
+   * Restores the standard output.
+   */
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    System.setOut(originalOut);
+  }
+
+  /**
+   * Parses a single event with a quoted subject.
+   *
+   * @param blackhole consumes the parsed values
+   */
+
+  @Benchmark
+  public void parseCreateEvent(Blackhole blackhole) {
+    blackhole.consume(getSubjectFromCommand(CREATE_EVENT));
+    blackhole.consume(getDateTimeFromCommand(CREATE_EVENT, "from"));
+    blackhole.consume(getDateTimeFromCommand(CREATE_EVENT, "to"));
+  }
+
+  /**
+   * Parses a series repeating for a number of times.
+   *
+   * @param blackhole consumes the parsed values
+   */
+
+  @Benchmark
+  public void parseCreateSeriesRepeats(Blackhole blackhole) {
+    blackhole.consume(extractSubject(CREATE_SERIES_REPEATS));
+    blackhole.consume(extractDaysOfWeekOfEvent(CREATE_SERIES_REPEATS));
+    blackhole.consume(extractRepeatTimes(CREATE_SERIES_REPEATS));
+    blackhole.consume(extractStartDateTime(CREATE_SERIES_REPEATS));
+    blackhole.consume(extractEndDateTime(CREATE_SERIES_REPEATS));
+  }
+
+  /**
+   * Parses an all day series repeating until a date.
+   *
+   * @param blackhole consumes the parsed values
+   */
+
+  @Benchmark
+  public void parseCreateSeriesUntil(Blackhole blackhole) {
+    blackhole.consume(extractSubject(CREATE_SERIES_UNTIL));
+    blackhole.consume(extractDaysOfWeekOfEvent(CREATE_SERIES_UNTIL));
+    blackhole.consume(extractTillLastEventDay(CREATE_SERIES_UNTIL));
+    blackhole.consume(extractDayOfEvent(CREATE_SERIES_UNTIL));
+  }
+
+  /**
+   * Parses an edit of a whole series.
+   *
+   * @param blackhole consumes the parsed values
+   */
+
+  @Benchmark
+  public void parseEditSeries(Blackhole blackhole) {
+    String property = extractProperty(EDIT_SERIES);
+    blackhole.consume(property);
+    blackhole.consume(extractNewPropertyValue(EDIT_SERIES, property));
+    blackhole.consume(extractDateTimeString(EDIT_SERIES));
+    blackhole.consume(extractEventSubject(EDIT_SERIES));
+  }
+
+  /**
+   * Parses a copy of the events between two dates.
+   *
+   * @param blackhole consumes the parsed values
+   */
+
+  @Benchmark
+  public void parseCopyBetween(Blackhole blackhole) {
+    blackhole.consume(extractSourceStartDate(COPY_BETWEEN));
+    blackhole.consume(extractSourceEndDate(COPY_BETWEEN));
+    blackhole.consume(extractCalendarNameFromCopyEventsBetween(COPY_BETWEEN));
+    blackhole.consume(extractTargetDateBetween(COPY_BETWEEN));
+  }
+
+  /**
+   * Dispatches the creation of a single event with a quoted subject.
+   */
+
+  @Benchmark
+  public void dispatchCreateEvent() {
+    dispatchInScratch(CREATE_EVENT);
+  }
+
+  /**
+   * Dispatches the creation of a series repeating for a number of times.
+   */
+
+  @Benchmark
+  public void dispatchCreateSeriesRepeats() {
+    dispatchInScratch(CREATE_SERIES_REPEATS);
+  }
+
+  /**
+   * Dispatches the creation of an all day series repeating until a date.
+   */
+
+  @Benchmark
+  public void dispatchCreateSeriesUntil() {
+    dispatchInScratch(CREATE_SERIES_UNTIL);
+  }
+
+  /**
+   * Dispatches an edit of a whole series and the edit which reverts it.
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(2)
+  public void dispatchEditSeries() {
+    fixture.processCommands(EDIT_SERIES);
+    fixture.processCommands(EDIT_SERIES_BACK);
+  }
+
+  /**
+   * Dispatches a copy of the events between two dates into an emptied calendar.
+   */
+
+  @Benchmark
+  public void dispatchCopyBetween() {
+    fixture.processCommands(COPY_BETWEEN);
+    calendarManager.getCalendar("Work").getCalendarStore().clear();
+  }
+
+  /**
+   * Dispatches a print of the events of a week.
+   */
+
+  @Benchmark
+  public void dispatchPrintRange() {
+    fixture.processCommands(PRINT_RANGE);
+  }
+
+  private void dispatchInScratch(String line) {
+    scratch.processCommands(line);
+    scratchManager.getCalendar("Scratch").getCalendarStore().clear();
+  }
+}
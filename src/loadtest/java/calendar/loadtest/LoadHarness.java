@@ -0,0 +1,167 @@
+package calendar.loadtest;
+
+import calendar.controller.CommandMetrics;
+import calendar.controller.ControllerImpl;
+import calendar.model.modelimplementations.CalendarManagerImpl;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs a headless command file through ControllerImpl and reports the throughput, the
+ * p50 and p99 latency of every command type and the peak heap used, summed over the peak
+ * usage of every heap memory pool.
+ * Every line goes through ControllerImpl.processCommands, just as in headless mode, but is
+ * timed one at a time. The output of the commands is discarded so that the console does
+ * not dominate the measurements.
+ *
+ * <p>Usage: LoadHarness [commandFile], the default file being workload.txt.
+ *
+ */
+
+public class LoadHarness {
+
+  private final Map<String, LatencyRecorder> latencies;
+  private long failures;
+
+  /**
+   * Constructs a harness with no recorded commands.
+   */
+
+  public LoadHarness() {
+    this.latencies = new TreeMap<>();
+  }
+
+  /**
+   * Runs the command file given on the command line and prints the report.
+   *
+   * @param args the command file, optional
+   * @throws IOException if the command file cannot be read
+   */
+
+  public static void main(String[] args) throws IOException {
+    String file = args.length > 0 ? args[0] : "workload.txt";
+    List<String> lines = Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8);
+    new LoadHarness().run(lines, System.out);
+  }
+
+  /**
+   * Runs the command lines, stopping at exit, and prints the report.
+   *
+   * @param lines  the command lines
+   * @param report stream the report is printed to
+   */
+
+  public void run(List<String> lines, PrintStream report) {
+    List<MemoryPoolMXBean> heapPools = heapPools();
+    for (MemoryPoolMXBean pool : heapPools) {
+      pool.resetPeakUsage();
+    }
+
+    PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+    ControllerImpl controller = new ControllerImpl(new CalendarManagerImpl(),
+        new StringReader(""), discard, "headless", null);
+    controller.initializeCommands();
+
+    PrintStream originalOut = System.out;
+    System.setOut(discard);
+    long started = System.nanoTime();
+    long commands = 0;
+    try {
+      for (String line : lines) {
+        if (line.equals("exit")) {
+          break;
+        }
+        if (line.isBlank()) {
+          continue;
+        }
+        long start = System.nanoTime();
+        try {
+          controller.processCommands(line);
+        } catch (RuntimeException e) {
+          failures++;
+        }
+        record(CommandMetrics.commandType(line), System.nanoTime() - start);
+        commands++;
+      }
+    } finally {
+      System.setOut(originalOut);
+    }
+    long elapsed = System.nanoTime() - started;
+
+    long peakHeap = 0;
+    for (MemoryPoolMXBean pool : heapPools) {
+      peakHeap += pool.getPeakUsage().getUsed();
+    }
+    printReport(report, commands, elapsed, peakHeap);
+  }
+
+  private void record(String type, long nanos) {
+    latencies.computeIfAbsent(type, k -> new LatencyRecorder()).add(nanos);
+  }
+
+  private void printReport(PrintStream report, long commands, long elapsedNanos,
+                           long peakHeap) {
+    double seconds = elapsedNanos / 1e9;
+    report.printf("Ran %d commands in %.2f s: %.0f commands/sec, %d failed%n", commands,
+        seconds, commands / Math.max(seconds, 1e-9), failures);
+    report.printf("%-16s %8s %12s %12s %12s%n", "Command", "Count", "p50 (us)", "p99 (us)",
+        "max (us)");
+    for (Map.Entry<String, LatencyRecorder> entry : latencies.entrySet()) {
+      LatencyRecorder recorder = entry.getValue();
+      report.printf("%-16s %8d %12.1f %12.1f %12.1f%n", entry.getKey(), recorder.count,
+          recorder.percentile(50) / 1e3, recorder.percentile(99) / 1e3,
+          recorder.percentile(100) / 1e3);
+    }
+    report.printf("Peak heap: %.1f MB%n", peakHeap / (1024.0 * 1024.0));
+  }
+
+  private static List<MemoryPoolMXBean> heapPools() {
+    List<MemoryPoolMXBean> pools = new ArrayList<>();
+    for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+      if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+        pools.add(pool);
+      }
+    }
+    return pools;
+  }
+
+  /**
+   * Latencies of one command type, kept in a growing array of nanoseconds.
+   */
+
+  private static class LatencyRecorder {
+    private long[] samples = new long[64];
+    private int count;
+    private boolean sorted;
+
+    void add(long nanos) {
+      if (count == samples.length) {
+        samples = Arrays.copyOf(samples, count * 2);
+      }
+      samples[count++] = nanos;
+      sorted = false;
+    }
+
+    long percentile(int percent) {
+      if (!sorted) {
+        Arrays.sort(samples, 0, count);
+        sorted = true;
+      }
+      int rank = (int) Math.ceil(percent / 100.0 * count);
+      return samples[Math.max(0, Math.min(count, rank) - 1)];
+    }
+  }
+}
@@ -0,0 +1,315 @@
+package calendar.loadtest;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates headless command files of a configurable size, to reproduce production scale
+ * runs locally. The file first creates the calendars, then the single events and series of
+ * every calendar, and then a shuffled mix of edits, copies, prints and exports of those
+ * events. The same options and seed always generate the same file.
+ *
+ * <p>Options, each followed by its value: --calendars, --events, --series, --edits,
+ * --copies, --prints, --exports, --seed and --out.
+ *
+ */
+
+public class WorkloadGenerator {
+
+  private static final LocalDate FIRST_DATE = LocalDate.of(2025, 1, 6);
+  private static final int SPAN_DAYS = 2 * 365;
+  private static final String[] ZONES = {"America/New_York", "America/Los_Angeles",
+      "Europe/London", "Asia/Kolkata", "Australia/Sydney"};
+  private static final String DAY_CODES = "MTWRFSU";
+  private static final String[] SERIES_DAYS = {"MW", "TR", "MWF", "MTWRF", "F", "SU", "TRS"};
+
+  private final Map<String, Integer> counts;
+  private final Random random;
+  private final List<String> calendars;
+  private final Map<String, List<Created>> singles;
+  private final Map<String, List<Created>> series;
+
+  /**
+   * Constructs a generator with the counts of every kind of command to generate.
+   *
+   * @param counts number of calendars, events, series, edits, copies, prints and exports
+   * @param seed   seed of every random choice
+   */
+
+  public WorkloadGenerator(Map<String, Integer> counts, long seed) {
+    this.counts = counts;
+    this.random = new Random(seed);
+    this.calendars = new ArrayList<>();
+    this.singles = new LinkedHashMap<>();
+    this.series = new LinkedHashMap<>();
+  }
+
+  /**
+   * Generates a command file from the options given on the command line.
+   *
+   * @param args options and their values
+   * @throws IOException if the command file cannot be written
+   */
+
+  public static void main(String[] args) throws IOException {
+    Map<String, Integer> counts = new LinkedHashMap<>();
+    counts.put("calendars", 3);
+    counts.put("events", 1000);
+    counts.put("series", 100);
+    counts.put("edits", 200);
+    counts.put("copies", 50);
+    counts.put("prints", 200);
+    counts.put("exports", 3);
+    long seed = 42;
+    String out = "workload.txt";
+
+    for (int i = 0; i + 1 < args.length; i += 2) {
+      String option = args[i].replaceFirst("^--", "");
+      if (option.equals("seed")) {
+        seed = Long.parseLong(args[i + 1]);
+      } else if (option.equals("out")) {
+        out = args[i + 1];
+      } else if (counts.containsKey(option)) {
+        counts.put(option, Integer.parseInt(args[i + 1]));
+      } else {
+        throw new IllegalArgumentException("Unknown option: " + args[i]);
+      }
+    }
+
+    List<String> lines = new WorkloadGenerator(counts, seed).generate();
+    File file = new File(out);
+    try (Writer writer = new BufferedWriter(Files.newBufferedWriter(file.toPath(),
+        StandardCharsets.UTF_8))) {
+      for (String line : lines) {
+        writer.write(line);
+        writer.write('\n');
+      }
+    }
+    System.out.println("Generated " + lines.size() + " commands " + counts + " seed=" + seed
+        + " to: " + file.getAbsolutePath());
+  }
+
+  /**
+   * Generates the command lines of the workload, ending with exit.
+   *
+   * @return the command lines
+   */
+
+  public List<String> generate() {
+    List<String> lines = new ArrayList<>();
+    int calendarCount = Math.max(1, counts.get("calendars"));
+    for (int i = 0; i < calendarCount; i++) {
+      String name = "Calendar" + i;
+      calendars.add(name);
+      singles.put(name, new ArrayList<>());
+      series.put(name, new ArrayList<>());
+      lines.add("create calendar --name " + name + " --timezone " + ZONES[i % ZONES.length]);
+    }
+
+    for (int i = 0; i < calendarCount; i++) {
+      String name = calendars.get(i);
+      lines.add("use calendar --name " + name);
+      for (int n = share(counts.get("events"), i, calendarCount); n > 0; n--) {
+        lines.add(createSingle(name));
+      }
+      for (int n = share(counts.get("series"), i, calendarCount); n > 0; n--) {
+        lines.add(createSeries(name));
+      }
+    }
+
+    List<String[]> mixed = new ArrayList<>();
+    for (int n = counts.get("edits"); n > 0; n--) {
+      addIfPresent(mixed, edit());
+    }
+    for (int n = counts.get("copies"); n > 0; n--) {
+      addIfPresent(mixed, copy());
+    }
+    for (int n = counts.get("prints"); n > 0; n--) {
+      addIfPresent(mixed, print());
+    }
+    for (int n = 0; n < counts.get("exports"); n++) {
+      String calendar = randomCalendar();
+      mixed.add(new String[] {calendar,
+          "export cal export_" + n + (n % 2 == 0 ? ".csv" : ".ics")});
+    }
+    Collections.shuffle(mixed, random);
+
+    String current = calendars.get(calendarCount - 1);
+    for (String[] command : mixed) {
+      if (!command[0].equals(current)) {
+        current = command[0];
+        lines.add("use calendar --name " + current);
+      }
+      lines.add(command[1]);
+    }
+
+    lines.add("exit");
+    return lines;
+  }
+
+  private String createSingle(String calendar) {
+    List<Created> created = singles.get(calendar);
+    String subject = "Event " + created.size();
+    LocalDateTime start = randomStart();
+    if (random.nextInt(10) == 0) {
+      created.add(new Created(subject, start.toLocalDate().atTime(8, 0),
+          start.toLocalDate().atTime(17, 0)));
+      return "create event \"" + subject + "\" on " + start.toLocalDate();
+    }
+    LocalDateTime end = start.plusMinutes(15 + random.nextInt(8) * 15);
+    created.add(new Created(subject, start, end));
+    return "create event \"" + subject + "\" from " + start + " to " + end;
+  }
+
+  private String createSeries(String calendar) {
+    List<Created> created = series.get(calendar);
+    String subject = "Series " + created.size();
+    LocalDateTime start = randomStart();
+    String days = SERIES_DAYS[random.nextInt(SERIES_DAYS.length)];
+    if (days.indexOf(DAY_CODES.charAt(start.getDayOfWeek().ordinal())) < 0) {
+      days = DAY_CODES.charAt(start.getDayOfWeek().ordinal()) + days;
+    }
+    String repeat = random.nextBoolean()
+        ? " repeats " + days + " for " + (2 + random.nextInt(30)) + " times"
+        : " repeats " + days + " until " + start.toLocalDate().plusWeeks(1 + random.nextInt(12));
+
+    if (random.nextInt(5) == 0) {
+      created.add(new Created(subject, start.toLocalDate().atTime(8, 0),
+          start.toLocalDate().atTime(17, 0)));
+      return "create event \"" + subject + "\" on " + start.toLocalDate() + repeat;
+    }
+    LocalDateTime end = start.plusMinutes(15 + random.nextInt(4) * 15);
+    created.add(new Created(subject, start, end));
+    return "create event \"" + subject + "\" from " + start + " to " + end + repeat;
+  }
+
+  private String[] edit() {
+    String calendar = randomCalendar();
+    int kind = random.nextInt(4);
+    if (kind == 0 || series.get(calendar).isEmpty()) {
+      Created event = pick(singles.get(calendar));
+      if (event == null) {
+        return null;
+      }
+      String detail = randomDetail();
+      int split = detail.indexOf(' ');
+      return new String[] {calendar, "edit event " + detail.substring(0, split) + " \""
+          + event.subject + "\" from " + event.start + " to " + event.end
+          + detail.substring(split)};
+    }
+    Created first = pick(series.get(calendar));
+    String scope = kind == 1 ? "events" : "series";
+    String detail = randomDetail();
+    int split = detail.indexOf(' ');
+    return new String[] {calendar, "edit " + scope + " " + detail.substring(0, split) + " \""
+        + first.subject + "\" from " + first.start + detail.substring(split)};
+  }
+
+  private String[] copy() {
+    String calendar = randomCalendar();
+    String target = randomCalendar();
+    LocalDate date = randomStart().toLocalDate();
+    LocalDate targetDate = date.plusYears(3).plusDays(random.nextInt(30));
+    switch (random.nextInt(3)) {
+      case 0:
+        Created event = pick(singles.get(calendar));
+        if (event == null) {
+          return null;
+        }
+        return new String[] {calendar, "copy event \"" + event.subject + "\" on "
+            + event.start + " --target " + target + " to " + targetDate.atTime(event.start
+            .toLocalTime())};
+      case 1:
+        return new String[] {calendar, "copy events on " + date + " --target " + target
+            + " to " + targetDate};
+      default:
+        return new String[] {calendar, "copy events between " + date + " and "
+            + date.plusDays(1 + random.nextInt(7)) + " --target " + target + " to "
+            + targetDate};
+    }
+  }
+
+  private String[] print() {
+    String calendar = randomCalendar();
+    LocalDateTime start = randomStart();
+    switch (random.nextInt(3)) {
+      case 0:
+        return new String[] {calendar, "print events on " + start.toLocalDate()};
+      case 1:
+        return new String[] {calendar, "print events from " + start + " to "
+            + start.plusDays(1 + random.nextInt(14))};
+      default:
+        Created event = pick(singles.get(calendar));
+        LocalDateTime at = event == null ? start : event.start;
+        return new String[] {calendar, "show status on " + at};
+    }
+  }
+
+  /**
+   * Picks a property which does not change the identity of an event, with a valid value.
+   *
+   * @return the property followed by " with " and the new value
+   */
+
+  private String randomDetail() {
+    switch (random.nextInt(3)) {
+      case 0:
+        return "description with \"Updated " + random.nextInt(1000) + "\"";
+      case 1:
+        return "location with " + (random.nextBoolean() ? "Online" : "Physical");
+      default:
+        return "status with " + (random.nextBoolean() ? "Public" : "Private");
+    }
+  }
+
+  private LocalDateTime randomStart() {
+    return FIRST_DATE.plusDays(random.nextInt(SPAN_DAYS))
+        .atTime(6 + random.nextInt(14), random.nextInt(4) * 15);
+  }
+
+  private String randomCalendar() {
+    return calendars.get(random.nextInt(calendars.size()));
+  }
+
+  private Created pick(List<Created> created) {
+    return created.isEmpty() ? null : created.get(random.nextInt(created.size()));
+  }
+
+  private static int share(int total, int index, int parts) {
+    return total / parts + (index < total % parts ? 1 : 0);
+  }
+
+  private static void addIfPresent(List<String[]> commands, String[] command) {
+    if (command != null) {
+      commands.add(command);
+    }
+  }
+
+  /**
+   * Subject and first start and end of a created event or series.
+   */
+
+  private static class Created {
+    private final String subject;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    Created(String subject, LocalDateTime start, LocalDateTime end) {
+      this.subject = subject;
+      this.start = start;
+      this.end = end;
+    }
+  }
+}
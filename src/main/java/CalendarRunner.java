@@ -1,11 +1,23 @@
 import calendar.controller.CalendarController;
+import calendar.controller.CalendarDaemon;
+import calendar.controller.CalendarServer;
+import calendar.controller.CommandMetrics;
 import calendar.controller.ControllerImpl;
 import calendar.controller.GuiControllerFeatures;
 import calendar.controller.GuiControllerHandlers;
 import calendar.model.modelimplementations.CalendarManagerImpl;
 import calendar.view.JframeView;
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.ZoneId;
 import javax.swing.SwingUtilities;
 
@@ -20,6 +32,7 @@ public class CalendarRunner {
   public static void main(String[] args) {
     String mode = "";
     String commandFile = "";
+    String address = "";
     ZoneId zoneId = ZoneId.of("America/New_York");
 
     if (args.length == 0) {
@@ -34,6 +47,24 @@ public class CalendarRunner {
           if (args[i + 1].equals("interactive")) {
             mode = "interactive";
             break;
+          } else if (args[i + 1].equals("daemon") || args[i + 1].equals("client")) {
+            mode = args[i + 1];
+            if (i + 2 >= args.length) {
+              System.out.println("In " + mode + " mode you must specify a socket path");
+              return;
+            }
+            address = args[i + 2];
+            commandFile = i + 3 < args.length ? args[i + 3] : "";
+            break;
+          } else if (args[i + 1].equals("server")) {
+            mode = "server";
+            if (i + 2 >= args.length) {
+              System.out.println("In server mode you must specify a port");
+              return;
+            }
+            address = args[i + 2];
+            commandFile = i + 3 < args.length ? args[i + 3] : "";
+            break;
           } else if (args[i + 1].equals("headless")) {
             mode = "headless";
             if (i + 2 >= args.length) {
@@ -50,6 +81,13 @@ public class CalendarRunner {
                 "  java -jar calendar.jar --mode interactive  - Launch interactive mode");
             System.out.println(
                 "  java -jar calendar.jar --mode headless file.txt - Launch headless mode");
+            System.out.println(
+                "  java -jar calendar.jar --mode daemon cal.sock - Launch daemon mode");
+            System.out.println(
+                "  java -jar calendar.jar --mode client cal.sock [file.txt] - Send commands"
+                    + " to a daemon");
+            System.out.println(
+                "  java -jar calendar.jar --mode server 8080 [file.txt] - Launch HTTP API mode");
             return;
           }
         }
@@ -61,20 +99,86 @@ public class CalendarRunner {
           "  java -jar calendar.jar --mode interactive       - Launch interactive mode");
       System.out.println(
           "  java -jar calendar.jar --mode headless file.txt - Launch headless mode");
+      System.out.println(
+          "  java -jar calendar.jar --mode daemon cal.sock   - Launch daemon mode");
+      System.out.println(
+          "  java -jar calendar.jar --mode client cal.sock [file.txt] - Send commands to a daemon");
+      System.out.println(
+          "  java -jar calendar.jar --mode server 8080 [file.txt] - Launch HTTP API mode");
       return;
     }
 
     if (mode.equals("interactive") || mode.equals("headless")) {
       Readable in = new BufferedReader(new InputStreamReader(System.in));
       Appendable out = System.out;
+      CalendarManagerImpl model = new CalendarManagerImpl();
+      CommandMetrics.register(model);
       CalendarController controller =
-          new ControllerImpl(new CalendarManagerImpl(), in, out, mode, commandFile);
+          new ControllerImpl(model, in, out, mode, commandFile);
       controller.go();
+    } else if (mode.equals("daemon")) {
+      launchDaemon(address);
+    } else if (mode.equals("client")) {
+      launchClient(address, commandFile);
+    } else if (mode.equals("server")) {
+      launchServer(address, commandFile);
     } else if (mode.isEmpty()) {
       launchGui();
     }
   }
 
+  /**
+   * Launch the daemon mode, serving the command lines of clients until killed.
+   */
+  private static void launchDaemon(String socketPath) {
+    CalendarManagerImpl model = new CalendarManagerImpl();
+    CommandMetrics.register(model);
+    CalendarDaemon daemon = new CalendarDaemon(Paths.get(socketPath));
+    CalendarController controller = new ControllerImpl(model, new StringReader(""),
+        daemon.getOutput(), "daemon", socketPath);
+    try {
+      daemon.serve(controller);
+    } catch (IOException e) {
+      System.out.println("Error running daemon: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Launch the client mode, sending a command file, or the standard input, to a daemon.
+   */
+  private static void launchClient(String socketPath, String commandFile) {
+    Writer out = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+    try (BufferedReader commands = commandFile.isEmpty()
+        ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+        : Files.newBufferedReader(Paths.get(commandFile), StandardCharsets.UTF_8)) {
+      CalendarDaemon.send(Paths.get(socketPath), commands, out);
+    } catch (IOException e) {
+      System.out.println("Error reaching daemon: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Launch the HTTP API mode on a loopback port, after running a command file if given.
+   */
+  private static void launchServer(String port, String commandFile) {
+    CalendarManagerImpl model = new CalendarManagerImpl();
+    CommandMetrics.register(model);
+    CalendarServer server = new CalendarServer(model);
+    try {
+      if (!commandFile.isEmpty()) {
+        System.out.print(server.run(Files.readString(Paths.get(commandFile))));
+      }
+      server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(),
+          Integer.parseInt(port)));
+      System.out.println("Calendar API listening on http://localhost:"
+          + server.getAddress().getPort() + "/api/");
+      System.out.println("Commands must carry the header " + CalendarServer.TOKEN_HEADER
+          + ": " + server.getToken());
+    } catch (IOException | IllegalArgumentException e) {
+      System.out.println("Error running server: " + e.getMessage());
+    }
+  }
+
   /**
    * Launch the GUI mode.
    */
@@ -86,6 +190,7 @@ public class CalendarRunner {
         JframeView frame = new JframeView();
 
         CalendarManagerImpl model = new CalendarManagerImpl("default", "America/New_York");
+        CommandMetrics.register(model);
         GuiControllerFeatures guiController = new GuiControllerHandlers(model);
         guiController.setView(frame);
         frame.setVisible(true);
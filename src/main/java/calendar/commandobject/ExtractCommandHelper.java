@@ -1,11 +1,9 @@
 package calendar.commandobject;
 
-import calendar.model.modelinterfaces.Calendar;
 import calendar.model.modelinterfaces.Event;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -564,56 +562,6 @@ public class ExtractCommandHelper {
 
   }
 
-  /**
-   * Validates if the edit would create a duplicate event. Checks whether
-   * modifying an event's property would result in a duplicate event in the calendar.
-   *
-   * @param originalEvent the event being edited
-   * @param property      the property being modified
-   * @param newValue      the new value for the property
-   * @param calendar      the calendar containing all events
-   * @return true if the edit would create a duplicate, false otherwise
-   */
-  public static boolean wouldCreateDuplicate(Event originalEvent, String property,
-                                             String newValue, Calendar calendar) {
-    String newSubject = originalEvent.getSubject();
-    LocalDate newStartDate = originalEvent.getStartDate();
-    LocalDate newEndDate = originalEvent.getEndDate();
-    LocalTime newStartTime = originalEvent.getStartTime();
-    LocalTime newEndTime = originalEvent.getEndTime();
-
-    switch (property) {
-      case "subject":
-        newSubject = newValue;
-        break;
-      case "start":
-        LocalDateTime startDateTime = LocalDateTime.parse(newValue);
-        newStartDate = startDateTime.toLocalDate();
-        newStartTime = startDateTime.toLocalTime();
-        break;
-      case "end":
-        LocalDateTime endDateTime = LocalDateTime.parse(newValue);
-        newEndDate = endDateTime.toLocalDate();
-        newEndTime = endDateTime.toLocalTime();
-        break;
-      default:
-        System.out.println("Unknown property: " + property);
-        break;
-    }
-
-    for (Event existingEvent : calendar.getCalendarStore().values()) {
-      if (existingEvent != originalEvent
-          && existingEvent.getSubject().equals(newSubject)
-          && existingEvent.getStartDate().equals(newStartDate)
-          && existingEvent.getEndDate().equals(newEndDate)
-          && existingEvent.getStartTime().equals(newStartTime)
-          && existingEvent.getEndTime().equals(newEndTime)) {
-        return true;
-      }
-    }
-    return false;
-  }
-
   /**
    * Retrieves property name from command. Extracts the property to be edited
    * from edit series or edit events commands using regex.
@@ -11,6 +11,8 @@ import static calendar.commandobject.ExtractCommandHelper.extractTargetDateOn;
 import calendar.commandobject.Command;
 import calendar.model.modelinterfaces.Calendar;
 import calendar.model.modelinterfaces.CalendarManager;
+import calendar.model.modelinterfaces.Event;
+import calendar.model.modelutility.CopyReport;
 import java.time.LocalDate;
 
 /**
@@ -56,8 +58,26 @@ public class CopyEventsCommand implements Command {
 
       Calendar targetCalendar = calendarManager.getCalendar(calendarName);
 
-      currentCalendar.copyEventsBetween(sourceStartDate, sourceEndDate, targetCalendar, targetDate);
+      CopyReport report = currentCalendar.copyEventsBetweenInBulk(sourceStartDate,
+          sourceEndDate, targetCalendar, targetDate);
+      printCopySummary(report);
+    }
+  }
+
+  /**
+   * To print the summary of a bulk copy in command UI.
+   *
+   * @param report report of the copy
+   */
 
+  private static void printCopySummary(CopyReport report) {
+    for (Event conflict : report.getConflicts()) {
+      System.out.println("Conflict detected for event: " + conflict.getSubject());
     }
+    System.out.println("\nCopy Summary:");
+    System.out.println("- Total events copied: " + report.getTotalCopied());
+    System.out.println("- Conflicts skipped: " + report.getConflicts().size());
+    System.out.println("- Standalone events: " + report.getStandaloneEvents());
+    System.out.println("- Series processed: " + report.getSeriesProcessed());
   }
 }
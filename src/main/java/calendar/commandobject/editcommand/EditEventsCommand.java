@@ -1,22 +1,19 @@
 package calendar.commandobject.editcommand;
 
-import static calendar.commandobject.ExtractCommandHelper.editSingleEvent;
 import static calendar.commandobject.ExtractCommandHelper.extractDateTimeString;
 import static calendar.commandobject.ExtractCommandHelper.extractEventSubject;
 import static calendar.commandobject.ExtractCommandHelper.extractNewPropertyValue;
 import static calendar.commandobject.ExtractCommandHelper.extractProperty;
-import static calendar.commandobject.ExtractCommandHelper.wouldCreateDuplicate;
 import static calendar.utility.GenerateSeriesId.generateSeriesId;
 
 import calendar.commandobject.Command;
 import calendar.model.modelinterfaces.Calendar;
 import calendar.model.modelinterfaces.CalendarManager;
 import calendar.model.modelinterfaces.Event;
-import calendar.model.modelutility.EventKey;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Command object. handles the process of edit the event and all the events after it.
@@ -57,7 +54,7 @@ public class EditEventsCommand implements Command {
       }
 
       if (isStandaloneEvent(targetEvent)) {
-        editStandaloneEvent(targetEvent, context);
+        editStandaloneEvent(calendar, targetEvent, context);
         return;
       }
 
@@ -145,17 +142,23 @@ public class EditEventsCommand implements Command {
   /**
    * Edits a standalone event.
    *
-   * @param event   the event to edit
-   * @param context the edit context
+   * @param calendar the calendar containing the event
+   * @param event    the event to edit
+   * @param context  the edit context
    */
 
-  private void editStandaloneEvent(Event event, EventEditContext context) {
-    editSingleEvent(event, context.property, context.newValue);
+  private void editStandaloneEvent(Calendar calendar, Event event, EventEditContext context) {
+    if (!calendar.editEvents(Collections.singletonList(event),
+        new PropertyEdit(context.property, context.newValue, false, null))) {
+      System.out.println("Edit failed: Would create duplicate event");
+      return;
+    }
     System.out.println("Event edited (single event, not part of a series)");
   }
 
   /**
-   * Edits all events in a series from the target event onwards.
+   * Edits all events in a series from the target event onwards. The events are edited at
+   * once, or not at all if an edited event would duplicate another event.
    *
    * @param calendar    the calendar containing the events
    * @param targetEvent the starting event for edits
@@ -165,20 +168,19 @@ public class EditEventsCommand implements Command {
   private void editEventSeries(Calendar calendar, Event targetEvent, EventEditContext context) {
     List<Event> eventsToEdit = collectEventsToEdit(calendar, targetEvent);
 
-    if (!validateSeriesEdit(eventsToEdit, context, calendar)) {
+    String newSeriesId = shouldGenerateNewSeriesId(context.property) ? generateSeriesId() : null;
+
+    if (!calendar.editEvents(eventsToEdit,
+        new PropertyEdit(context.property, context.newValue, true, newSeriesId))) {
       System.out.println("Edit failed: Would create duplicate event");
       return;
     }
 
-    String newSeriesId = shouldGenerateNewSeriesId(context.property) ? generateSeriesId() : null;
-
-    applyEditsToSeries(calendar, eventsToEdit, context, newSeriesId);
-
     System.out.println("Edited " + eventsToEdit.size() + " event(s) in the series");
   }
 
   /**
-   * Collects all events in the series that should be edited.
+   * Collects the events of the series starting on or after the target event.
    *
    * @param calendar    the calendar containing the events
    * @param targetEvent the starting event
@@ -187,52 +189,14 @@ public class EditEventsCommand implements Command {
 
   private List<Event> collectEventsToEdit(Calendar calendar, Event targetEvent) {
     List<Event> eventsToEdit = new ArrayList<>();
-    Map<EventKey, Event> calendarStore = calendar.getCalendarStore();
-    String originalSeriesId = targetEvent.getEventSeriesId();
-
-    for (Event event : calendarStore.values()) {
-      if (isPartOfSeriesFromTarget(event, originalSeriesId, targetEvent)) {
+    for (Event event : calendar.getEventsInSeries(targetEvent.getEventSeriesId())) {
+      if (!event.getStartDate().isBefore(targetEvent.getStartDate())) {
         eventsToEdit.add(event);
       }
     }
-
     return eventsToEdit;
   }
 
-  /**
-   * Checks if an event is part of the series from the target date onwards.
-   *
-   * @param event       the event to check
-   * @param seriesId    the series ID to match
-   * @param targetEvent the target event for date comparison
-   * @return true if the event should be included, false otherwise
-   */
-
-  private boolean isPartOfSeriesFromTarget(Event event, String seriesId, Event targetEvent) {
-    return event.getEventSeriesId() != null
-        && event.getEventSeriesId().equals(seriesId)
-        && !event.getStartDate().isBefore(targetEvent.getStartDate());
-  }
-
-  /**
-   * Validates that the series edit won't create duplicates.
-   *
-   * @param eventsToEdit the events to be edited
-   * @param context      the edit context
-   * @param calendar     the calendar to check against
-   * @return true if the edit is valid, false otherwise
-   */
-
-  private boolean validateSeriesEdit(List<Event> eventsToEdit, EventEditContext context,
-                                     Calendar calendar) {
-    for (Event event : eventsToEdit) {
-      if (wouldCreateDuplicate(event, context.property, context.newValue, calendar)) {
-        return false;
-      }
-    }
-    return true;
-  }
-
   /**
    * Determines if a new series ID should be generated based on the property being edited.
    *
@@ -244,50 +208,6 @@ public class EditEventsCommand implements Command {
     return "start".equals(property);
   }
 
-  /**
-   * Applies edits to all events in the series.
-   *
-   * @param calendar     the calendar containing the events
-   * @param eventsToEdit the events to edit
-   * @param context      the edit context
-   * @param newSeriesId  the new series ID (may be null)
-   */
-
-  private void applyEditsToSeries(Calendar calendar, List<Event> eventsToEdit,
-                                  EventEditContext context, String newSeriesId) {
-    for (Event event : eventsToEdit) {
-      Event oldSnapshot = createEventSnapshot(calendar, event);
-
-      editSingleEvent(event, context.property, context.newValue);
-
-      if (newSeriesId != null) {
-        event.modifySeriesId(newSeriesId);
-      }
-
-      calendar.updateEventKey(oldSnapshot, event);
-    }
-  }
-
-  /**
-   * Creates a snapshot of an event for updating the calendar store.
-   *
-   * @param calendar the calendar to use for creating the event
-   * @param event    the event to snapshot
-   * @return a new event instance with the same properties
-   */
-
-  private Event createEventSnapshot(Calendar calendar, Event event) {
-    return calendar.createEvent(
-        event.getSubject(),
-        LocalDateTime.of(event.getStartDate(), event.getStartTime()),
-        LocalDateTime.of(event.getEndDate(), event.getEndTime()),
-        event.getEventSeriesId(),
-        null,
-        null,
-        null
-    );
-  }
-
   /**
    * Inner class to hold the context for an edit operation.
    */
@@ -1,21 +1,17 @@
 package calendar.commandobject.editcommand;
 
-import static calendar.commandobject.ExtractCommandHelper.editSingleEvent;
 import static calendar.commandobject.ExtractCommandHelper.extractDateTimeString;
 import static calendar.commandobject.ExtractCommandHelper.extractEventSubject;
 import static calendar.commandobject.ExtractCommandHelper.extractNewPropertyValue;
 import static calendar.commandobject.ExtractCommandHelper.extractProperty;
-import static calendar.commandobject.ExtractCommandHelper.wouldCreateDuplicate;
 
 import calendar.commandobject.Command;
 import calendar.model.modelinterfaces.Calendar;
 import calendar.model.modelinterfaces.CalendarManager;
 import calendar.model.modelinterfaces.Event;
-import calendar.model.modelutility.EventKey;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Command object to process, when entire series gets edited.
@@ -158,16 +154,17 @@ public class EditSeriesCommand implements Command {
 
   private void handleStandaloneEvent(Event event, String property, String newValue,
                                      Calendar calendar) {
-    if (wouldCreateDuplicate(event, property, newValue, calendar)) {
+    if (!calendar.editEvents(Collections.singletonList(event),
+        new PropertyEdit(property, newValue, false, null))) {
       System.out.println("Edit failed: Would create duplicate event");
       return;
     }
-    editSingleEvent(event, property, newValue);
     System.out.println("Event edited (single event, not part of a series)");
   }
 
   /**
-   * Handles editing of a series of events.
+   * Handles editing of a series of events. The whole series is edited at once, or not at
+   * all if an edited event would duplicate another event.
    *
    * @param targetEvent the target event in the series
    * @param property    the property to edit
@@ -177,124 +174,13 @@ public class EditSeriesCommand implements Command {
 
   private void handleSeriesEdit(Event targetEvent, String property, String newValue,
                                 Calendar calendar) {
-    List<Event> eventsToEdit = collectSeriesEvents(targetEvent, calendar);
+    List<Event> eventsToEdit = calendar.getEventsInSeries(targetEvent.getEventSeriesId());
 
-    if (!validateSeriesEdit(eventsToEdit, property, newValue, calendar)) {
+    if (!calendar.editEvents(eventsToEdit, new PropertyEdit(property, newValue, true, null))) {
+      System.out.println("Edit failed: Would create duplicate event");
       return;
     }
 
-    if (property.equals("start")) {
-      editSeriesStartTime(eventsToEdit, newValue, calendar);
-    } else {
-      editSeriesProperty(eventsToEdit, property, newValue, calendar);
-    }
-
     System.out.println("Edited " + eventsToEdit.size() + " event(s) in the series");
   }
-
-  /**
-   * Collects all events in the same series.
-   *
-   * @param targetEvent the target event
-   * @param calendar    the calendar to search in
-   * @return list of events in the same series
-   */
-
-  private List<Event> collectSeriesEvents(Event targetEvent, Calendar calendar) {
-    List<Event> eventsToEdit = new ArrayList<>();
-    Map<EventKey, Event> calendarStore = calendar.getCalendarStore();
-    String originalSeriesId = targetEvent.getEventSeriesId();
-
-    for (Event event : calendarStore.values()) {
-      if (event.getEventSeriesId() != null
-          && event.getEventSeriesId().equals(originalSeriesId)) {
-        eventsToEdit.add(event);
-      }
-    }
-
-    return eventsToEdit;
-  }
-
-  /**
-   * Validates if the series edit would create any duplicates.
-   *
-   * @param eventsToEdit the events to be edited
-   * @param property     the property being edited
-   * @param newValue     the new value
-   * @param calendar     the calendar
-   * @return true if edit is valid, false if it would create duplicates
-   */
-
-  private boolean validateSeriesEdit(List<Event> eventsToEdit, String property,
-                                     String newValue, Calendar calendar) {
-    for (Event event : eventsToEdit) {
-      if (wouldCreateDuplicate(event, property, newValue, calendar)) {
-        System.out.println("Edit failed: Would create duplicate event");
-        return false;
-      }
-    }
-    return true;
-  }
-
-  /**
-   * Edits the start time for all events in a series.
-   *
-   * @param eventsToEdit the events to edit
-   * @param newValue     the new start time value
-   * @param calendar     the calendar containing the events
-   */
-
-  private void editSeriesStartTime(List<Event> eventsToEdit, String newValue, Calendar calendar) {
-    LocalDateTime newDateTime = LocalDateTime.parse(newValue);
-
-    for (Event event : eventsToEdit) {
-      Event oldSnapshot = createEventSnapshot(event);
-
-      LocalDateTime newEventDateTime = LocalDateTime.of(
-          event.getStartDate(),
-          newDateTime.toLocalTime()
-      );
-      editSingleEvent(event, "start", newEventDateTime.toString());
-
-      calendar.updateEventKey(oldSnapshot, event);
-    }
-  }
-
-  /**
-   * Edits a property for all events in a series.
-   *
-   * @param eventsToEdit the events to edit
-   * @param property     the property to edit
-   * @param newValue     the new value
-   * @param calendar     the calendar containing the events
-   */
-
-  private void editSeriesProperty(List<Event> eventsToEdit, String property,
-                                  String newValue, Calendar calendar) {
-    for (Event event : eventsToEdit) {
-      Event oldSnapshot = createEventSnapshot(event);
-      editSingleEvent(event, property, newValue);
-      calendar.updateEventKey(oldSnapshot, event);
-    }
-  }
-
-  /**
-   * Creates a snapshot of an event for update tracking.
-   *
-   * @param event the event to snapshot
-   * @return a new event instance with the same properties
-   */
-
-  private Event createEventSnapshot(Event event) {
-    Calendar calendar = calendarManager.getCalendar(calendarManager.getCurrentCalendarName());
-    return calendar.createEvent(
-        event.getSubject(),
-        LocalDateTime.of(event.getStartDate(), event.getStartTime()),
-        LocalDateTime.of(event.getEndDate(), event.getEndTime()),
-        event.getEventSeriesId(),
-        null,
-        null,
-        null
-    );
-  }
-}
\ No newline at end of file
+}
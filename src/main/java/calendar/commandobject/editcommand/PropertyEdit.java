@@ -0,0 +1,156 @@
+package calendar.commandobject.editcommand;
+
+import calendar.model.modelinterfaces.Event;
+import calendar.model.modelinterfaces.EventEdit;
+import calendar.model.modelutility.EventKey;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Edit of one or more properties of events, as given to the edit series and edit events
+ * commands, applied to a batch of events through {@code Calendar.editEvents}.
+ * Every value is validated when the edit is constructed, so an invalid value fails the
+ * whole batch before any event is changed. When editing the events of a series, a new
+ * start or end only moves the time of every event, each event keeps its own dates.
+ *
+ */
+
+public class PropertyEdit implements EventEdit {
+
+  private final Map<String, String> values;
+  private final boolean keepDates;
+  private final String newSeriesId;
+  private final LocalDateTime newStart;
+  private final LocalDateTime newEnd;
+
+  /**
+   * Constructs an edit of a single property.
+   *
+   * @param property    the property to edit (subject, start, end, description, status,
+   *                    location)
+   * @param value       the new value of the property
+   * @param keepDates   whether a new start or end only sets the time of the events
+   * @param newSeriesId series id to move the events to, or null to keep their series
+   * @throws IllegalArgumentException if the property is unknown or the value is invalid
+   */
+
+  public PropertyEdit(String property, String value, boolean keepDates, String newSeriesId) {
+    this(Collections.singletonMap(property, value), keepDates, newSeriesId);
+  }
+
+  /**
+   * Constructs an edit of several properties at once.
+   *
+   * @param values      the new values by property (subject, start, end, description,
+   *                    status, location)
+   * @param keepDates   whether a new start or end only sets the time of the events
+   * @param newSeriesId series id to move the events to, or null to keep their series
+   * @throws IllegalArgumentException if a property is unknown or a value is invalid
+   */
+
+  public PropertyEdit(Map<String, String> values, boolean keepDates, String newSeriesId) {
+    this.values = new LinkedHashMap<>(values);
+    this.keepDates = keepDates;
+    this.newSeriesId = newSeriesId;
+
+    LocalDateTime start = null;
+    LocalDateTime end = null;
+    for (Map.Entry<String, String> entry : this.values.entrySet()) {
+      String value = entry.getValue();
+      switch (entry.getKey()) {
+        case "subject":
+        case "description":
+          break;
+        case "start":
+          start = parseDateTime(value);
+          break;
+        case "end":
+          end = parseDateTime(value);
+          break;
+        case "status":
+          if (!value.equalsIgnoreCase("Public") && !value.equalsIgnoreCase("Private")) {
+            throw new IllegalArgumentException("Status can only be either Public or Private");
+          }
+          break;
+        case "location":
+          if (!value.equalsIgnoreCase("Physical") && !value.equalsIgnoreCase("Online")) {
+            throw new IllegalArgumentException("Location can only be either Physical, Online");
+          }
+          break;
+        default:
+          throw new IllegalArgumentException("Invalid property");
+      }
+    }
+    this.newStart = start;
+    this.newEnd = end;
+  }
+
+  @Override
+  public EventKey keyAfter(Event event) {
+    String subject = values.getOrDefault("subject", event.getSubject());
+    LocalDate startDate = event.getStartDate();
+    LocalTime startTime = event.getStartTime();
+    LocalDate endDate = event.getEndDate();
+    LocalTime endTime = event.getEndTime();
+    if (newStart != null) {
+      startDate = keepDates ? startDate : newStart.toLocalDate();
+      startTime = newStart.toLocalTime();
+    }
+    if (newEnd != null) {
+      endDate = keepDates ? endDate : newEnd.toLocalDate();
+      endTime = newEnd.toLocalTime();
+    }
+    return new EventKey(subject, startDate, endDate, startTime, endTime);
+  }
+
+  @Override
+  public void apply(Event event) {
+    for (Map.Entry<String, String> entry : values.entrySet()) {
+      String value = entry.getValue();
+      switch (entry.getKey()) {
+        case "subject":
+          event.modifySubject(value);
+          break;
+        case "description":
+          event.modifyDescription(value);
+          break;
+        case "start":
+          if (!keepDates) {
+            event.modifyStartDate(newStart.toLocalDate());
+          }
+          event.modifyStartTime(newStart.toLocalTime());
+          break;
+        case "end":
+          if (!keepDates) {
+            event.modifyEndDate(newEnd.toLocalDate());
+          }
+          event.modifyEndTime(newEnd.toLocalTime());
+          break;
+        case "status":
+          event.modifyStatus(value);
+          break;
+        case "location":
+          event.modifyLocation(value);
+          break;
+        default:
+          break;
+      }
+    }
+    if (newSeriesId != null) {
+      event.modifySeriesId(newSeriesId);
+    }
+  }
+
+  private static LocalDateTime parseDateTime(String value) {
+    try {
+      return LocalDateTime.parse(value);
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid date time: " + value);
+    }
+  }
+}
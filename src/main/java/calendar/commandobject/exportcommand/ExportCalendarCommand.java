@@ -4,10 +4,17 @@ import calendar.commandobject.Command;
 import calendar.model.modelinterfaces.Calendar;
 import calendar.model.modelinterfaces.CalendarManager;
 import calendar.model.modelutility.ExportCalendar;
+import calendar.model.modelutility.ExportSummary;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Command object to handle export calendar command.
- * It calls the ExportCalendar Utility class
+ * It calls the ExportCalendar Utility class, optionally limited to the events starting
+ * "from &lt;date&gt; to &lt;date&gt;" and to the changes "since &lt;version&gt;",
+ * or exports every calendar at once with "export all &lt;format&gt;".
  *
  */
 public class ExportCalendarCommand implements Command {
@@ -28,16 +35,98 @@ public class ExportCalendarCommand implements Command {
 
   @Override
   public void execute() {
+    if (command.trim().startsWith("export all")) {
+      exportAll(command.substring(command.indexOf("all") + "all".length()).trim());
+      return;
+    }
 
     Calendar currentCalendar =
         calendarManager.getCalendar(calendarManager.getCurrentCalendarName());
-    String filename =
+    String arguments =
         command.substring(command.indexOf("cal") + "cal".length()).trim();
 
-    ExportCalendar export = new ExportCalendar(filename, currentCalendar);
+    Long sinceVersion = null;
+    int sinceIndex = arguments.indexOf(" since ");
+    if (sinceIndex >= 0) {
+      try {
+        sinceVersion = Long.parseLong(
+            arguments.substring(sinceIndex + " since ".length()).trim());
+      } catch (NumberFormatException e) {
+        System.out.println("Invalid export version, it must be a whole number");
+        return;
+      }
+      arguments = arguments.substring(0, sinceIndex).trim();
+    }
+
+    String filename = arguments;
+    LocalDate fromDate = null;
+    LocalDate toDate = null;
+
+    int rangeIndex = arguments.indexOf(" from ");
+    if (rangeIndex >= 0) {
+      filename = arguments.substring(0, rangeIndex).trim();
+      String range = arguments.substring(rangeIndex + " from ".length());
+      int toIndex = range.indexOf(" to ");
+      try {
+        if (toIndex >= 0) {
+          fromDate = LocalDate.parse(range.substring(0, toIndex).trim());
+          toDate = LocalDate.parse(range.substring(toIndex + " to ".length()).trim());
+        } else {
+          fromDate = LocalDate.parse(range.trim());
+        }
+      } catch (DateTimeParseException e) {
+        System.out.println("Invalid export range, dates must be in YYYY-MM-DD format");
+        return;
+      }
+    }
+
+    ExportCalendar export =
+        new ExportCalendar(filename, currentCalendar, fromDate, toDate, sinceVersion);
 
     export.exportCalendar();
 
   }
 
+  /**
+   * Exports several calendars at once and prints the summary of the export.
+   * The arguments are "&lt;format&gt; [--dir &lt;directory&gt;] [--names &lt;name&gt;,...]".
+   */
+
+  private void exportAll(String arguments) {
+    String format = arguments.split("--")[0].trim();
+    if (format.isEmpty()) {
+      System.out.println("Export format is required, for example: export all csv");
+      return;
+    }
+
+    String directory = ".";
+    List<String> names = null;
+    for (String option : arguments.split("--")) {
+      if (option.startsWith("dir ")) {
+        directory = option.substring("dir ".length()).trim();
+      } else if (option.startsWith("names ")) {
+        names = new ArrayList<>();
+        for (String name : option.substring("names ".length()).split(",")) {
+          if (!name.trim().isEmpty()) {
+            names.add(name.trim());
+          }
+        }
+      }
+    }
+
+    ExportSummary summary = calendarManager.exportAll(names, directory, format);
+    System.out.println("Exported " + summary.getExports().size() + " calendars in "
+        + summary.getWallTimeNanos() / 1_000_000 + " ms:");
+    for (ExportSummary.CalendarExport export : summary.getExports()) {
+      if (export.isExported()) {
+        System.out.println("- " + export.getCalendarName() + ": " + export.getEvents()
+            + " events, " + export.getBytes() + " bytes");
+      } else {
+        System.out.println("- " + export.getCalendarName() + ": export failed");
+      }
+    }
+    System.out.println("Total: " + summary.getTotalEvents() + " events, "
+        + summary.getTotalBytes() + " bytes");
+  }
+
 }
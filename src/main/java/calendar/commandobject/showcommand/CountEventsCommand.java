@@ -0,0 +1,107 @@
+package calendar.commandobject.showcommand;
+
+import calendar.commandobject.Command;
+import calendar.model.modelinterfaces.Calendar;
+import calendar.model.modelinterfaces.CalendarManager;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Command object handles the count events command, which prints how many events start
+ * "from &lt;date&gt; to &lt;date&gt;", and with "by day", "by week" or "by month" how
+ * many start in every day, week or month of the range.
+ *
+ */
+
+public class CountEventsCommand implements Command {
+  private String command;
+  private CalendarManager calendarManager;
+
+  /**
+   * Constructs count events command object.
+   *
+   * @param command         user input
+   * @param calendarManager calendar manager object
+   *
+   */
+
+  public CountEventsCommand(String command, CalendarManager calendarManager) {
+    this.command = command;
+    this.calendarManager = calendarManager;
+  }
+
+  @Override
+  public void execute() {
+    Calendar currentCalendar =
+        calendarManager.getCalendar(calendarManager.getCurrentCalendarName());
+
+    int fromIndex = command.indexOf(" from ");
+    int toIndex = command.indexOf(" to ");
+    if (fromIndex < 0 || toIndex < fromIndex) {
+      System.out.println("Usage: count events from <date> to <date> [by day|week|month]");
+      return;
+    }
+
+    String range = command.substring(toIndex + " to ".length()).trim();
+    ChronoUnit period = null;
+    int byIndex = range.indexOf(" by ");
+    if (byIndex >= 0) {
+      period = parsePeriod(range.substring(byIndex + " by ".length()).trim());
+      if (period == null) {
+        System.out.println("Invalid period, it must be day, week or month");
+        return;
+      }
+      range = range.substring(0, byIndex).trim();
+    }
+
+    LocalDate fromDate;
+    LocalDate toDate;
+    try {
+      fromDate = parseDate(command.substring(fromIndex + " from ".length(), toIndex));
+      toDate = parseDate(range);
+    } catch (DateTimeParseException e) {
+      System.out.println("Invalid count range, dates must be in YYYY-MM-DD format");
+      return;
+    }
+    if (fromDate.isAfter(toDate)) {
+      System.out.println("Start date cannot be occurring after end date");
+      return;
+    }
+
+    System.out.println("Events from " + fromDate + " to " + toDate + ": "
+        + currentCalendar.countEvents(fromDate, toDate));
+    if (period != null) {
+      SortedMap<LocalDate, Integer> counts =
+          currentCalendar.countEventsPer(fromDate, toDate, period);
+      for (Map.Entry<LocalDate, Integer> entry : counts.entrySet()) {
+        System.out.println("• " + entry.getKey() + ": " + entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * Parses a date, or the date of a date time.
+   */
+
+  private static LocalDate parseDate(String text) {
+    String date = text.trim();
+    int timeIndex = date.indexOf('T');
+    return LocalDate.parse(timeIndex >= 0 ? date.substring(0, timeIndex) : date);
+  }
+
+  private static ChronoUnit parsePeriod(String period) {
+    switch (period) {
+      case "day":
+        return ChronoUnit.DAYS;
+      case "week":
+        return ChronoUnit.WEEKS;
+      case "month":
+        return ChronoUnit.MONTHS;
+      default:
+        return null;
+    }
+  }
+}
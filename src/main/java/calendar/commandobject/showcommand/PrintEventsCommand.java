@@ -4,12 +4,18 @@ import calendar.commandobject.Command;
 import calendar.model.modelinterfaces.Calendar;
 import calendar.model.modelinterfaces.CalendarManager;
 import calendar.model.modelinterfaces.Event;
+import calendar.model.modelutility.SchedulePage;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Command object to handle print events command.
+ * Events of a range are streamed from the calendar as they are printed, or printed one
+ * page at a time with "--limit &lt;n&gt;", continuing after a page with the token it
+ * printed, "--after &lt;token&gt;".
  *
  */
 
@@ -56,16 +62,85 @@ public class PrintEventsCommand implements Command {
       displayEvents(eventList);
 
     } else if (command.contains(" from ") && command.contains(" to ")) {
-      String fromPart = command.substring(command.indexOf(" from ") + " from ".length(),
-          command.indexOf(" to ")).trim();
-      String toPart = command.substring(command.indexOf(" to ") + " to ".length()).trim();
+      int optionsIndex = command.indexOf(" --");
+      String range = optionsIndex >= 0 ? command.substring(0, optionsIndex) : command;
+      String fromPart = range.substring(range.indexOf(" from ") + " from ".length(),
+          range.indexOf(" to ")).trim();
+      String toPart = range.substring(range.indexOf(" to ") + " to ".length()).trim();
 
       LocalDateTime startDateTime = LocalDateTime.parse(fromPart);
       LocalDateTime endDateTime = LocalDateTime.parse(toPart);
 
-      List<Event> eventList = currentCalendar.getSchedule(startDateTime.toString(),
-          endDateTime.toString());
-      displayEvents(eventList);
+      long days = ChronoUnit.DAYS.between(startDateTime, endDateTime);
+      if (days < 0) {
+        System.out.println("End date cannot be before start date");
+        return;
+      }
+      LocalDate startDate = startDateTime.toLocalDate();
+      LocalDateTime rangeStart = startDate.atStartOfDay();
+      LocalDateTime rangeEnd = startDate.plusDays(days + 1).atStartOfDay();
+
+      String limit = optionValue("--limit");
+      if (limit == null) {
+        streamEvents(currentCalendar.streamEvents(rangeStart, rangeEnd));
+      } else {
+        printPage(currentCalendar, rangeStart, rangeEnd, limit, optionValue("--after"));
+      }
+    }
+  }
+
+  /**
+   * Prints the events of a range as they are streamed from the calendar, without
+   * collecting them first.
+   */
+
+  private void streamEvents(Stream<Event> events) {
+    boolean[] found = {false};
+    events.forEach(event -> {
+      found[0] = true;
+      System.out.println("• " + event.toString());
+    });
+    if (!found[0]) {
+      System.out.println("No events found.");
+    }
+  }
+
+  /**
+   * Prints one page of the events of a range, and the token of the next page if more
+   * events follow.
+   */
+
+  private void printPage(Calendar calendar, LocalDateTime rangeStart, LocalDateTime rangeEnd,
+                         String limit, String after) {
+    SchedulePage page;
+    try {
+      page = calendar.getEventsPage(rangeStart, rangeEnd, after, Integer.parseInt(limit));
+    } catch (NumberFormatException e) {
+      System.out.println("Invalid page size, it must be a whole number");
+      return;
+    } catch (IllegalArgumentException e) {
+      System.out.println(e.getMessage());
+      return;
+    }
+    displayEvents(page.getEvents());
+    if (page.hasNextPage()) {
+      System.out.println("More events, continue with: --after " + page.getNextPageToken());
+    }
+  }
+
+  /**
+   * Gets the value following an option of the command.
+   *
+   * @return the value, or null if the option is not given
+   */
+
+  private String optionValue(String option) {
+    int index = command.indexOf(" " + option + " ");
+    if (index < 0) {
+      return null;
     }
+    String rest = command.substring(index + option.length() + 2).trim();
+    int end = rest.indexOf(' ');
+    return end < 0 ? rest : rest.substring(0, end);
   }
-}
\ No newline at end of file
+}
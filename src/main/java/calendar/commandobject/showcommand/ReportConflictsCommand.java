@@ -0,0 +1,102 @@
+package calendar.commandobject.showcommand;
+
+import calendar.commandobject.Command;
+import calendar.model.modelinterfaces.Calendar;
+import calendar.model.modelinterfaces.CalendarManager;
+import calendar.model.modelutility.EventConflict;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Command object handles the report conflicts command, which prints every pair of
+ * overlapping events of the calendar, or with "from &lt;date&gt; to &lt;date&gt;" the
+ * pairs overlapping within the range. Dates cover whole days, date times are exact.
+ * The pairs are printed as the calendar streams them, so even a calendar of hundreds of
+ * thousands of events is audited without collecting its conflicts first.
+ *
+ */
+
+public class ReportConflictsCommand implements Command {
+  private String command;
+  private CalendarManager calendarManager;
+
+  /**
+   * Constructs report conflicts command object.
+   *
+   * @param command         user input
+   * @param calendarManager calendar manager object
+   *
+   */
+
+  public ReportConflictsCommand(String command, CalendarManager calendarManager) {
+    this.command = command;
+    this.calendarManager = calendarManager;
+  }
+
+  @Override
+  public void execute() {
+    Calendar currentCalendar =
+        calendarManager.getCalendar(calendarManager.getCurrentCalendarName());
+
+    String range = command.trim();
+    if (!range.startsWith("report conflicts")) {
+      System.out.println("Usage: report conflicts [from <date> to <date>]");
+      return;
+    }
+    range = range.substring("report conflicts".length());
+
+    LocalDateTime from = null;
+    LocalDateTime to = null;
+    if (!range.isEmpty()) {
+      int fromIndex = range.indexOf(" from ");
+      int toIndex = range.indexOf(" to ", fromIndex + 1);
+      if (fromIndex != 0 || toIndex < 0) {
+        System.out.println("Usage: report conflicts [from <date> to <date>]");
+        return;
+      }
+      try {
+        from = parseBound(range.substring(" from ".length(), toIndex), false);
+        to = parseBound(range.substring(toIndex + " to ".length()), true);
+      } catch (DateTimeParseException e) {
+        System.out.println("Invalid range, dates must be in YYYY-MM-DD or YYYY-MM-DDThh:mm "
+            + "format");
+        return;
+      }
+      if (!from.isBefore(to)) {
+        System.out.println("End date cannot be before start date");
+        return;
+      }
+    }
+
+    long conflicts = 0;
+    try (Stream<EventConflict> stream = currentCalendar.streamConflicts(from, to)) {
+      Iterator<EventConflict> pairs = stream.iterator();
+      while (pairs.hasNext()) {
+        System.out.println("• " + pairs.next());
+        conflicts++;
+      }
+    }
+    System.out.println(conflicts == 0 ? "No conflicts found."
+        : conflicts + (conflicts == 1 ? " conflict found." : " conflicts found."));
+  }
+
+  /**
+   * Parses a bound of the range, a date covering its whole day or an exact date time.
+   *
+   * @param text the bound
+   * @param end  whether the bound ends the range
+   * @return the date time of the bound
+   */
+
+  private static LocalDateTime parseBound(String text, boolean end) {
+    String bound = text.trim();
+    if (bound.indexOf('T') >= 0) {
+      return LocalDateTime.parse(bound);
+    }
+    LocalDate date = LocalDate.parse(bound);
+    return end ? date.plusDays(1).atStartOfDay() : date.atStartOfDay();
+  }
+}
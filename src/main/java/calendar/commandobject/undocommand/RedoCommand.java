@@ -0,0 +1,41 @@
+package calendar.commandobject.undocommand;
+
+import calendar.commandobject.Command;
+import calendar.model.modelinterfaces.CalendarManager;
+
+/**
+ * Command object handles the redo command, which redoes the last undone command, if no
+ * command changed the calendars since.
+ *
+ */
+
+public class RedoCommand implements Command {
+  private final CalendarManager calendarManager;
+  private final String command;
+
+  /**
+   * Constructs redo command object.
+   *
+   * @param command         user input
+   * @param calendarManager calendar manager object
+   */
+
+  public RedoCommand(String command, CalendarManager calendarManager) {
+    this.calendarManager = calendarManager;
+    this.command = command;
+  }
+
+  @Override
+  public void execute() {
+    if (!command.trim().equals("redo")) {
+      System.out.println("Usage: redo");
+      return;
+    }
+    String description = calendarManager.redo();
+    if (description == null) {
+      System.out.println("Nothing to redo");
+    } else {
+      System.out.println("Redid: " + description);
+    }
+  }
+}
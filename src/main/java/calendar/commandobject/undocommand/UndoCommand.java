@@ -0,0 +1,41 @@
+package calendar.commandobject.undocommand;
+
+import calendar.commandobject.Command;
+import calendar.model.modelinterfaces.CalendarManager;
+
+/**
+ * Command object handles the undo command, which undoes the last command which changed
+ * events of the calendars.
+ *
+ */
+
+public class UndoCommand implements Command {
+  private final CalendarManager calendarManager;
+  private final String command;
+
+  /**
+   * Constructs undo command object.
+   *
+   * @param command         user input
+   * @param calendarManager calendar manager object
+   */
+
+  public UndoCommand(String command, CalendarManager calendarManager) {
+    this.calendarManager = calendarManager;
+    this.command = command;
+  }
+
+  @Override
+  public void execute() {
+    if (!command.trim().equals("undo")) {
+      System.out.println("Usage: undo");
+      return;
+    }
+    String description = calendarManager.undo();
+    if (description == null) {
+      System.out.println("Nothing to undo");
+    } else {
+      System.out.println("Undid: " + description);
+    }
+  }
+}
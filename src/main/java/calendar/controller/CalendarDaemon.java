@@ -0,0 +1,454 @@
+package calendar.controller;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long-running calendar daemon, which keeps one controller and its calendar manager
+ * resident and runs the command lines sent by clients over a local socket, so scripts
+ * skip the start up of the JVM and keep their calendars between runs.
+ * Every client connection is a session, run like a headless command file: its lines are
+ * run in order until "exit" or the end of its input, and the output of its commands is
+ * streamed back to it. Sessions run one at a time, in the order clients connect, and a
+ * session waiting longer than the read timeout for its next line is ended, so an idle
+ * client cannot hold the daemon from the others.
+ * The socket is a Unix domain socket at the given path when the JVM supports them
+ * (Java 16 and later); on older JVMs the daemon listens on a loopback TCP port instead,
+ * which any local user could connect to. It then writes "tcp:&lt;port&gt;" and a random
+ * token to the path, readable by its owner only, and a session must send the token as its
+ * first line, which the client does.
+ *
+ */
+
+public class CalendarDaemon implements Closeable {
+
+  private static final String TCP_PREFIX = "tcp:";
+  private static final long DEFAULT_READ_TIMEOUT_MILLIS = 60_000;
+  private static final int TOKEN_BYTES = 16;
+
+  private final Path path;
+  private final long readTimeoutMillis;
+  private final SessionOutput output;
+  private final PrintStream console;
+  private volatile ServerSocketChannel server;
+  private String token;
+  private ScheduledExecutorService deadlines;
+
+  /**
+   * Constructs a daemon listening at a path once served, ending sessions idle for a
+   * minute.
+   *
+   * @param path path of the socket
+   */
+
+  public CalendarDaemon(Path path) {
+    this(path, DEFAULT_READ_TIMEOUT_MILLIS);
+  }
+
+  /**
+   * Constructs a daemon listening at a path once served.
+   *
+   * @param path              path of the socket
+   * @param readTimeoutMillis time a session may wait for its next line before it is ended
+   * @throws IllegalArgumentException if the timeout is not positive
+   */
+
+  public CalendarDaemon(Path path, long readTimeoutMillis) {
+    if (readTimeoutMillis <= 0) {
+      throw new IllegalArgumentException("Read timeout must be positive");
+    }
+    this.path = path;
+    this.readTimeoutMillis = readTimeoutMillis;
+    this.console = System.out;
+    this.output = new SessionOutput(console);
+  }
+
+  /**
+   * getter to get the output of the daemon, which is the output of the session running,
+   * or the console between sessions. The controller served must write to it.
+   *
+   * @return the output of the daemon
+   */
+
+  public PrintStream getOutput() {
+    return output.stream;
+  }
+
+  /**
+   * Serves sessions until the daemon is closed. The output printed by the commands on
+   * System.out is sent to the session running them.
+   *
+   * @param controller controller running the command lines
+   * @throws IOException if the socket cannot be bound
+   */
+
+  public void serve(CalendarController controller) throws IOException {
+    controller.initializeCommands();
+    server = bind();
+    deadlines = Executors.newSingleThreadScheduledExecutor(task -> {
+      Thread thread = new Thread(task, "calendar-daemon-deadline");
+      thread.setDaemon(true);
+      return thread;
+    });
+    Thread cleanup = new Thread(() -> deleteSocket(path));
+    Runtime.getRuntime().addShutdownHook(cleanup);
+    System.setOut(output.stream);
+    console.println("Calendar daemon listening on " + path);
+    try {
+      while (server.isOpen()) {
+        try (SocketChannel client = server.accept()) {
+          runSession(controller, client);
+        } catch (AsynchronousCloseException e) {
+          break;
+        } catch (IOException | RuntimeException e) {
+          output.target = console;
+          console.println("Session failed: " + e.getMessage());
+        }
+      }
+    } finally {
+      System.setOut(console);
+      deadlines.shutdownNow();
+      server.close();
+      deleteSocket(path);
+      Runtime.getRuntime().removeShutdownHook(cleanup);
+    }
+  }
+
+  /**
+   * Stops serving, once the session running, if any, ends.
+   *
+   * @throws IOException if the socket cannot be closed
+   */
+
+  @Override
+  public void close() throws IOException {
+    if (server != null) {
+      server.close();
+    }
+  }
+
+  private void runSession(CalendarController controller, SocketChannel client)
+      throws IOException {
+    BufferedReader lines = new BufferedReader(
+        new InputStreamReader(inputOf(client), StandardCharsets.UTF_8));
+    PrintStream session = new PrintStream(
+        new BufferedOutputStream(outputOf(client)), false,
+        StandardCharsets.UTF_8.name());
+    try {
+      if (token != null && !isToken(readLine(lines, client))) {
+        console.println("Session refused: it did not send the token of the daemon");
+        return;
+      }
+      output.target = session;
+      try {
+        String line;
+        while ((line = readLine(lines, client)) != null) {
+          if (line.equals("exit")) {
+            break;
+          }
+          controller.processCommands(line);
+          output.stream.flush();
+        }
+        controller.printFarewellMessage();
+      } finally {
+        output.stream.flush();
+        output.target = console;
+      }
+      client.shutdownOutput();
+      while (readLine(lines, client) != null) {
+        // unread lines after "exit", drained until the client closes
+      }
+    } catch (AsynchronousCloseException e) {
+      console.println("Session ended: no line was read for " + readTimeoutMillis + " ms");
+    }
+  }
+
+  /**
+   * Reads the next line of a session, closing its connection if none is read before the
+   * read timeout, which ends the read with an AsynchronousCloseException.
+   */
+
+  private String readLine(BufferedReader lines, SocketChannel client) throws IOException {
+    ScheduledFuture<?> deadline = deadlines.schedule(() -> {
+      try {
+        client.close();
+      } catch (IOException e) {
+        // the session ends on the read failing either way
+      }
+    }, readTimeoutMillis, TimeUnit.MILLISECONDS);
+    try {
+      return lines.readLine();
+    } finally {
+      deadline.cancel(false);
+    }
+  }
+
+  private boolean isToken(String line) {
+    return line != null && MessageDigest.isEqual(
+        token.getBytes(StandardCharsets.UTF_8), line.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Sends command lines to a daemon and copies the output of their session.
+   *
+   * @param path     path of the socket of the daemon
+   * @param commands the command lines, read until their end
+   * @param out      output the session output is copied to
+   * @throws IOException if the daemon cannot be reached
+   */
+
+  public static void send(Path path, BufferedReader commands, Writer out) throws IOException {
+    try (SocketChannel channel = connect(path)) {
+      OutputStream toDaemon = outputOf(channel);
+      Thread sender = new Thread(() -> {
+        try {
+          String line;
+          while ((line = commands.readLine()) != null) {
+            toDaemon.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+          }
+          channel.shutdownOutput();
+        } catch (IOException e) {
+          // the session ended before every line was sent, on "exit"
+        }
+      }, "calendar-client-sender");
+      sender.setDaemon(true);
+      sender.start();
+
+      InputStreamReader reader = new InputStreamReader(inputOf(channel), StandardCharsets.UTF_8);
+      char[] buffer = new char[8192];
+      int read;
+      while ((read = reader.read(buffer)) != -1) {
+        out.write(buffer, 0, read);
+        out.flush();
+      }
+    }
+  }
+
+  /**
+   * Gets a stream reading from a channel. Unlike Channels.newInputStream, reading does not
+   * lock out writing to the channel from another thread.
+   */
+
+  private static InputStream inputOf(SocketChannel channel) {
+    return new InputStream() {
+      @Override
+      public int read() throws IOException {
+        byte[] one = new byte[1];
+        return read(one, 0, 1) < 0 ? -1 : one[0] & 0xff;
+      }
+
+      @Override
+      public int read(byte[] bytes, int offset, int length) throws IOException {
+        return length == 0 ? 0 : channel.read(ByteBuffer.wrap(bytes, offset, length));
+      }
+    };
+  }
+
+  /**
+   * Gets a stream writing to a channel, without locking out reading from it.
+   */
+
+  private static OutputStream outputOf(SocketChannel channel) {
+    return new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+      }
+
+      @Override
+      public void write(byte[] bytes, int offset, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+    };
+  }
+
+  private ServerSocketChannel bind() throws IOException {
+    if (Files.isDirectory(path) || Files.isRegularFile(path) && tcpAddress(path) == null) {
+      throw new IOException("Not a calendar daemon socket: " + path);
+    }
+    if (Files.exists(path)) {
+      if (isListening(path)) {
+        throw new IOException("A calendar daemon is already listening on " + path);
+      }
+      deleteSocket(path);
+    }
+
+    ProtocolFamily unix = unixFamily();
+    if (unix != null) {
+      ServerSocketChannel channel = open(ServerSocketChannel.class, unix);
+      channel.bind(unixAddress(path));
+      return channel;
+    }
+    ServerSocketChannel channel = ServerSocketChannel.open();
+    try {
+      channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+      int port = ((InetSocketAddress) channel.getLocalAddress()).getPort();
+      token = newToken();
+      if (path.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+        Files.createFile(path,
+            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+      } else {
+        Files.createFile(path);
+      }
+      Files.write(path, (TCP_PREFIX + port + "\n" + token + "\n")
+          .getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+    return channel;
+  }
+
+  /**
+   * Gets a random token of hexadecimal digits, which clients must send to be served.
+   */
+
+  static String newToken() {
+    byte[] bytes = new byte[TOKEN_BYTES];
+    new SecureRandom().nextBytes(bytes);
+    StringBuilder token = new StringBuilder();
+    for (byte b : bytes) {
+      token.append(String.format("%02x", b));
+    }
+    return token.toString();
+  }
+
+  private static boolean isListening(Path path) {
+    try {
+      connect(path).close();
+      return true;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Connects to a daemon, sending the token of a daemon listening on TCP as the first
+   * line of the session.
+   */
+
+  private static SocketChannel connect(Path path) throws IOException {
+    if (Files.isRegularFile(path)) {
+      String[] address = tcpAddress(path);
+      if (address == null) {
+        throw new IOException("Not a calendar daemon socket: " + path);
+      }
+      SocketChannel channel = SocketChannel.open(new InetSocketAddress(
+          InetAddress.getLoopbackAddress(), Integer.parseInt(address[0])));
+      try {
+        outputOf(channel).write((address[1] + "\n").getBytes(StandardCharsets.UTF_8));
+      } catch (IOException e) {
+        channel.close();
+        throw e;
+      }
+      return channel;
+    }
+    ProtocolFamily unix = unixFamily();
+    if (unix == null) {
+      throw new IOException("Unix domain sockets need Java 16 or later: " + path);
+    }
+    SocketChannel channel = open(SocketChannel.class, unix);
+    try {
+      channel.connect(unixAddress(path));
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+    return channel;
+  }
+
+  /**
+   * Reads the loopback port a daemon listens on and its token from a file written in place
+   * of a Unix domain socket.
+   *
+   * @return the port and the token, or null if the file is not such a file
+   */
+
+  private static String[] tcpAddress(Path path) throws IOException {
+    if (Files.size(path) > 64) {
+      return null;
+    }
+    String[] lines = new String(Files.readAllBytes(path), StandardCharsets.UTF_8)
+        .trim().split("\n");
+    if (lines.length != 2 || !lines[0].startsWith(TCP_PREFIX)
+        || lines[1].length() != 2 * TOKEN_BYTES) {
+      return null;
+    }
+    String port = lines[0].substring(TCP_PREFIX.length());
+    try {
+      Integer.parseInt(port);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+    return new String[] {port, lines[1]};
+  }
+
+  private static void deleteSocket(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      System.out.println("Could not delete " + path + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Gets the Unix domain protocol family, looked up by name to run on Java 11.
+   *
+   * @return the protocol family, or null before Java 16
+   */
+
+  private static ProtocolFamily unixFamily() {
+    try {
+      return StandardProtocolFamily.valueOf("UNIX");
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private static SocketAddress unixAddress(Path path) throws IOException {
+    try {
+      return (SocketAddress) Class.forName("java.net.UnixDomainSocketAddress")
+          .getMethod("of", Path.class).invoke(null, path);
+    } catch (ReflectiveOperationException e) {
+      throw new IOException("Unix domain sockets are not supported", e);
+    }
+  }
+
+  private static <T> T open(Class<T> channelType, ProtocolFamily family) throws IOException {
+    try {
+      return channelType.cast(channelType.getMethod("open", ProtocolFamily.class)
+          .invoke(null, family));
+    } catch (ReflectiveOperationException e) {
+      throw new IOException("Unix domain sockets are not supported", e);
+    }
+  }
+}
@@ -0,0 +1,594 @@
+package calendar.controller;
+
+import calendar.model.modelimplementations.CalendarImpl;
+import calendar.model.modelinterfaces.Calendar;
+import calendar.model.modelinterfaces.CalendarManager;
+import calendar.model.modelinterfaces.Event;
+import calendar.model.modelutility.SchedulePage;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * HTTP API of the calendars of a calendar manager, served as JSON with the HTTP server of
+ * the JDK once started on a loopback address. Reads are served from copy-on-write clones
+ * of the calendars, and POST /api/commands runs command lines one request at a time.
+ *
+ */
+
+public class CalendarServer implements Closeable {
+
+  /**
+   * Largest number of events of a page of events.
+   */
+
+  public static final int MAX_PAGE_SIZE = 1000;
+
+  /**
+   * Header carrying the token of the server on the requests running commands.
+   */
+
+  public static final String TOKEN_HEADER = "X-Calendar-Token";
+
+  private static final String API = "/api/";
+  private static final int DEFAULT_PAGE_SIZE = 100;
+  private static final int BACKLOG = 1024;
+  private static final int THREADS = Math.max(8, 4 * Runtime.getRuntime().availableProcessors());
+  private static final String JSON = "application/json; charset=utf-8";
+  private static final String TEXT = "text/plain; charset=utf-8";
+
+  private final CalendarManager calendarManager;
+  private final CalendarController controller;
+  private final SessionOutput output;
+  private final Object commandLock = new Object();
+  private volatile Snapshot snapshot;
+  private HttpServer server;
+  private ExecutorService executor;
+  private String token;
+
+  /**
+   * Constructs a server of the calendars of a calendar manager. Once served, the calendar
+   * manager must only be changed by {@link #run}.
+   *
+   * @param calendarManager the calendar manager
+   */
+
+  public CalendarServer(CalendarManager calendarManager) {
+    this.calendarManager = calendarManager;
+    this.output = new SessionOutput(System.out);
+    this.controller = new ControllerImpl(calendarManager, new StringReader(""), output.stream,
+        "server", "");
+    this.controller.initializeCommands();
+    this.snapshot = new Snapshot(new TreeMap<>(), null);
+    publish();
+  }
+
+  /**
+   * Starts serving requests on the given address, until closed.
+   *
+   * @param address address to listen on, with port 0 for any free port
+   * @throws IOException if the address cannot be bound
+   */
+
+  public void start(InetSocketAddress address) throws IOException {
+    token = CalendarDaemon.newToken();
+    server = HttpServer.create(address, BACKLOG);
+    server.createContext(API, this::handle);
+    executor = executor();
+    server.setExecutor(executor);
+    server.start();
+  }
+
+  /**
+   * getter to get the address the server listens on.
+   *
+   * @return the address, with the port bound
+   */
+
+  public InetSocketAddress getAddress() {
+    return server.getAddress();
+  }
+
+  /**
+   * getter to get the token the requests running commands must carry, drawn when the
+   * server starts.
+   *
+   * @return the token
+   */
+
+  public String getToken() {
+    return token;
+  }
+
+  /**
+   * Stops serving requests, dropping the requests still being served.
+   */
+
+  @Override
+  public void close() {
+    if (server != null) {
+      server.stop(0);
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Runs command lines in order until "exit" or their end, like a headless command file,
+   * and publishes the changed calendars to the readers.
+   *
+   * @param commands the command lines
+   * @return the output of the commands
+   */
+
+  public String run(String commands) {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    synchronized (commandLock) {
+      PrintStream console = System.out;
+      output.target = new PrintStream(buffer, false, StandardCharsets.UTF_8);
+      System.setOut(output.stream);
+      try {
+        for (String line : commands.split("\\R")) {
+          if (line.equals("exit")) {
+            break;
+          }
+          controller.processCommands(line);
+        }
+      } finally {
+        output.stream.flush();
+        System.setOut(console);
+        output.target = console;
+        publish();
+      }
+    }
+    return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Publishes a snapshot of the calendars, cloning only the calendars which changed since
+   * the last snapshot.
+   */
+
+  private void publish() {
+    Map<String, Published> previous = snapshot.calendars;
+    Map<String, Published> calendars = new TreeMap<>();
+    for (Map.Entry<String, Calendar> entry
+        : calendarManager.getCalendarManagerStore().entrySet()) {
+      Calendar calendar = entry.getValue();
+      Published published = previous.get(entry.getKey());
+      if (published == null || published.source != calendar
+          || published.version != calendar.getVersion()) {
+        published = new Published(calendar);
+      }
+      calendars.put(entry.getKey(), published);
+    }
+    snapshot = new Snapshot(calendars, calendarManager.getCurrentCalendarName());
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    long start = System.nanoTime();
+    String path = exchange.getRequestURI().getPath();
+    String[] parts = path.substring(API.length()).split("/", -1);
+    String endpoint = endpointOf(parts);
+    Response response;
+    try {
+      response = respond(exchange, endpoint, parts);
+    } catch (IllegalArgumentException | DateTimeException e) {
+      response = error(400, e.getMessage());
+    } catch (RuntimeException e) {
+      response = error(500, "Request failed: " + e.getMessage());
+    }
+    try {
+      byte[] body = response.body.getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().set("Content-Type", response.contentType);
+      exchange.sendResponseHeaders(response.status, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    } finally {
+      exchange.close();
+      CommandMetrics.getInstance().record("http " + (endpoint == null ? "unknown" : endpoint),
+          System.nanoTime() - start, response.status >= 400);
+    }
+  }
+
+  private static String endpointOf(String[] parts) {
+    if (parts.length == 1 && (parts[0].equals("calendars") || parts[0].equals("metrics")
+        || parts[0].equals("commands"))) {
+      return parts[0];
+    }
+    if (parts.length == 3 && parts[0].equals("calendars") && !parts[1].isEmpty()
+        && (parts[2].equals("events") || parts[2].equals("status")
+        || parts[2].equals("freebusy"))) {
+      return parts[2];
+    }
+    return null;
+  }
+
+  private Response respond(HttpExchange exchange, String endpoint, String[] parts)
+      throws IOException {
+    if (exchange.getRequestHeaders().containsKey("Origin")) {
+      return error(403, "Cross-origin requests are refused");
+    }
+    if (!isLocalHost(exchange.getRequestHeaders().getFirst("Host"))) {
+      return error(403, "Requests must be sent to localhost:" + server.getAddress().getPort());
+    }
+    if (endpoint == null) {
+      return error(404, "No such endpoint: " + exchange.getRequestURI().getPath());
+    }
+    String method = exchange.getRequestMethod();
+    if (endpoint.equals("commands")) {
+      if (!method.equals("POST")) {
+        return error(405, "Commands must be sent with POST");
+      }
+      String sent = exchange.getRequestHeaders().getFirst(TOKEN_HEADER);
+      if (sent == null || !MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8),
+          sent.getBytes(StandardCharsets.UTF_8))) {
+        return error(403, "Commands need the token printed when the server started, in the "
+            + TOKEN_HEADER + " header");
+      }
+      String commands = new String(exchange.getRequestBody().readAllBytes(),
+          StandardCharsets.UTF_8);
+      return new Response(200, TEXT, run(commands));
+    }
+    if (!method.equals("GET")) {
+      return error(405, "The " + endpoint + " endpoint must be read with GET");
+    }
+
+    Snapshot current = snapshot;
+    if (endpoint.equals("calendars")) {
+      return json(calendarsJson(current));
+    }
+    if (endpoint.equals("metrics")) {
+      return json(metricsJson());
+    }
+    Published published = current.calendars.get(parts[1]);
+    if (published == null) {
+      return error(404, "Calendar not found: " + parts[1]);
+    }
+    Calendar calendar = published.copy;
+    Map<String, String> query = queryOf(exchange);
+    switch (endpoint) {
+      case "events":
+        return json(eventsJson(calendar, query));
+      case "status":
+        return json(statusJson(calendar, query));
+      default:
+        return json(freeBusyJson(calendar, query));
+    }
+  }
+
+  /**
+   * Checks that the Host of a request names the loopback address and the port of the
+   * server, which a page served by another host resolved to the loopback address cannot.
+   */
+
+  private boolean isLocalHost(String host) {
+    if (host == null) {
+      return false;
+    }
+    String port = ":" + server.getAddress().getPort();
+    String name = host.toLowerCase(Locale.ROOT);
+    return name.equals("localhost" + port) || name.equals("127.0.0.1" + port)
+        || name.equals("[::1]" + port);
+  }
+
+  private static String calendarsJson(Snapshot current) {
+    StringBuilder json = new StringBuilder("{\"current\":");
+    string(json, current.currentName);
+    json.append(",\"calendars\":[");
+    String separator = "";
+    for (Map.Entry<String, Published> entry : current.calendars.entrySet()) {
+      Calendar calendar = entry.getValue().copy;
+      json.append(separator).append("{\"name\":");
+      string(json, entry.getKey());
+      json.append(",\"timezone\":");
+      string(json, calendar.getCalendarTimeZone().getId());
+      json.append(",\"events\":").append(calendar.getCalendarStore().size());
+      json.append(",\"version\":").append(entry.getValue().version).append('}');
+      separator = ",";
+    }
+    return json.append("]}").toString();
+  }
+
+  private static String eventsJson(Calendar calendar, Map<String, String> query) {
+    StringBuilder json = new StringBuilder("{\"calendar\":");
+    string(json, calendar.getCalendarName());
+    String date = query.get("date");
+    if (date != null) {
+      json.append(",\"date\":");
+      string(json, date);
+      events(json, calendar.getEventsForDate(LocalDate.parse(date)));
+      return json.append('}').toString();
+    }
+
+    int limit = query.containsKey("limit") ? Integer.parseInt(query.get("limit"))
+        : DEFAULT_PAGE_SIZE;
+    if (limit > MAX_PAGE_SIZE) {
+      throw new IllegalArgumentException("The limit must be at most " + MAX_PAGE_SIZE);
+    }
+    SchedulePage page = calendar.getEventsPage(optionalDateTime(query, "from"),
+        optionalDateTime(query, "to"), query.get("pageToken"), limit);
+    events(json, page.getEvents());
+    json.append(",\"nextPageToken\":");
+    string(json, page.getNextPageToken());
+    return json.append('}').toString();
+  }
+
+  private static String statusJson(Calendar calendar, Map<String, String> query) {
+    String at = required(query, "at");
+    StringBuilder json = new StringBuilder("{\"calendar\":");
+    string(json, calendar.getCalendarName());
+    json.append(",\"at\":");
+    string(json, at);
+    json.append(",\"status\":");
+    string(json, calendar.showStatus(at));
+    return json.append('}').toString();
+  }
+
+  /**
+   * Gets the busy intervals of a range, the overlapping events merged and cut at the range,
+   * and the free intervals between them.
+   */
+
+  private static String freeBusyJson(Calendar calendar, Map<String, String> query) {
+    LocalDateTime from = LocalDateTime.parse(required(query, "from"));
+    LocalDateTime to = LocalDateTime.parse(required(query, "to"));
+    if (!from.isBefore(to)) {
+      throw new IllegalArgumentException("The range must start before it ends");
+    }
+    List<LocalDateTime[]> busy = new ArrayList<>();
+    for (Event event : calendar.getEventsOverlapping(from, to)) {
+      LocalDateTime start = max(from, LocalDateTime.of(event.getStartDate(),
+          event.getStartTime()));
+      LocalDateTime end = min(to, LocalDateTime.of(event.getEndDate(), event.getEndTime()));
+      LocalDateTime[] last = busy.isEmpty() ? null : busy.get(busy.size() - 1);
+      if (last != null && !start.isAfter(last[1])) {
+        last[1] = max(last[1], end);
+      } else {
+        busy.add(new LocalDateTime[] {start, end});
+      }
+    }
+    List<LocalDateTime[]> free = new ArrayList<>();
+    LocalDateTime freeFrom = from;
+    for (LocalDateTime[] interval : busy) {
+      if (freeFrom.isBefore(interval[0])) {
+        free.add(new LocalDateTime[] {freeFrom, interval[0]});
+      }
+      freeFrom = interval[1];
+    }
+    if (freeFrom.isBefore(to)) {
+      free.add(new LocalDateTime[] {freeFrom, to});
+    }
+
+    StringBuilder json = new StringBuilder("{\"calendar\":");
+    string(json, calendar.getCalendarName());
+    json.append(",\"from\":");
+    string(json, from.toString());
+    json.append(",\"to\":");
+    string(json, to.toString());
+    intervals(json.append(",\"busy\":"), busy);
+    intervals(json.append(",\"free\":"), free);
+    return json.append('}').toString();
+  }
+
+  private static String metricsJson() {
+    CommandMetrics metrics = CommandMetrics.getInstance();
+    StringBuilder json = new StringBuilder("{\"queryCache\":{\"hits\":")
+        .append(metrics.getQueryCacheHits())
+        .append(",\"misses\":").append(metrics.getQueryCacheMisses())
+        .append(",\"evictions\":").append(metrics.getQueryCacheEvictions())
+        .append("},\"commands\":{");
+    String separator = "";
+    for (Map.Entry<String, CommandStatistics> entry
+        : metrics.getCommands().entrySet()) {
+      CommandStatistics stats = entry.getValue();
+      json.append(separator);
+      string(json, entry.getKey());
+      json.append(":{\"count\":").append(stats.getCount())
+          .append(",\"errors\":").append(stats.getErrors())
+          .append(",\"meanMicros\":").append(number(stats.getMeanMicros()))
+          .append(",\"p50Micros\":").append(number(stats.getP50Micros()))
+          .append(",\"p90Micros\":").append(number(stats.getP90Micros()))
+          .append(",\"p99Micros\":").append(number(stats.getP99Micros()))
+          .append(",\"maxMicros\":").append(number(stats.getMaxMicros())).append('}');
+      separator = ",";
+    }
+    return json.append("}}").toString();
+  }
+
+  private static void events(StringBuilder json, List<Event> events) {
+    json.append(",\"events\":[");
+    String separator = "";
+    for (Event event : events) {
+      json.append(separator).append("{\"subject\":");
+      string(json, event.getSubject());
+      json.append(",\"start\":");
+      string(json, LocalDateTime.of(event.getStartDate(), event.getStartTime()).toString());
+      json.append(",\"end\":");
+      string(json, LocalDateTime.of(event.getEndDate(), event.getEndTime()).toString());
+      json.append(",\"description\":");
+      string(json, event.getDescription());
+      json.append(",\"location\":");
+      string(json, event.getLocation());
+      json.append(",\"status\":");
+      string(json, event.getStatus());
+      json.append(",\"seriesId\":");
+      string(json, event.getEventSeriesId());
+      json.append('}');
+      separator = ",";
+    }
+    json.append(']');
+  }
+
+  private static void intervals(StringBuilder json, List<LocalDateTime[]> intervals) {
+    json.append('[');
+    String separator = "";
+    for (LocalDateTime[] interval : intervals) {
+      json.append(separator).append("{\"start\":");
+      string(json, interval[0].toString());
+      json.append(",\"end\":");
+      string(json, interval[1].toString());
+      json.append('}');
+      separator = ",";
+    }
+    json.append(']');
+  }
+
+  private static void string(StringBuilder json, String value) {
+    if (value == null) {
+      json.append("null");
+      return;
+    }
+    json.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        json.append('\\').append(c);
+      } else if (c == '\n') {
+        json.append("\\n");
+      } else if (c < 0x20) {
+        json.append(String.format("\\u%04x", (int) c));
+      } else {
+        json.append(c);
+      }
+    }
+    json.append('"');
+  }
+
+  private static String number(double value) {
+    return Double.isFinite(value) ? String.valueOf(value) : "null";
+  }
+
+  private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+    return a.isAfter(b) ? a : b;
+  }
+
+  private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+    return a.isBefore(b) ? a : b;
+  }
+
+  private static Map<String, String> queryOf(HttpExchange exchange) {
+    Map<String, String> query = new HashMap<>();
+    String raw = exchange.getRequestURI().getRawQuery();
+    if (raw == null || raw.isEmpty()) {
+      return query;
+    }
+    for (String pair : raw.split("&")) {
+      int equals = pair.indexOf('=');
+      String name = equals < 0 ? pair : pair.substring(0, equals);
+      String value = equals < 0 ? "" : pair.substring(equals + 1);
+      query.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+          URLDecoder.decode(value, StandardCharsets.UTF_8));
+    }
+    return query;
+  }
+
+  private static String required(Map<String, String> query, String name) {
+    String value = query.get(name);
+    if (value == null || value.isEmpty()) {
+      throw new IllegalArgumentException("Missing query parameter: " + name);
+    }
+    return value;
+  }
+
+  private static LocalDateTime optionalDateTime(Map<String, String> query, String name) {
+    String value = query.get(name);
+    return value == null || value.isEmpty() ? null : LocalDateTime.parse(value);
+  }
+
+  private static Response json(String body) {
+    return new Response(200, JSON, body);
+  }
+
+  private static Response error(int status, String message) {
+    StringBuilder json = new StringBuilder("{\"error\":");
+    string(json, message);
+    return new Response(status, JSON, json.append('}').toString());
+  }
+
+  /**
+   * Gets an executor running every request on a virtual thread of its own, looked up by
+   * name to run on Java 11, or else a fixed pool of threads.
+   */
+
+  private static ExecutorService executor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+          .invoke(null);
+    } catch (ReflectiveOperationException e) {
+      AtomicInteger threads = new AtomicInteger();
+      return Executors.newFixedThreadPool(THREADS, task -> {
+        Thread thread = new Thread(task, "calendar-http-" + threads.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+  }
+
+  /**
+   * Calendars as published to the readers, with the name of the calendar in use.
+   */
+
+  private static final class Snapshot {
+    private final Map<String, Published> calendars;
+    private final String currentName;
+
+    Snapshot(Map<String, Published> calendars, String currentName) {
+      this.calendars = calendars;
+      this.currentName = currentName;
+    }
+  }
+
+  /**
+   * Copy-on-write clone of a calendar, with the calendar and version it was cloned from.
+   */
+
+  private static final class Published {
+    private final Calendar source;
+    private final long version;
+    private final Calendar copy;
+
+    Published(Calendar source) {
+      this.source = source;
+      this.version = source.getVersion();
+      this.copy = new CalendarImpl(source);
+    }
+  }
+
+  /**
+   * Status, content type and body of a response.
+   */
+
+  private static final class Response {
+    private final int status;
+    private final String contentType;
+    private final String body;
+
+    Response(int status, String contentType, String body) {
+      this.status = status;
+      this.contentType = contentType;
+      this.body = body;
+    }
+  }
+}
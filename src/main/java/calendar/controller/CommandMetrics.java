@@ -0,0 +1,216 @@
+package calendar.controller;
+
+import calendar.model.modelimplementations.QueryCache;
+import calendar.model.modelinterfaces.Calendar;
+import calendar.model.modelinterfaces.CalendarManager;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Counters and latency histograms of the commands run by the controllers, one set per
+ * command type, shared by every controller of the application.
+ * Recording never locks, so the controllers pay a few atomic increments per command. The
+ * metrics are exposed through {@link CommandMetricsMXBean} once {@link #register} is
+ * called, along with the event counts of every calendar of the watched calendar manager
+ * and the counters of the query caches of the calendars.
+ *
+ */
+
+public class CommandMetrics implements CommandMetricsMXBean {
+
+  public static final String OBJECT_NAME = "calendar:type=CommandMetrics";
+
+  private static final CommandMetrics INSTANCE = new CommandMetrics();
+  private static final int SNAPSHOT_ATTEMPTS = 3;
+
+  private final Map<String, CommandType> commandTypes;
+  private volatile CalendarManager calendarManager;
+
+  /**
+   * Constructs metrics with no recorded commands, mostly for tests, as the controllers
+   * record into {@link #getInstance()}.
+   */
+
+  public CommandMetrics() {
+    this.commandTypes = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Gets the metrics the controllers record into.
+   *
+   * @return the shared metrics
+   */
+
+  public static CommandMetrics getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Registers the shared metrics on the platform MBean server, replacing any metrics
+   * registered before, and watches the calendars of the given calendar manager.
+   *
+   * @param calendarManager calendar manager whose event counts are exposed
+   */
+
+  public static void register(CalendarManager calendarManager) {
+    INSTANCE.calendarManager = calendarManager;
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName(OBJECT_NAME);
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+      server.registerMBean(INSTANCE, name);
+    } catch (JMException e) {
+      System.out.println("Could not register command metrics: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Gets the type of a command line, its first two words, with creations of series told
+   * apart from creations of single events.
+   *
+   * @param command the command line
+   * @return the command type
+   */
+
+  public static String commandType(String command) {
+    String[] words = command.trim().split("\\s+", 3);
+    String type = words.length > 1 ? words[0] + " " + words[1] : words[0];
+    if (type.equals("create event") && command.contains(" repeats ")) {
+      return "create series";
+    }
+    return type;
+  }
+
+  /**
+   * Records one run of a command.
+   *
+   * @param type   the command type
+   * @param nanos  how long the command took in nanoseconds
+   * @param failed whether the command failed
+   */
+
+  public void record(String type, long nanos, boolean failed) {
+    CommandType stats = commandTypes.computeIfAbsent(type, k -> new CommandType());
+    stats.latencies.record(nanos);
+    if (failed) {
+      stats.errors.increment();
+    }
+  }
+
+  /**
+   * Runs a handler of the GUI and records it under the given command type, as failed if
+   * it throws.
+   *
+   * @param type    the command type
+   * @param handler the handler to run
+   */
+
+  public void time(String type, Runnable handler) {
+    long start = System.nanoTime();
+    boolean failed = true;
+    try {
+      handler.run();
+      failed = false;
+    } finally {
+      record(type, System.nanoTime() - start, failed);
+    }
+  }
+
+  @Override
+  public Map<String, CommandStatistics> getCommands() {
+    Map<String, CommandStatistics> commands = new TreeMap<>();
+    for (Map.Entry<String, CommandType> entry : commandTypes.entrySet()) {
+      CommandType stats = entry.getValue();
+      commands.put(entry.getKey(), new CommandStatistics(stats.errors.sum(), stats.latencies));
+    }
+    return commands;
+  }
+
+  /**
+   * Gets the number of events of every calendar. The calendars are read while the
+   * controller may be changing them, so a read which runs into a concurrent change is
+   * retried a few times before giving up with the counts read so far.
+   *
+   * @return event counts keyed by calendar name
+   */
+
+  @Override
+  public Map<String, Integer> getCalendarEventCounts() {
+    Map<String, Integer> counts = new TreeMap<>();
+    CalendarManager manager = calendarManager;
+    if (manager == null) {
+      return counts;
+    }
+    for (int attempt = 0; attempt < SNAPSHOT_ATTEMPTS; attempt++) {
+      try {
+        counts.clear();
+        List<Calendar> calendars = new ArrayList<>(manager.getCalendarManagerStore().values());
+        for (Calendar calendar : calendars) {
+          counts.put(calendar.getCalendarName(), calendar.getCalendarStore().size());
+        }
+        return counts;
+      } catch (ConcurrentModificationException e) {
+        // the controller changed the calendars while reading them, read them again
+      }
+    }
+    return counts;
+  }
+
+  @Override
+  public long getTotalCommands() {
+    long total = 0;
+    for (CommandType stats : commandTypes.values()) {
+      total += stats.latencies.getCount();
+    }
+    return total;
+  }
+
+  @Override
+  public long getTotalErrors() {
+    long total = 0;
+    for (CommandType stats : commandTypes.values()) {
+      total += stats.errors.sum();
+    }
+    return total;
+  }
+
+  @Override
+  public long getQueryCacheHits() {
+    return QueryCache.getHits();
+  }
+
+  @Override
+  public long getQueryCacheMisses() {
+    return QueryCache.getMisses();
+  }
+
+  @Override
+  public long getQueryCacheEvictions() {
+    return QueryCache.getEvictions();
+  }
+
+  @Override
+  public void reset() {
+    commandTypes.clear();
+  }
+
+  /**
+   * Error counter and latency histogram of one command type.
+   */
+
+  private static class CommandType {
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+  }
+}
@@ -0,0 +1,78 @@
+package calendar.controller;
+
+import java.util.Map;
+
+/**
+ * Management interface of the command metrics, registered on the platform MBean server as
+ * "calendar:type=CommandMetrics" so that JConsole, VisualVM or any JMX client can read it
+ * from a running calendar.
+ *
+ */
+
+public interface CommandMetricsMXBean {
+
+  /**
+   * Gets the statistics of every command type run so far, such as "create event",
+   * "edit series" or "gui createEvent".
+   *
+   * @return statistics keyed by command type
+   */
+
+  Map<String, CommandStatistics> getCommands();
+
+  /**
+   * Gets the number of events of every calendar of the watched calendar manager.
+   *
+   * @return event counts keyed by calendar name, empty if no calendar manager is watched
+   */
+
+  Map<String, Integer> getCalendarEventCounts();
+
+  /**
+   * Gets the number of commands run so far, of every type.
+   *
+   * @return the number of commands
+   */
+
+  long getTotalCommands();
+
+  /**
+   * Gets the number of commands which failed so far, of every type.
+   *
+   * @return the number of failed commands
+   */
+
+  long getTotalErrors();
+
+  /**
+   * Gets the number of schedule, day and status queries of the calendars answered from
+   * their query caches so far.
+   *
+   * @return the number of cache hits
+   */
+
+  long getQueryCacheHits();
+
+  /**
+   * Gets the number of schedule, day and status queries of the calendars which were run
+   * because their result was not cached.
+   *
+   * @return the number of cache misses
+   */
+
+  long getQueryCacheMisses();
+
+  /**
+   * Gets the number of query results evicted from full query caches so far.
+   *
+   * @return the number of cache evictions
+   */
+
+  long getQueryCacheEvictions();
+
+  /**
+   * Clears the statistics of every command type.
+   */
+
+  void reset();
+}
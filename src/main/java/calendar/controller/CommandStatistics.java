@@ -0,0 +1,111 @@
+package calendar.controller;
+
+/**
+ * Statistics of one command type at the time they were read: how often it ran, how often
+ * it failed and its latencies in microseconds.
+ *
+ */
+
+public class CommandStatistics {
+
+  private final long count;
+  private final long errors;
+  private final double meanMicros;
+  private final double p50Micros;
+  private final double p90Micros;
+  private final double p99Micros;
+  private final double maxMicros;
+
+  /**
+   * Constructs the statistics of a command type from its counters and latency histogram.
+   *
+   * @param errors    number of failed commands
+   * @param latencies latencies of the commands
+   */
+
+  public CommandStatistics(long errors, LatencyHistogram latencies) {
+    this.count = latencies.getCount();
+    this.errors = errors;
+    this.meanMicros = latencies.getMean() / 1e3;
+    this.p50Micros = latencies.getPercentile(50) / 1e3;
+    this.p90Micros = latencies.getPercentile(90) / 1e3;
+    this.p99Micros = latencies.getPercentile(99) / 1e3;
+    this.maxMicros = latencies.getMax() / 1e3;
+  }
+
+  /**
+   * Gets the number of commands run.
+   *
+   * @return the number of commands
+   */
+
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Gets the number of commands which failed.
+   *
+   * @return the number of failed commands
+   */
+
+  public long getErrors() {
+    return errors;
+  }
+
+  /**
+   * Gets the mean latency.
+   *
+   * @return the mean latency in microseconds
+   */
+
+  public double getMeanMicros() {
+    return meanMicros;
+  }
+
+  /**
+   * Gets the median latency.
+   *
+   * @return the median latency in microseconds
+   */
+
+  public double getP50Micros() {
+    return p50Micros;
+  }
+
+  /**
+   * Gets the 90th percentile latency.
+   *
+   * @return the 90th percentile latency in microseconds
+   */
+
+  public double getP90Micros() {
+    return p90Micros;
+  }
+
+  /**
+   * Gets the 99th percentile latency.
+   *
+   * @return the 99th percentile latency in microseconds
+   */
+
+  public double getP99Micros() {
+    return p99Micros;
+  }
+
+  /**
+   * Gets the largest latency.
+   *
+   * @return the largest latency in microseconds
+   */
+
+  public double getMaxMicros() {
+    return maxMicros;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("count=%d errors=%d mean=%.1fus p50=%.1fus p90=%.1fus p99=%.1fus"
+        + " max=%.1fus", count, errors, meanMicros, p50Micros, p90Micros, p99Micros, maxMicros);
+  }
+}
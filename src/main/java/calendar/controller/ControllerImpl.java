@@ -7,11 +7,17 @@ import calendar.commandobject.copy.ExecutableCopyCommand;
 import calendar.commandobject.create.ExecutableCreateCommand;
 import calendar.commandobject.editcommand.ExecutableEditCommand;
 import calendar.commandobject.exportcommand.ExportCalendarCommand;
+import calendar.commandobject.showcommand.CountEventsCommand;
 import calendar.commandobject.showcommand.PrintEventsCommand;
+import calendar.commandobject.showcommand.ReportConflictsCommand;
 import calendar.commandobject.showcommand.ShowStatusCommand;
+import calendar.commandobject.undocommand.RedoCommand;
+import calendar.commandobject.undocommand.UndoCommand;
 import calendar.commandobject.usecommandobject.UseCalendarCommand;
 import calendar.model.modelinterfaces.Calendar;
 import calendar.model.modelinterfaces.CalendarManager;
+import calendar.utility.jfr.CommandExecuteEvent;
+import calendar.utility.jfr.CommandParseEvent;
 import calendar.view.ViewInterface;
 import java.io.BufferedReader;
 import java.io.FileReader;
@@ -103,19 +109,36 @@ public class ControllerImpl implements CalendarController {
 
   @Override
   public void processCommands(String command) {
-
     String commandType = command.split(" ")[0].trim();
+    long start = System.nanoTime();
+    boolean succeeded = false;
+    try {
+      succeeded = dispatch(command, commandType);
+    } finally {
+      CommandMetrics.getInstance().record(knownCommands.containsKey(commandType)
+              ? CommandMetrics.commandType(command) : "invalid command",
+          System.nanoTime() - start, !succeeded);
+    }
+  }
 
+  /**
+   * Runs a command line.
+   *
+   * @param command     the command line
+   * @param commandType first word of the command line
+   * @return false if the command is unknown or needs a calendar when none is selected
+   */
+
+  private boolean dispatch(String command, String commandType) {
     BiFunction<String, CalendarManager, Command> commandOb = knownCommands.get(commandType);
 
     if (commandOb == null) {
       printErrorMessage(command, "Invalid command");
-      return;
+      return false;
     }
 
     if (commandType.equals("create") || commandType.equals("use")) {
-      Command c = commandOb.apply(command, calendarManager);
-      c.execute();
+      execute(command, parse(command, commandOb));
 
       if (commandType.equals("use")) {
         String calendarName = getCalendarNameFromCommand(command);
@@ -124,7 +147,7 @@ public class ControllerImpl implements CalendarController {
           this.calendar = selectedCalendar;
         }
       }
-      return;
+      return true;
     }
 
     if (this.calendar == null) {
@@ -142,12 +165,59 @@ public class ControllerImpl implements CalendarController {
           +
           System.lineSeparator());
 
-      return;
+      return false;
     }
 
 
+    execute(command, parse(command, commandOb));
+    return true;
+  }
+
+  /**
+   * Creates the command object of a command line, recorded as a CommandParseEvent.
+   */
+
+  private Command parse(String command, BiFunction<String, CalendarManager, Command> commandOb) {
+    CommandParseEvent event = new CommandParseEvent();
+    event.begin();
     Command c = commandOb.apply(command, calendarManager);
-    c.execute();
+    if (event.shouldCommit()) {
+      event.calendarName = currentCalendarName();
+      event.commandType = CommandMetrics.commandType(command);
+      event.commit();
+    }
+    return c;
+  }
+
+  /**
+   * Runs a command object, recorded as a CommandExecuteEvent and, unless it is an undo or
+   * redo, as a step of the undo history.
+   */
+
+  private void execute(String command, Command c) {
+    CommandExecuteEvent event = new CommandExecuteEvent();
+    event.begin();
+    boolean succeeded = false;
+    try {
+      if (c instanceof UndoCommand || c instanceof RedoCommand) {
+        c.execute();
+      } else {
+        calendarManager.recordOperation(command, c::execute);
+      }
+      succeeded = true;
+    } finally {
+      if (event.shouldCommit()) {
+        event.calendarName = currentCalendarName();
+        event.commandType = CommandMetrics.commandType(command);
+        event.succeeded = succeeded;
+        event.commit();
+      }
+    }
+  }
+
+  private String currentCalendarName() {
+    return calendar != null ? calendar.getCalendarName()
+        : calendarManager.getCurrentCalendarName();
   }
 
 
@@ -227,12 +297,23 @@ public class ControllerImpl implements CalendarController {
     writeMessage("• show status on <dateTimeString> - Shows if you are busy or available at "
         + "specific time"
         + System.lineSeparator());
+    writeMessage("• count events from <dateString> to <dateString> [by day|week|month] - "
+        + "Counts the events starting in the date range"
+        + System.lineSeparator());
+    writeMessage("• report conflicts [from <dateString> to <dateString>] - Lists every pair "
+        + "of overlapping events"
+        + System.lineSeparator());
     writeMessage(System.lineSeparator());
 
     writeMessage("Miscellaneous Commands:" + System.lineSeparator());
     writeMessage("• export cal <fileName.csv> - Exports calendar to Google Calendar "
         + "compatible CSV file"
         + System.lineSeparator());
+    writeMessage("• export all <format> - Exports every calendar to its own file in parallel"
+        + System.lineSeparator());
+    writeMessage("• undo - Undoes the last command which changed events"
+        + System.lineSeparator());
+    writeMessage("• redo - Redoes the last undone command" + System.lineSeparator());
     writeMessage("• exit - Stops listening for further commands and quits the application"
         + System.lineSeparator());
     writeMessage(System.lineSeparator());
@@ -301,6 +382,12 @@ public class ControllerImpl implements CalendarController {
     knownCommands.put("show", (command, obj) ->
         new ShowStatusCommand(command, calendarManager));
 
+    knownCommands.put("count", (command, obj) ->
+        new CountEventsCommand(command, calendarManager));
+
+    knownCommands.put("report", (command, obj) ->
+        new ReportConflictsCommand(command, calendarManager));
+
     knownCommands.put("export", (command, obj) ->
         new ExportCalendarCommand(command, calendarManager));
 
@@ -310,5 +397,11 @@ public class ControllerImpl implements CalendarController {
     knownCommands.put("use", (command, obj) ->
         new UseCalendarCommand(command, calendarManager));
 
+    knownCommands.put("undo", (command, obj) ->
+        new UndoCommand(command, calendarManager));
+
+    knownCommands.put("redo", (command, obj) ->
+        new RedoCommand(command, calendarManager));
+
   }
 }
@@ -0,0 +1,206 @@
+package calendar.controller;
+
+import calendar.model.modelimplementations.CalendarImpl;
+import calendar.model.modelinterfaces.Calendar;
+import calendar.model.modelinterfaces.Event;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+
+/**
+ * Search of the events of a calendar by subject, ignoring case, as the search field of
+ * the GUI is typed in. Events whose subject is the search term come first, then those
+ * starting with it, then those containing it, each in start order, and only the first
+ * {@link #MAX_RESULTS} are kept.
+ * Keystrokes are debounced, so a search only starts once typing pauses, and starting a
+ * search cancels the one in flight. A search scans a copy-on-write clone of the calendar
+ * on a background thread and streams the results found so far to the event dispatch
+ * thread, so typing never waits for a scan of a large calendar.
+ *
+ */
+
+final class EventSearch {
+
+  static final int DEBOUNCE_MILLIS = 250;
+  static final int MAX_RESULTS = 200;
+
+  private static final int EVENTS_PER_UPDATE = 4096;
+
+  private final Timer debounce;
+  private Calendar pendingCalendar;
+  private String pendingTerm;
+  private BiConsumer<List<Event>, String> pendingConsumer;
+  private SwingWorker<List<Event>, List<Event>> running;
+
+  /**
+   * Constructs a search with no search pending.
+   */
+
+  EventSearch() {
+    this.debounce = new Timer(DEBOUNCE_MILLIS, e -> start());
+    this.debounce.setRepeats(false);
+  }
+
+  /**
+   * Searches the events of a calendar once typing pauses, cancelling any search pending
+   * or in flight. Must be called on the event dispatch thread, which the results are
+   * handed to, possibly several times as they are found.
+   *
+   * @param calendar  the calendar to search
+   * @param term      the search term, an empty term only cancelling the search
+   * @param onResults consumer of the results found so far and the search term
+   */
+
+  void searchLater(Calendar calendar, String term, BiConsumer<List<Event>, String> onResults) {
+    cancel();
+    if (term.isEmpty()) {
+      return;
+    }
+    pendingCalendar = calendar;
+    pendingTerm = term;
+    pendingConsumer = onResults;
+    debounce.restart();
+  }
+
+  /**
+   * Cancels the search pending or in flight, if any.
+   */
+
+  void cancel() {
+    debounce.stop();
+    if (running != null) {
+      running.cancel(false);
+      running = null;
+    }
+  }
+
+  /**
+   * Searches events, on the calling thread.
+   *
+   * @param events the events to search, in start order
+   * @param term   the search term
+   * @return the first matching events, best matches first
+   */
+
+  static List<Event> find(Iterable<Event> events, String term) {
+    Matches matches = new Matches(term);
+    for (Event event : events) {
+      if (matches.add(event)) {
+        break;
+      }
+    }
+    return matches.top();
+  }
+
+  private void start() {
+    Calendar snapshot = new CalendarImpl(pendingCalendar);
+    String term = pendingTerm;
+    BiConsumer<List<Event>, String> onResults = pendingConsumer;
+
+    running = new SwingWorker<List<Event>, List<Event>>() {
+      @Override
+      protected List<Event> doInBackground() {
+        Matches matches = new Matches(term);
+        int scanned = 0;
+        int published = 0;
+        for (Event event : snapshot.getEventsStartingBetween(null, null)) {
+          if (isCancelled()) {
+            return null;
+          }
+          if (matches.add(event)) {
+            break;
+          }
+          if (++scanned % EVENTS_PER_UPDATE == 0 && matches.size() != published) {
+            published = matches.size();
+            publish(matches.top());
+          }
+        }
+        return matches.top();
+      }
+
+      @Override
+      protected void process(List<List<Event>> found) {
+        if (!isCancelled()) {
+          onResults.accept(found.get(found.size() - 1), term);
+        }
+      }
+
+      @Override
+      protected void done() {
+        if (isCancelled()) {
+          return;
+        }
+        try {
+          onResults.accept(get(), term);
+        } catch (InterruptedException | ExecutionException e) {
+          System.out.println("Search failed: " + e.getMessage());
+        }
+      }
+    };
+    running.execute();
+  }
+
+  /**
+   * Matching events found so far, by how well their subject matches the search term.
+   */
+
+  private static final class Matches {
+    private final String term;
+    private final List<Event> exact = new ArrayList<>();
+    private final List<Event> prefix = new ArrayList<>();
+    private final List<Event> contains = new ArrayList<>();
+
+    Matches(String term) {
+      this.term = term;
+    }
+
+    /**
+     * Adds an event if it matches and could be among the first results.
+     *
+     * @return whether the first results are all exact matches, so no event can be added
+     */
+
+    boolean add(Event event) {
+      String subject = event.getSubject();
+      if (subject.equalsIgnoreCase(term)) {
+        exact.add(event);
+      } else if (exact.size() + prefix.size() < MAX_RESULTS
+          && subject.regionMatches(true, 0, term, 0, term.length())) {
+        prefix.add(event);
+      } else if (exact.size() + prefix.size() + contains.size() < MAX_RESULTS
+          && containsIgnoreCase(subject, term)) {
+        contains.add(event);
+      }
+      return exact.size() >= MAX_RESULTS;
+    }
+
+    int size() {
+      return exact.size() + prefix.size() + contains.size();
+    }
+
+    List<Event> top() {
+      List<Event> top = new ArrayList<>(Math.min(size(), MAX_RESULTS));
+      for (List<Event> matches : List.of(exact, prefix, contains)) {
+        for (Event event : matches) {
+          if (top.size() == MAX_RESULTS) {
+            return top;
+          }
+          top.add(event);
+        }
+      }
+      return top;
+    }
+
+    private static boolean containsIgnoreCase(String subject, String term) {
+      for (int i = 1; i + term.length() <= subject.length(); i++) {
+        if (subject.regionMatches(true, i, term, 0, term.length())) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
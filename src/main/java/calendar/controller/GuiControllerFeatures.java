@@ -32,6 +32,15 @@ public interface GuiControllerFeatures {
 
   void handleDateClicked();
 
+  /**
+   * Handles the action when a month is shown in the calendar grid.
+   * Loads the number and subjects of the events of every day of the month in the
+   * background and shows them in the grid when ready.
+   *
+   */
+
+  void handleMonthShown();
+
   /**
    * Handles the action create event button is clicked.
    * Shows the create event dialog box.
@@ -144,10 +153,36 @@ public interface GuiControllerFeatures {
   void handleEditCalendarTimezoneClicked(String calendarName, String newTimezone);
 
   /**
-   * Handles the action, when search field is entered a value an enter is clicked.
+   * Searches the events whose subject matches the search term, ignoring case, and shows
+   * them at once. Exact matches come first, then subjects starting with the term, then
+   * subjects containing it.
    *
    * @param searchTerm the input filed in search text box
    */
 
   void handleSearchEvents(String searchTerm);
+
+  /**
+   * Handles the action, when the text of the search field changes or enter is clicked.
+   * Searches the events as handleSearchEvents does once typing pauses, in the background,
+   * showing the results as they are found, and cancels the previous search.
+   * An empty search term only cancels the previous search.
+   *
+   * @param searchTerm the input filed in search text box
+   */
+
+  void handleSearchTyped(String searchTerm);
+
+  /**
+   * Handles the action, when the undo button is clicked. Undoes the last change made to
+   * the events of the calendars.
+   */
+
+  void handleUndoClicked();
+
+  /**
+   * Handles the action, when the redo button is clicked. Redoes the last undone change.
+   */
+
+  void handleRedoClicked();
 }
\ No newline at end of file
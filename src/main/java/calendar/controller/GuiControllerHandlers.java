@@ -2,21 +2,22 @@ package calendar.controller;
 
 import static calendar.commandobject.ExtractCommandHelper.parseWeekdays;
 
-import calendar.commandobject.editcommand.EditEventsCommand;
-import calendar.commandobject.editcommand.EditSeriesCommand;
+import calendar.commandobject.editcommand.PropertyEdit;
 import calendar.model.modelimplementations.CalendarImpl;
 import calendar.model.modelinterfaces.Calendar;
 import calendar.model.modelinterfaces.CalendarManager;
 import calendar.model.modelinterfaces.Event;
 import calendar.model.modelutility.EventKey;
+import calendar.model.modelutility.MonthSummary;
 import calendar.utility.GenerateSeriesId;
 import calendar.view.ViewInterface;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.time.ZoneId;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -28,6 +29,8 @@ import java.util.Objects;
 public class GuiControllerHandlers implements GuiControllerFeatures {
   private ViewInterface view;
   private CalendarManager calendarManager;
+  private final MonthSummaryCache monthSummaries = new MonthSummaryCache();
+  private final EventSearch search = new EventSearch();
 
   /**
    * Constructs the calendar GUI controller object with connection to model.
@@ -58,6 +61,19 @@ public class GuiControllerHandlers implements GuiControllerFeatures {
     currentCalendar.saveEvent(event);
   }
 
+  /**
+   * Runs an operation as a step of the undo history, timed under the given metric, then
+   * enables the undo and redo buttons of the view as the history allows and refreshes the
+   * month grid.
+   */
+
+  private void recordOperation(String metric, String description, Runnable operation) {
+    CommandMetrics.getInstance().time(metric,
+        () -> calendarManager.recordOperation(description, operation));
+    view.setUndoRedoEnabled(calendarManager.canUndo(), calendarManager.canRedo());
+    handleMonthShown();
+  }
+
   @Override
   public void setView(ViewInterface v) {
     view = v;
@@ -78,16 +94,33 @@ public class GuiControllerHandlers implements GuiControllerFeatures {
 
   @Override
   public void handleDateClicked() {
-    Calendar currentCalendar = calendarManager.getCalendar(
-        calendarManager.getCurrentCalendarName());
+    CommandMetrics.getInstance().time("gui showDay", () -> {
+      Calendar currentCalendar = calendarManager.getCalendar(
+          calendarManager.getCurrentCalendarName());
 
-    LocalDate currentDate = view.getCurrentDate();
-    System.out.println(currentDate);
+      LocalDate currentDate = view.getCurrentDate();
+      System.out.println(currentDate);
 
-    List<Event> events = currentCalendar.getEventsForDate(currentDate);
+      List<Event> events = currentCalendar.getEventsForDate(currentDate);
 
-    view.showEventsOfTheDay(events);
+      view.showEventsOfTheDay(events);
+    });
+  }
 
+  @Override
+  public void handleMonthShown() {
+    Calendar currentCalendar = calendarManager.getCalendar(
+        calendarManager.getCurrentCalendarName());
+    if (currentCalendar == null) {
+      return;
+    }
+    YearMonth month = view.getCurrentMonth();
+    monthSummaries.load(currentCalendar, month, (MonthSummary summary) -> {
+      if (calendarManager.getCalendar(calendarManager.getCurrentCalendarName())
+          == currentCalendar) {
+        view.showMonthSummary(summary);
+      }
+    });
   }
 
   @Override
@@ -98,115 +131,133 @@ public class GuiControllerHandlers implements GuiControllerFeatures {
 
   @Override
   public void handleDialogBoxCreateEvent(Map<String, Object> parameterMap) {
+    recordOperation("gui createEvent", "create event", () -> {
+      Calendar currentCalendar = calendarManager
+          .getCalendar(calendarManager.getCurrentCalendarName());
 
-    Calendar currentCalendar = calendarManager
-        .getCalendar(calendarManager.getCurrentCalendarName());
+      if (Objects.isNull(parameterMap)) {
+        handleCreateEventClicked();
+      }
 
-    if (Objects.isNull(parameterMap)) {
-      handleCreateEventClicked();
-    }
+      LocalDateTime start =
+          LocalDateTime.of(LocalDate.parse(parameterMap.get("startDate").toString()),
+              LocalTime.parse(parameterMap.get("startTime").toString()));
 
-    LocalDateTime start =
-        LocalDateTime.of(LocalDate.parse(parameterMap.get("startDate").toString()),
-            LocalTime.parse(parameterMap.get("startTime").toString()));
+      LocalDateTime end = LocalDateTime.of(LocalDate.parse(parameterMap.get("endDate").toString()),
+          LocalTime.parse(parameterMap.get("endTime").toString()));
 
-    LocalDateTime end = LocalDateTime.of(LocalDate.parse(parameterMap.get("endDate").toString()),
-        LocalTime.parse(parameterMap.get("endTime").toString()));
 
+      if (parameterMap.get("isRecurring").equals(true)) {
 
-    if (parameterMap.get("isRecurring").equals(true)) {
+        String seriesId = GenerateSeriesId.generateSeriesId();
 
-      String seriesId = GenerateSeriesId.generateSeriesId();
+        Event event =
+            currentCalendar.createEvent(parameterMap.get("name").toString(), start, end, seriesId,
+                parameterMap.get("location").toString(), parameterMap.get("status").toString(),
+                parameterMap.get("description").toString());
 
-      Event event =
-          currentCalendar.createEvent(parameterMap.get("name").toString(), start, end, seriesId,
-              parameterMap.get("location").toString(), parameterMap.get("status").toString(),
-              parameterMap.get("description").toString());
+        validateEvent(event, currentCalendar);
 
-      validateEvent(event, currentCalendar);
+        if (!parameterMap.get("numberOfTimes").equals(0)) {
 
-      if (!parameterMap.get("numberOfTimes").equals(0)) {
+          currentCalendar.createSeries(event,
+              (Integer) parameterMap.get("numberOfTimes"),
+              parseWeekdays(
+                  parameterMap.get("repeatsPattern").toString()),
+              null);
 
-        currentCalendar.createSeries(event,
-            (Integer) parameterMap.get("numberOfTimes"),
-            parseWeekdays(
-                parameterMap.get("repeatsPattern").toString()),
-            null);
+        } else {
+          LocalDate lastDate = LocalDate.parse(parameterMap.get("lastDate").toString());
+          currentCalendar.createSeries(event,
+              0,
+              parseWeekdays(parameterMap.get("repeatsPattern").toString()),
+              lastDate);
+        }
 
       } else {
-        LocalDate lastDate = LocalDate.parse(parameterMap.get("lastDate").toString());
-        currentCalendar.createSeries(event,
-            0,
-            parseWeekdays(parameterMap.get("repeatsPattern").toString()),
-            lastDate);
-      }
+        Event event =
+            currentCalendar.createEvent(parameterMap.get("name").toString(), start, end, null,
+                parameterMap.get("location").toString(), parameterMap.get("status").toString(),
+                parameterMap.get("description").toString());
 
-    } else {
-      Event event =
-          currentCalendar.createEvent(parameterMap.get("name").toString(), start, end, null,
-              parameterMap.get("location").toString(), parameterMap.get("status").toString(),
-              parameterMap.get("description").toString());
-
-      validateEvent(event, currentCalendar);
-    }
+        validateEvent(event, currentCalendar);
+      }
 
-    handleDateClicked();
+      handleDateClicked();
+    });
   }
 
 
   @Override
   public void handleEditEventClicked(Map<String, Object> updatedEventData) {
-    Calendar currentCalendar = calendarManager
-        .getCalendar(calendarManager.getCurrentCalendarName());
-
-
-    Event event = currentCalendar.getEvent(
-        updatedEventData.get("name").toString(),
-        LocalDate.parse(updatedEventData.get("startDate").toString()),
-        LocalDate.parse(updatedEventData.get("endDate").toString()),
-        LocalTime.parse(updatedEventData.get("startTime").toString()),
-        LocalTime.parse(updatedEventData.get("endTime").toString())
-    );
-
-    if (event == null) {
-      LocalDate currentDate = view.getCurrentDate();
-      List<Event> eventsForDay = currentCalendar.getEventsForDate(currentDate);
-
-      if (!eventsForDay.isEmpty()) {
-        event = eventsForDay.get(0);
+    recordOperation("gui editEvent", "edit event", () -> {
+      Calendar currentCalendar = calendarManager
+          .getCalendar(calendarManager.getCurrentCalendarName());
+
+
+      Event event = currentCalendar.getEvent(
+          updatedEventData.get("name").toString(),
+          LocalDate.parse(updatedEventData.get("startDate").toString()),
+          LocalDate.parse(updatedEventData.get("endDate").toString()),
+          LocalTime.parse(updatedEventData.get("startTime").toString()),
+          LocalTime.parse(updatedEventData.get("endTime").toString())
+      );
+
+      if (event == null) {
+        LocalDate currentDate = view.getCurrentDate();
+        List<Event> eventsForDay = currentCalendar.getEventsForDate(currentDate);
+
+        if (!eventsForDay.isEmpty()) {
+          Event first = eventsForDay.get(0);
+          event = currentCalendar.getEvent(first.getSubject(), first.getStartDate(),
+              first.getEndDate(), first.getStartTime(), first.getEndTime());
+        }
       }
-    }
 
-    if (event == null) {
-      view.showEventExistsError(event, true, false);
-      return;
-    }
-
-    if (event.getEventSeriesId() != null
-        && (updatedEventData.containsKey("editAllEvents")
-        || updatedEventData.containsKey("editThisAndFuture"))) {
-      handleEditSeriesClicked(updatedEventData);
-      return;
-    }
+      if (event == null) {
+        view.showEventExistsError(event, true, false);
+        return;
+      }
 
-    event.modifySubject(updatedEventData.get("name").toString());
-    event.modifyStatus(updatedEventData.get("status").toString());
-    event.modifyStartDate(LocalDate.parse(updatedEventData.get("startDate").toString()));
-    event.modifyEndDate(LocalDate.parse(updatedEventData.get("endDate").toString()));
-    event.modifyLocation(updatedEventData.get("location").toString());
-    event.modifyDescription(updatedEventData.get("description").toString());
-    event.modifyStartTime(LocalTime.parse(updatedEventData.get("startTime").toString()));
-    event.modifyEndTime(LocalTime.parse(updatedEventData.get("endTime").toString()));
+      if (event.getEventSeriesId() != null
+          && (updatedEventData.containsKey("editAllEvents")
+          || updatedEventData.containsKey("editThisAndFuture"))) {
+        editSeries(currentCalendar, updatedEventData);
+        return;
+      }
 
-    handleDateClicked();
+      Event oldSnapshot = currentCalendar.createEvent(event.getSubject(),
+          LocalDateTime.of(event.getStartDate(), event.getStartTime()),
+          LocalDateTime.of(event.getEndDate(), event.getEndTime()),
+          event.getEventSeriesId(), null, null, null);
+
+      event.modifySubject(updatedEventData.get("name").toString());
+      event.modifyStatus(updatedEventData.get("status").toString());
+      event.modifyStartDate(LocalDate.parse(updatedEventData.get("startDate").toString()));
+      event.modifyEndDate(LocalDate.parse(updatedEventData.get("endDate").toString()));
+      event.modifyLocation(updatedEventData.get("location").toString());
+      event.modifyDescription(updatedEventData.get("description").toString());
+      event.modifyStartTime(LocalTime.parse(updatedEventData.get("startTime").toString()));
+      event.modifyEndTime(LocalTime.parse(updatedEventData.get("endTime").toString()));
+      currentCalendar.updateEventKey(oldSnapshot, event);
+
+      handleDateClicked();
+    });
   }
 
   @Override
   public void handleEditSeriesClicked(Map<String, Object> updatedEventData) {
+    recordOperation("gui editSeries", "edit series", () -> editSeries(
+        calendarManager.getCalendar(calendarManager.getCurrentCalendarName()),
+        updatedEventData));
+  }
 
-    Calendar currentCalendar = calendarManager
-        .getCalendar(calendarManager.getCurrentCalendarName());
+  /**
+   * Edits all the events of the series of an event, or the event and the ones after it, as
+   * chosen in the edit dialog, within the operation recorded by the caller.
+   */
 
+  private void editSeries(Calendar currentCalendar, Map<String, Object> updatedEventData) {
     String eventName = updatedEventData.get("name").toString();
     LocalDate startDate = LocalDate.parse(updatedEventData.get("startDate").toString());
     LocalTime startTime = LocalTime.parse(updatedEventData.get("startTime").toString());
@@ -229,63 +280,41 @@ public class GuiControllerHandlers implements GuiControllerFeatures {
       return;
     }
 
+    boolean editAllEvents = updatedEventData.containsKey("editAllEvents")
+        && (boolean) updatedEventData.get("editAllEvents");
+    boolean editThisAndFuture = updatedEventData.containsKey("editThisAndFuture")
+        && (boolean) updatedEventData.get("editThisAndFuture");
+    if (!editAllEvents && !editThisAndFuture) {
+      return;
+    }
 
-
-
-
-    LocalDateTime startDateTime = LocalDateTime.of(startDate, startTime);
-
-
-    Map<String, String> propertyUpdates = new HashMap<>();
-
-
-    propertyUpdates.put("subject", updatedEventData.get("name").toString());
-
-
-    LocalDateTime newStartDateTime = LocalDateTime.of(
-        LocalDate.parse(updatedEventData.get("startDate").toString()),
-        LocalTime.parse(updatedEventData.get("startTime").toString())
-    );
-    propertyUpdates.put("start", newStartDateTime.toString());
-
-
-    LocalDateTime newEndDateTime = LocalDateTime.of(
+    Map<String, String> propertyUpdates = new LinkedHashMap<>();
+    propertyUpdates.put("subject", eventName);
+    propertyUpdates.put("start", LocalDateTime.of(startDate, startTime).toString());
+    propertyUpdates.put("end", LocalDateTime.of(
         LocalDate.parse(updatedEventData.get("endDate").toString()),
-        LocalTime.parse(updatedEventData.get("endTime").toString())
-    );
-    propertyUpdates.put("end", newEndDateTime.toString());
-
+        LocalTime.parse(updatedEventData.get("endTime").toString())).toString());
     propertyUpdates.put("status", updatedEventData.get("status").toString());
     propertyUpdates.put("location", updatedEventData.get("location").toString());
     propertyUpdates.put("description", updatedEventData.get("description").toString());
 
+    List<Event> eventsToEdit = new ArrayList<>();
+    for (Event seriesEvent : currentCalendar.getEventsInSeries(event.getEventSeriesId())) {
+      if (editAllEvents || !seriesEvent.getStartDate().isBefore(event.getStartDate())) {
+        eventsToEdit.add(seriesEvent);
+      }
+    }
 
-    String dateTimeString = startDateTime.toString();
-    for (Map.Entry<String, String> entry : propertyUpdates.entrySet()) {
-      String property = entry.getKey();
-      String newValue = entry.getValue();
-      String command;
-
-      boolean editAllEvents = updatedEventData.containsKey("editAllEvents")
-          && (boolean) updatedEventData.get("editAllEvents");
-      boolean editThisAndFuture = updatedEventData.containsKey("editThisAndFuture")
-          && (boolean) updatedEventData.get("editThisAndFuture");
-
-      if (editAllEvents) {
-        command = "edit series " + property + " " + eventName
-            + " from " + dateTimeString + " with " + newValue;
-
-        System.out.println(command);
-        EditSeriesCommand editSeriesCommand = new EditSeriesCommand(command, calendarManager);
-        editSeriesCommand.execute();
-      } else if (editThisAndFuture) {
-        command = "edit events " + property + " " + eventName
-            + " from " + dateTimeString + " with " + newValue;
-
-        System.out.println(command);
-        EditEventsCommand editEventsCommand = new EditEventsCommand(command, calendarManager);
-        editEventsCommand.execute();
+    try {
+      String newSeriesId = editAllEvents ? null : GenerateSeriesId.generateSeriesId();
+      if (!currentCalendar.editEvents(eventsToEdit,
+          new PropertyEdit(propertyUpdates, true, newSeriesId))) {
+        System.out.println("Edit failed: Would create duplicate event");
+      } else {
+        System.out.println("Edited " + eventsToEdit.size() + " event(s) in the series");
       }
+    } catch (IllegalArgumentException e) {
+      System.out.println("Error editing series: " + e.getMessage());
     }
 
     handleDateClicked();
@@ -299,14 +328,16 @@ public class GuiControllerHandlers implements GuiControllerFeatures {
 
   @Override
   public void handleCreateCalendarDialogBoxClicked(String calendarName, String timeZone) {
-    if (calendarManager.getCalendarManagerStore().containsKey(calendarName)) {
-      view.showCalendarNameExistsError(calendarName, false, null);
-      return;
-    }
+    CommandMetrics.getInstance().time("gui createCalendar", () -> {
+      if (calendarManager.getCalendarManagerStore().containsKey(calendarName)) {
+        view.showCalendarNameExistsError(calendarName, false, null);
+        return;
+      }
 
-    Calendar newlyCreatedCalendar = calendarManager.createCalendar(calendarName, timeZone);
-    calendarManager.saveCalendar(newlyCreatedCalendar);
-    handleNavigateCalendarClicked();
+      Calendar newlyCreatedCalendar = calendarManager.createCalendar(calendarName, timeZone);
+      calendarManager.saveCalendar(newlyCreatedCalendar);
+      handleNavigateCalendarClicked();
+    });
   }
 
   @Override
@@ -338,44 +369,80 @@ public class GuiControllerHandlers implements GuiControllerFeatures {
   @Override
   public void handleUseCalendarClicked(String calendarName) {
     calendarManager.setCurrentCalendarNameAs(calendarName);
+    handleMonthShown();
   }
 
   @Override
   public void handleEditCalendarNameClicked(String oldName, String newName) {
-    if (!oldName.equals(newName)
-        && calendarManager.getCalendarManagerStore().containsKey(newName)) {
-      view.showCalendarNameExistsError(newName, true, oldName);
-      return;
-    }
+    recordOperation("gui renameCalendar", "rename calendar", () -> {
+      if (!oldName.equals(newName)
+          && calendarManager.getCalendarManagerStore().containsKey(newName)) {
+        view.showCalendarNameExistsError(newName, true, oldName);
+        return;
+      }
 
-    Calendar calendar = calendarManager.getCalendar(oldName);
-    String newCalendarName = calendar.modifyName(newName).toString();
-    Calendar entry = new CalendarImpl(calendar);
-    calendarManager.getCalendarManagerStore().remove(oldName);
-    calendarManager.getCalendarManagerStore().put(newName, entry);
+      Calendar calendar = calendarManager.getCalendar(oldName);
+      String newCalendarName = calendar.modifyName(newName).toString();
+      Calendar entry = new CalendarImpl(calendar);
+      calendarManager.getCalendarManagerStore().remove(oldName);
+      calendarManager.getCalendarManagerStore().put(newName, entry);
 
-    handleNavigateCalendarClicked();
+      handleNavigateCalendarClicked();
+    });
   }
 
   @Override
   public void handleEditCalendarTimezoneClicked(String calendarName, String newTimezone) {
+    recordOperation("gui changeTimezone", "change timezone", () -> {
+      Calendar calendar = calendarManager.getCalendar(calendarName);
+      calendar.modifyTimezone(ZoneId.of(newTimezone));
+    });
+  }
 
-    Calendar calendar = calendarManager.getCalendar(calendarName);
-    calendar.modifyTimezone(ZoneId.of(newTimezone));
+  @Override
+  public void handleUndoClicked() {
+    CommandMetrics.getInstance().time("gui undo", () -> {
+      if (calendarManager.undo() == null) {
+        System.out.println("Nothing to undo");
+      }
+      view.setUndoRedoEnabled(calendarManager.canUndo(), calendarManager.canRedo());
+      handleDateClicked();
+      handleMonthShown();
+    });
+  }
+
+  @Override
+  public void handleRedoClicked() {
+    CommandMetrics.getInstance().time("gui redo", () -> {
+      if (calendarManager.redo() == null) {
+        System.out.println("Nothing to redo");
+      }
+      view.setUndoRedoEnabled(calendarManager.canUndo(), calendarManager.canRedo());
+      handleDateClicked();
+      handleMonthShown();
+    });
   }
 
   @Override
   public void handleSearchEvents(String searchTerm) {
-    Calendar currentCalendar = calendarManager.getCalendar(
-        calendarManager.getCurrentCalendarName());
+    search.cancel();
+    CommandMetrics.getInstance().time("gui search", () -> {
+      Calendar currentCalendar = calendarManager.getCalendar(
+          calendarManager.getCurrentCalendarName());
 
-    List<Event> searchResults = new ArrayList<>();
-    for (Event event : currentCalendar.getCalendarStore().values()) {
-      if (event.getSubject().equalsIgnoreCase(searchTerm)) {
-        searchResults.add(event);
-      }
-    }
+      List<Event> searchResults =
+          EventSearch.find(currentCalendar.getEventsStartingBetween(null, null), searchTerm);
 
-    view.showSearchResults(searchResults, searchTerm);
+      view.showSearchResults(searchResults, searchTerm);
+    });
+  }
+
+  @Override
+  public void handleSearchTyped(String searchTerm) {
+    Calendar currentCalendar = calendarManager.getCalendar(
+        calendarManager.getCurrentCalendarName());
+    search.searchLater(currentCalendar, searchTerm, (List<Event> results, String term) ->
+        CommandMetrics.getInstance().time("gui showSearchResults",
+            () -> view.showSearchResults(results, term)));
   }
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package calendar.controller;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies in nanoseconds with log-linear buckets, in the style of an
+ * HdrHistogram: every power of two is split into 16 linear buckets, so a recorded value is
+ * reported within 1/16 of itself whatever its magnitude, in a fixed array of 960 counters.
+ * Recording only increments atomic counters and never locks, so it can be called from any
+ * number of threads while percentiles are being read.
+ *
+ */
+
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private final AtomicLongArray buckets;
+  private final LongAdder count;
+  private final LongAdder sum;
+  private final AtomicLong max;
+
+  /**
+   * Constructs an empty histogram.
+   */
+
+  public LatencyHistogram() {
+    this.buckets = new AtomicLongArray(BUCKETS);
+    this.count = new LongAdder();
+    this.sum = new LongAdder();
+    this.max = new AtomicLong();
+  }
+
+  /**
+   * Records a latency, negative latencies being recorded as zero.
+   *
+   * @param nanos the latency in nanoseconds
+   */
+
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    buckets.incrementAndGet(bucketOf(value));
+    count.increment();
+    sum.add(value);
+    max.accumulateAndGet(value, Math::max);
+  }
+
+  /**
+   * Gets the number of recorded latencies.
+   *
+   * @return the number of recorded latencies
+   */
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  /**
+   * Gets the mean of the recorded latencies.
+   *
+   * @return the mean in nanoseconds, 0 if nothing was recorded
+   */
+
+  public double getMean() {
+    long recorded = count.sum();
+    return recorded == 0 ? 0 : (double) sum.sum() / recorded;
+  }
+
+  /**
+   * Gets the largest recorded latency.
+   *
+   * @return the largest latency in nanoseconds, 0 if nothing was recorded
+   */
+
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Gets the latency below or at which the given percentage of the recorded latencies lie,
+   * as the highest value of its bucket, but never more than the largest recorded latency.
+   *
+   * @param percentile percentage between 0 and 100
+   * @return the latency in nanoseconds, 0 if nothing was recorded
+   */
+
+  public long getPercentile(double percentile) {
+    long total = 0;
+    long[] counts = new long[BUCKETS];
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = buckets.get(i);
+      total += counts[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100.0 * total));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(highestValueOf(i), max.get());
+      }
+    }
+    return max.get();
+  }
+
+  /**
+   * Clears every recorded latency.
+   */
+
+  public void reset() {
+    for (int i = 0; i < BUCKETS; i++) {
+      buckets.set(i, 0);
+    }
+    count.reset();
+    sum.reset();
+    max.set(0);
+  }
+
+  static int bucketOf(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int magnitude = 63 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+  }
+
+  static long highestValueOf(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = bucket / SUB_BUCKETS - 1;
+    long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+}
@@ -0,0 +1,89 @@
+package calendar.controller;
+
+import calendar.model.modelinterfaces.Calendar;
+import calendar.model.modelutility.CalendarChanges;
+import calendar.model.modelutility.MonthSummary;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Summaries of the months shown in the month grid of the GUI. A summary is computed on the
+ * event dispatch thread from the counts of events per start date kept by the calendar and
+ * the first events of every day, in time bounded by the length of the month rather than
+ * by its events, so it needs neither a background thread nor a clone of the calendar, and
+ * showing a month never makes the calendar copy its index on its next change.
+ * Showing a month also computes the months before and after it, so navigating to them
+ * finds their summaries ready. The summaries of the last {@link #CAPACITY} months used
+ * are kept, for the calendar last shown. When the calendar changes, only the months of
+ * the events added, changed or removed since, as reported by getChangesSince, are
+ * dropped, so editing an event of one month keeps the summaries of the others.
+ *
+ */
+
+final class MonthSummaryCache {
+
+  static final int CAPACITY = 12;
+
+  private final Map<YearMonth, MonthSummary> entries =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<YearMonth, MonthSummary> eldest) {
+          return size() > CAPACITY;
+        }
+      };
+  private Calendar calendar;
+  private long version;
+
+  /**
+   * Gets the summary of a month of a calendar, from the cache if it is up to date with the
+   * calendar, or else computed, and computes the adjacent months.
+   * Must be called on the event dispatch thread, which the summary is handed to.
+   *
+   * @param calendar the calendar
+   * @param month    the month
+   * @param onLoaded consumer of the summary
+   */
+
+  void load(Calendar calendar, YearMonth month, Consumer<MonthSummary> onLoaded) {
+    sync(calendar);
+    onLoaded.accept(fetch(month));
+    fetch(month.minusMonths(1));
+    fetch(month.plusMonths(1));
+  }
+
+  private MonthSummary fetch(YearMonth month) {
+    MonthSummary summary = entries.get(month);
+    if (summary == null) {
+      summary = MonthSummary.of(calendar, month);
+      entries.put(month, summary);
+    }
+    return summary;
+  }
+
+  /**
+   * Brings the cache up to date with a calendar, dropping every summary if it is another
+   * calendar, or else the summaries of the months changed since the last call.
+   */
+
+  private void sync(Calendar current) {
+    long currentVersion = current.getVersion();
+    if (current != calendar) {
+      entries.clear();
+    } else if (currentVersion != version) {
+      CalendarChanges changes = current.getChangesSince(version);
+      if (changes == null) {
+        entries.clear();
+      } else {
+        for (CalendarChanges.Change change : changes.getChanges()) {
+          entries.remove(YearMonth.from(change.getKey().getStartDate()));
+        }
+      }
+    } else {
+      return;
+    }
+    calendar = current;
+    version = currentVersion;
+  }
+}
@@ -0,0 +1,42 @@
+package calendar.controller;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Output of a controller serving remote clients, forwarded to the output of the client
+ * being served or, between clients, to the console.
+ *
+ */
+
+final class SessionOutput extends OutputStream {
+
+  volatile PrintStream target;
+  final PrintStream stream;
+
+  /**
+   * Constructs an output forwarded to the console until a client is served.
+   *
+   * @param console the console
+   */
+
+  SessionOutput(PrintStream console) {
+    this.target = console;
+    this.stream = new PrintStream(this, false);
+  }
+
+  @Override
+  public void write(int b) {
+    target.write(b);
+  }
+
+  @Override
+  public void write(byte[] bytes, int offset, int length) {
+    target.write(bytes, offset, length);
+  }
+
+  @Override
+  public void flush() {
+    target.flush();
+  }
+}
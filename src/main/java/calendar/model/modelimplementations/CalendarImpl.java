@@ -6,8 +6,17 @@ import static calendar.model.modelimplementations.EventSeriesImpl.getEventSeries
 
 import calendar.model.modelinterfaces.Calendar;
 import calendar.model.modelinterfaces.Event;
+import calendar.model.modelinterfaces.EventEdit;
 import calendar.model.modelinterfaces.EventSeries;
+import calendar.model.modelutility.CalendarChanges;
+import calendar.model.modelutility.CopyReport;
+import calendar.model.modelutility.EventConflict;
 import calendar.model.modelutility.EventKey;
+import calendar.model.modelutility.SchedulePage;
+import calendar.utility.jfr.CopyEventsEvent;
+import calendar.utility.jfr.SaveEventEvent;
+import calendar.utility.jfr.SeriesConstructionEvent;
+import calendar.utility.jfr.TimezoneChangeEvent;
 import java.time.DayOfWeek;
 import java.time.Duration;
 import java.time.LocalDate;
@@ -16,10 +25,23 @@ import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Calendar implementation class.
@@ -27,14 +49,17 @@ import java.util.Map;
  */
 public class CalendarImpl implements Calendar {
 
+  private static final int STANDALONE_UNIT = 256;
+
   protected String calendarName;
-  private final Map<EventKey, Event> calendarStore;
+  private final EventStore calendarStore;
+  private final QueryCache queryCache = new QueryCache();
   protected ZoneId timeZone;
 
 
   /**
    * A calendar constructor which initializes the calendar object.
-   * The events in a calendar are stored in a hash map.
+   * The events in a calendar are stored in a hash map, indexed by start date time.
    */
 
   public CalendarImpl(String calendarName, ZoneId timeZone) {
@@ -48,11 +73,15 @@ public class CalendarImpl implements Calendar {
 
     this.calendarName = calendarName;
     this.timeZone = timeZone;
-    this.calendarStore = new HashMap<>();
+    this.calendarStore = new EventStore();
   }
 
   /**
-   * Constructs a deep copy of the calendar.
+   * Constructs a copy of the calendar, at the same version as the calendar.
+   * A copy of a CalendarImpl is made in O(1) and shares its events with the calendar
+   * copy-on-write: either calendar copies its maps on its first mutation, and an event
+   * when it is taken out to be edited, so edits to one are never seen by the other.
+   * Other calendars are copied deeply.
    *
    * @param calendar calendar which needs to be copied
    */
@@ -60,13 +89,12 @@ public class CalendarImpl implements Calendar {
   public CalendarImpl(Calendar calendar) {
     this.calendarName = calendar.getCalendarName();
     this.timeZone = calendar.getCalendarTimeZone();
-    this.calendarStore = new HashMap<>();
-
-    for (Map.Entry<EventKey, Event> entry : calendar.getCalendarStore().entrySet()) {
-      this.calendarStore.put(
-          entry.getKey(),
-          new EventImpl(entry.getValue())
-      );
+    Map<EventKey, Event> store = calendar.getCalendarStore();
+    if (store instanceof EventStore) {
+      this.calendarStore = new EventStore((EventStore) store);
+    } else {
+      this.calendarStore = new EventStore();
+      this.calendarStore.copyFrom(store, calendar.getVersion());
     }
   }
 
@@ -83,39 +111,45 @@ public class CalendarImpl implements Calendar {
   @Override
   public Calendar modifyName(String newName) {
     this.calendarName = newName;
+    calendarStore.touch();
     return this;
   }
 
   @Override
   public Calendar modifyTimezone(ZoneId newTimezone) {
+    TimezoneChangeEvent recording = new TimezoneChangeEvent();
+    recording.begin();
+    ZoneId oldTimezone = this.timeZone;
     this.timeZone = newTimezone;
 
-    for (Map.Entry<EventKey, Event> entry : calendarStore.entrySet()) {
-
-      LocalDate sourceStartDate = entry.getValue().getStartDate();
-      LocalDate sourceEndDate = entry.getValue().getEndDate();
-      LocalTime sourceStartTime = entry.getValue().getStartTime();
-      LocalTime sourceEndTime = entry.getValue().getEndTime();
+    List<Event> events = new ArrayList<>(calendarStore.values());
+    calendarStore.clear();
+    TimezoneShift shift = new TimezoneShift(oldTimezone, newTimezone);
 
-      LocalDateTime sourceStart = LocalDateTime.of(sourceStartDate, sourceStartTime);
-      LocalDateTime sourceEnd = LocalDateTime.of(sourceEndDate, sourceEndTime);
+    for (Event stored : events) {
+      Event event = calendarStore.claim(stored);
 
-      LocalDateTime targetStart = adjustForTimezone(sourceStart, newTimezone);
-      LocalDateTime targetEnd = adjustForTimezone(sourceEnd, newTimezone);
+      LocalDateTime sourceStart = LocalDateTime.of(event.getStartDate(), event.getStartTime());
+      LocalDateTime sourceEnd = LocalDateTime.of(event.getEndDate(), event.getEndTime());
 
-      LocalDate targetStartDate = targetStart.toLocalDate();
-      LocalDate targetEndDate = targetEnd.toLocalDate();
+      LocalDateTime targetStart = shift.apply(sourceStart);
+      LocalDateTime targetEnd = shift.apply(sourceEnd);
 
-      LocalTime targetStartTime = targetStart.toLocalTime();
-      LocalTime targetEndTime = targetEnd.toLocalTime();
+      event.modifyStartDate(targetStart.toLocalDate());
+      event.modifyEndDate(targetEnd.toLocalDate());
+      event.modifyStartTime(targetStart.toLocalTime());
+      event.modifyEndTime(targetEnd.toLocalTime());
 
-      entry.getValue().modifyStartDate(targetStartDate);
-      entry.getValue().modifyEndDate(targetEndDate);
-      entry.getValue().modifyStartTime(targetStartTime);
-      entry.getValue().modifyEndTime(targetEndTime);
+      calendarStore.put(keyOf(event), event);
     }
 
-
+    if (recording.shouldCommit()) {
+      recording.calendarName = calendarName;
+      recording.fromTimezone = oldTimezone.getId();
+      recording.toTimezone = newTimezone.getId();
+      recording.eventCount = events.size();
+      recording.commit();
+    }
     return this;
   }
 
@@ -203,8 +237,20 @@ public class CalendarImpl implements Calendar {
       eventSeriesBuilder.setRepeatDays(repeatDays);
     }
 
+    SeriesConstructionEvent recording = new SeriesConstructionEvent();
+    recording.begin();
+    int sizeBefore = calendarStore.size();
+
     EventSeries newSeriesObject = eventSeriesBuilder.build();
     newSeriesObject.constructSeriesEvents(event, this);
+
+    if (recording.shouldCommit()) {
+      recording.calendarName = calendarName;
+      recording.subject = event.getSubject();
+      recording.seriesId = event.getEventSeriesId();
+      recording.eventCount = calendarStore.size() - sizeBefore;
+      recording.commit();
+    }
   }
 
   /**
@@ -215,16 +261,13 @@ public class CalendarImpl implements Calendar {
 
   @Override
   public void saveEvent(Event event) {
-    EventKey key = new EventKey(
-        event.getSubject(),
-        event.getStartDate(),
-        event.getEndDate(),
-        event.getStartTime(),
-        event.getEndTime()
-    );
+    SaveEventEvent recording = new SaveEventEvent();
+    recording.begin();
+    EventKey key = keyOf(event);
 
     if (calendarStore.containsKey(key)) {
       System.out.println("Event already exists");
+      recordSave(recording, false);
       return;
     }
 
@@ -232,6 +275,36 @@ public class CalendarImpl implements Calendar {
 
     calendarStore.put(key, event);
     System.out.println("Saved event: " + event);
+    recordSave(recording, true);
+  }
+
+  @Override
+  public int saveEvents(List<Event> events) {
+    Map<EventKey, Event> batch = new LinkedHashMap<>(events.size() * 4 / 3 + 1);
+    for (Event event : events) {
+      validateEvent(event);
+      EventKey key = keyOf(event);
+      if (!calendarStore.containsKey(key)) {
+        batch.putIfAbsent(key, event);
+      }
+    }
+
+    calendarStore.addAll(batch);
+    if (batch.size() < events.size()) {
+      System.out.println("Skipped " + (events.size() - batch.size())
+          + " events which already exist");
+    }
+    System.out.println("Saved " + batch.size() + " events");
+    return batch.size();
+  }
+
+  private void recordSave(SaveEventEvent recording, boolean saved) {
+    if (recording.shouldCommit()) {
+      recording.calendarName = calendarName;
+      recording.saved = saved;
+      recording.calendarSize = calendarStore.size();
+      recording.commit();
+    }
   }
 
 
@@ -245,30 +318,27 @@ public class CalendarImpl implements Calendar {
 
   @Override
   public List<Event> getSchedule(String startDateTime, String endDateTime) {
+    return queryCache.get(getVersion(), calendarStore.getCopies(), "schedule", startDateTime,
+        endDateTime, () -> schedule(startDateTime, endDateTime));
+  }
+
+  private List<Event> schedule(String startDateTime, String endDateTime) {
     LocalDateTime parsedStartDateTime = LocalDateTime.parse(startDateTime);
     LocalDateTime parsedEndDateTime = LocalDateTime.parse(endDateTime);
 
     LocalDate startDate = parsedStartDateTime.toLocalDate();
 
-    ArrayList<Event> combinedEvents = new ArrayList<>();
-
     long days = ChronoUnit.DAYS.between(parsedStartDateTime, parsedEndDateTime);
-    if (days > 0) {
-      for (int i = 0; i <= days; i++) {
-        LocalDate currentDate = startDate.plusDays(i);
-
-        combinedEvents.addAll(getEventsForDate(currentDate));
-
-      }
-
-      return combinedEvents;
-    } else if (days < 0) {
+    if (days < 0) {
       System.out.println("End date cannot be before start date");
       return null;
     }
 
-    return getEventsForDate(startDate);
-
+    List<Event> combinedEvents = new ArrayList<>();
+    for (Event event : getEventsStartingBetween(startDate, startDate.plusDays(days))) {
+      combinedEvents.add(event);
+    }
+    return Collections.unmodifiableList(combinedEvents);
   }
 
   /**
@@ -288,11 +358,7 @@ public class CalendarImpl implements Calendar {
                         LocalTime endTime) {
 
     EventKey key = new EventKey(subject, startDate, endDate, startTime, endTime);
-    if (calendarStore.get(key) != null) {
-      return calendarStore.get(key);
-    }
-
-    return null;
+    return calendarStore.own(key);
 
   }
 
@@ -305,26 +371,69 @@ public class CalendarImpl implements Calendar {
    */
   @Override
   public void updateEventKey(Event oldEvent, Event updatedEvent) {
-    EventKey oldKey = new EventKey(
-        oldEvent.getSubject(),
-        oldEvent.getStartDate(),
-        oldEvent.getEndDate(),
-        oldEvent.getStartTime(),
-        oldEvent.getEndTime()
-    );
+    calendarStore.remove(keyOf(oldEvent));
+    calendarStore.put(keyOf(updatedEvent), updatedEvent);
+  }
 
-    calendarStore.remove(oldKey);
+  @Override
+  public boolean editEvents(List<Event> events, EventEdit edit) {
+    Set<Event> edited = Collections.newSetFromMap(new IdentityHashMap<>());
+    List<Event> toEdit = new ArrayList<>(events.size());
+    List<EventKey> oldKeys = new ArrayList<>(events.size());
+    for (Event event : events) {
+      if (!edited.add(event)) {
+        continue;
+      }
+      EventKey oldKey = keyOf(event);
+      if (calendarStore.get(oldKey) != event) {
+        throw new IllegalArgumentException("Event is not in the calendar: " + event.getSubject());
+      }
+      toEdit.add(event);
+      oldKeys.add(oldKey);
+    }
 
-    EventKey newKey = new EventKey(
-        updatedEvent.getSubject(),
-        updatedEvent.getStartDate(),
-        updatedEvent.getEndDate(),
-        updatedEvent.getStartTime(),
-        updatedEvent.getEndTime()
-    );
+    Map<EventKey, Event> newKeys = new LinkedHashMap<>(toEdit.size() * 4 / 3 + 1);
+    for (Event event : toEdit) {
+      EventKey newKey = edit.keyAfter(event);
+      if (LocalDateTime.of(newKey.getStartDate(), newKey.getStartTime())
+          .isAfter(LocalDateTime.of(newKey.getEndDate(), newKey.getEndTime()))) {
+        throw new IllegalArgumentException("Start date cannot be occurring after end date");
+      }
+      Event existing = calendarStore.get(newKey);
+      if (newKeys.putIfAbsent(newKey, event) != null
+          || existing != null && !edited.contains(existing)) {
+        return false;
+      }
+    }
 
-    calendarStore.put(newKey, updatedEvent);
+    int next = 0;
+    for (Map.Entry<EventKey, Event> entry : newKeys.entrySet()) {
+      Event owned = calendarStore.own(oldKeys.get(next));
+      entry.setValue(owned);
+      toEdit.set(next++, owned);
+    }
+    List<EventImpl> snapshots = new ArrayList<>(toEdit.size());
+    for (Event event : toEdit) {
+      snapshots.add(new EventImpl(event));
+    }
+    try {
+      for (Map.Entry<EventKey, Event> entry : newKeys.entrySet()) {
+        edit.apply(entry.getValue());
+        if (!keyOf(entry.getValue()).equals(entry.getKey())) {
+          throw new IllegalStateException("Edit changed the event differently than its key");
+        }
+      }
+    } catch (RuntimeException e) {
+      for (int i = 0; i < toEdit.size(); i++) {
+        if (toEdit.get(i) instanceof EventImpl) {
+          ((EventImpl) toEdit.get(i)).restore(snapshots.get(i));
+        }
+      }
+      throw e;
+    }
 
+    calendarStore.rekeyAll(oldKeys, newKeys);
+    return true;
   }
 
 
@@ -337,16 +446,138 @@ public class CalendarImpl implements Calendar {
 
   @Override
   public List<Event> getEventsForDate(LocalDate date) {
+    return queryCache.get(getVersion(), calendarStore.getCopies(), "date", date, null, () -> {
+      List<Event> events = new ArrayList<>();
+      for (Event event : getEventsStartingBetween(date, date)) {
+        events.add(event);
+      }
+      return Collections.unmodifiableList(events);
+    });
+  }
+
+  @Override
+  public Iterable<Event> getEventsStartingBetween(LocalDate startDate, LocalDate endDate) {
+    LocalDateTime from = startDate == null ? null : startDate.atStartOfDay();
+    LocalDateTime to = endDate == null ? null : endDate.plusDays(1).atStartOfDay();
+    return calendarStore.startingBetween(from, to);
+  }
+
+  @Override
+  public List<Event> getEventsOverlapping(LocalDateTime startDateTime,
+                                          LocalDateTime endDateTime) {
+    return calendarStore.overlapping(startDateTime, endDateTime);
+  }
+
+  @Override
+  public Stream<Event> streamEvents(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    int characteristics = Spliterator.ORDERED | Spliterator.NONNULL;
+    return StreamSupport.stream(() -> Spliterators.spliteratorUnknownSize(
+            calendarStore.startingBetween(startDateTime, endDateTime).iterator(),
+            characteristics),
+        characteristics, false);
+  }
+
+  @Override
+  public Stream<EventConflict> streamConflicts(LocalDateTime startDateTime,
+                                               LocalDateTime endDateTime) {
+    int characteristics = Spliterator.ORDERED | Spliterator.NONNULL;
+    return StreamSupport.stream(() -> Spliterators.spliteratorUnknownSize(
+            calendarStore.conflicts(startDateTime, endDateTime), characteristics),
+        characteristics, false);
+  }
+
+  @Override
+  public SchedulePage getEventsPage(LocalDateTime startDateTime, LocalDateTime endDateTime,
+                                    String pageToken, int limit) {
+    if (limit < 1) {
+      throw new IllegalArgumentException("Page size must be at least 1");
+    }
+    LocalDateTime tokenStart = null;
+    int returnedAtTokenStart = 0;
+    LocalDateTime seek = startDateTime;
+    if (pageToken != null) {
+      tokenStart = SchedulePage.tokenStart(pageToken);
+      returnedAtTokenStart = SchedulePage.tokenReturned(pageToken);
+      if (startDateTime == null || tokenStart.isAfter(startDateTime)) {
+        seek = tokenStart;
+      }
+    }
 
     List<Event> events = new ArrayList<>();
-    for (Event event : calendarStore.values()) {
-      if (event.getStartDate().equals(date)) {
-        events.add(event);
+    String resumeToken = null;
+    LocalDateTime lastStart = null;
+    int atLastStart = 0;
+    for (Event event : calendarStore.startingBetween(seek, endDateTime)) {
+      LocalDateTime start = LocalDateTime.of(event.getStartDate(), event.getStartTime());
+      if (start.equals(lastStart)) {
+        atLastStart++;
+      } else {
+        lastStart = start;
+        atLastStart = 1;
+      }
+      if (start.equals(tokenStart) && atLastStart <= returnedAtTokenStart) {
+        continue;
+      }
+      if (events.size() == limit) {
+        return new SchedulePage(events, resumeToken);
+      }
+      events.add(event);
+      resumeToken = SchedulePage.token(start, atLastStart);
+    }
+    return new SchedulePage(events, null);
+  }
+
+  @Override
+  public int countEvents(LocalDate startDate, LocalDate endDate) {
+    return calendarStore.countStartingBetween(startDate, endDate);
+  }
+
+  @Override
+  public SortedMap<LocalDate, Integer> countEventsPer(LocalDate startDate, LocalDate endDate,
+                                                      ChronoUnit period) {
+    if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+      throw new IllegalArgumentException("Start date cannot be occurring after end date");
+    }
+    if (period != ChronoUnit.DAYS && period != ChronoUnit.WEEKS
+        && period != ChronoUnit.MONTHS) {
+      throw new IllegalArgumentException("Events can only be counted per day, week or month");
+    }
+
+    SortedMap<LocalDate, Integer> counts = new TreeMap<>();
+    LocalDate periodStart = startDate;
+    while (!periodStart.isAfter(endDate)) {
+      if (period == ChronoUnit.DAYS) {
+        counts.put(periodStart, calendarStore.countStartingOn(periodStart));
+        periodStart = periodStart.plusDays(1);
+      } else {
+        LocalDate nextStart = period == ChronoUnit.WEEKS
+            ? periodStart.with(TemporalAdjusters.next(DayOfWeek.MONDAY))
+            : periodStart.withDayOfMonth(1).plusMonths(1);
+        LocalDate periodEnd = nextStart.isAfter(endDate) ? endDate : nextStart.minusDays(1);
+        counts.put(periodStart, calendarStore.countStartingBetween(periodStart, periodEnd));
+        periodStart = nextStart;
       }
     }
+    return counts;
+  }
+
+  @Override
+  public List<Event> getEventsInSeries(String seriesId) {
+    List<Event> events = new ArrayList<>(calendarStore.inSeries(seriesId));
+    events.sort(Comparator.comparing(Event::getStartDate).thenComparing(Event::getStartTime));
     return events;
   }
 
+  @Override
+  public long getVersion() {
+    return calendarStore.getVersion();
+  }
+
+  @Override
+  public CalendarChanges getChangesSince(long version) {
+    return calendarStore.changesSince(version);
+  }
+
 
   /**
    * Method prints either "Busy" if events are scheduled otherwise "Available".
@@ -357,20 +588,16 @@ public class CalendarImpl implements Calendar {
 
   @Override
   public String showStatus(String dateTime) {
+    return queryCache.get(getVersion(), calendarStore.getCopies(), "status", dateTime, null, () -> {
+      LocalDateTime parsedStartDateTime = LocalDateTime.parse(dateTime);
 
-    LocalDateTime parsedStartDateTime = LocalDateTime.parse(dateTime);
-
-    LocalDate startDate = parsedStartDateTime.toLocalDate();
-    LocalTime startTime = parsedStartDateTime.toLocalTime();
-
-    for (Event event : calendarStore.values()) {
-      if (startDate.equals(event.getStartDate())
-          && startTime.equals(event.getStartTime())) {
+      if (calendarStore.startingBetween(parsedStartDateTime,
+          parsedStartDateTime.plusNanos(1)).iterator().hasNext()) {
         return "Busy";
       }
-    }
 
-    return "Available";
+      return "Available";
+    });
   }
 
 
@@ -379,6 +606,19 @@ public class CalendarImpl implements Calendar {
     return "Calendar Name: " + getCalendarName() + " Timezone: " + getCalendarTimeZone();
   }
 
+  /**
+   * Builds the calendar store key of an event from its current properties.
+   */
+  private static EventKey keyOf(Event event) {
+    return new EventKey(
+        event.getSubject(),
+        event.getStartDate(),
+        event.getEndDate(),
+        event.getStartTime(),
+        event.getEndTime()
+    );
+  }
+
   /**
    * Adjusts a datetime from source calendar timezone to target calendar timezone.
    */
@@ -440,7 +680,7 @@ public class CalendarImpl implements Calendar {
    * Groups events by series ID, separating standalone events.
    */
   private EventGroups groupEventsBySeries(List<Event> events) {
-    Map<String, List<Event>> seriesGroups = new HashMap<>();
+    Map<String, List<Event>> seriesGroups = new LinkedHashMap<>();
     List<Event> standaloneEvents = new ArrayList<>();
 
     for (Event event : events) {
@@ -469,33 +709,11 @@ public class CalendarImpl implements Calendar {
     }
   }
 
-  /**
-   * Gets all events that overlap with a date range.
-   */
-  private List<Event> getEventsInRange(LocalDate startDate, LocalDate endDate) {
-    List<Event> eventsInRange = new ArrayList<>();
-
-    for (Event event : calendarStore.values()) {
-      if (eventOverlapsRange(event, startDate, endDate)) {
-        eventsInRange.add(event);
-      }
-    }
-
-    return eventsInRange;
-  }
-
-  /**
-   * Checks if an event overlaps with a date range.
-   */
-  private boolean eventOverlapsRange(Event event, LocalDate rangeStart, LocalDate rangeEnd) {
-    LocalDate eventStart = event.getStartDate();
-    LocalDate eventEnd = event.getEndDate();
-    return !(eventEnd.isBefore(rangeStart) || eventStart.isAfter(rangeEnd));
-  }
-
   @Override
   public Event copyEvent(Event event, Calendar targetCalendar, LocalDateTime targetDateTime) {
     validateCopyParameters(event, targetCalendar, targetDateTime);
+    CopyEventsEvent recording = new CopyEventsEvent();
+    recording.begin();
 
     Duration eventDuration = calculateEventDuration(event);
     ZoneId targetTimezone = targetCalendar.getCalendarTimeZone();
@@ -507,14 +725,18 @@ public class CalendarImpl implements Calendar {
 
     if (saveEventIfNoConflict(copiedEvent, targetCalendar)) {
       notifyIfSeriesEventCopiedAsStandalone(event);
+      recordCopy(recording, "event", targetCalendar, 1);
       return copiedEvent;
     }
+    recordCopy(recording, "event", targetCalendar, 0);
     return null;
   }
 
   @Override
   public Event copyEventSingle(Event event, Calendar targetCalendar, LocalDateTime targetDateTime) {
     validateCopyParameters(event, targetCalendar, targetDateTime);
+    CopyEventsEvent recording = new CopyEventsEvent();
+    recording.begin();
 
     Duration eventDuration = calculateEventDuration(event);
     ZoneId targetTimezone = targetCalendar.getCalendarTimeZone();
@@ -525,8 +747,10 @@ public class CalendarImpl implements Calendar {
 
     if (saveEventIfNoConflict(copiedEvent, targetCalendar)) {
       notifyIfSeriesEventCopiedAsStandalone(event);
+      recordCopy(recording, "event", targetCalendar, 1);
       return copiedEvent;
     }
+    recordCopy(recording, "event", targetCalendar, 0);
     return null;
   }
 
@@ -534,6 +758,8 @@ public class CalendarImpl implements Calendar {
   public List<Event> copyEventsOnDate(LocalDate sourceDate, Calendar targetCalendar,
                                       LocalDate targetDate) {
     validateDateCopyParameters(sourceDate, targetCalendar, targetDate);
+    CopyEventsEvent recording = new CopyEventsEvent();
+    recording.begin();
 
     List<Event> eventsToCopy = getEventsForDate(sourceDate);
     EventGroups groups = groupEventsBySeries(eventsToCopy);
@@ -546,26 +772,142 @@ public class CalendarImpl implements Calendar {
         targetCalendar, sourceDate, targetDate));
 
     System.out.println("Successfully copied " + copiedEvents.size() + " events.");
+    recordCopy(recording, "on", targetCalendar, copiedEvents.size());
     return copiedEvents;
   }
 
   @Override
   public List<Event> copyEventsBetween(LocalDate startDate, LocalDate endDate,
                                        Calendar targetCalendar, LocalDate targetStartDate) {
+    return new ArrayList<>(copyEventsBetweenInBulk(startDate, endDate, targetCalendar,
+        targetStartDate).getCopiedEvents());
+  }
+
+  @Override
+  public CopyReport copyEventsBetweenInBulk(LocalDate startDate, LocalDate endDate,
+                                            Calendar targetCalendar, LocalDate targetStartDate) {
+    return copyRange(startDate, endDate, targetCalendar, targetStartDate, null);
+  }
+
+  @Override
+  public CopyReport copyEventsBetweenInParallel(LocalDate startDate, LocalDate endDate,
+                                                Calendar targetCalendar,
+                                                LocalDate targetStartDate, ForkJoinPool pool) {
+    if (pool == null) {
+      throw new IllegalArgumentException("Fork join pool cannot be null");
+    }
+    return copyRange(startDate, endDate, targetCalendar, targetStartDate, pool);
+  }
+
+  /**
+   * Copies the events within a date range to the target calendar as one batch.
+   * The events are split into units, every series group being one unit and the standalone
+   * events being cut into units of at most {@code STANDALONE_UNIT} events, and the copies
+   * of the units are concatenated in unit order, so transforming the units on a fork join
+   * pool yields the same copies in the same order as transforming them one by one.
+   *
+   * @param pool pool to transform the units on, or null to transform them on this thread
+   */
+
+  private CopyReport copyRange(LocalDate startDate, LocalDate endDate, Calendar targetCalendar,
+                               LocalDate targetStartDate, ForkJoinPool pool) {
     validateRangeCopyParameters(startDate, endDate, targetCalendar, targetStartDate);
+    CopyEventsEvent recording = new CopyEventsEvent();
+    recording.begin();
+
+    EventGroups groups = groupEventsBySeries(calendarStore.overlapping(
+        startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay()));
+    List<CopyUnit> units = new ArrayList<>();
+    for (int i = 0; i < groups.standaloneEvents.size(); i += STANDALONE_UNIT) {
+      units.add(new CopyUnit(groups.standaloneEvents.subList(i,
+          Math.min(i + STANDALONE_UNIT, groups.standaloneEvents.size())), null));
+    }
+    for (Map.Entry<String, List<Event>> entry : groups.seriesGroups.entrySet()) {
+      List<Event> seriesEvents = entry.getValue();
+      String newSeriesId = seriesEvents.size() == 1 ? null : generateNewSeriesId(entry.getKey());
+      units.add(new CopyUnit(seriesEvents, newSeriesId));
+    }
 
-    List<Event> eventsInRange = getEventsInRange(startDate, endDate);
-    EventGroups groups = groupEventsBySeries(eventsInRange);
-    List<Event> copiedEvents = new ArrayList<>();
+    CopyUnitsTask task = new CopyUnitsTask(units, 0, units.size(), targetCalendar,
+        startDate, targetStartDate,
+        new TimezoneShift(timeZone, targetCalendar.getCalendarTimeZone()));
+    List<Event> copies = pool == null || units.size() < 2 ? task.copyUnits()
+        : pool.invoke(task);
+
+    List<Event> conflicts = new ArrayList<>();
+    List<Event> copied = sweepAndSave(copies, targetCalendar, conflicts);
+    recordCopy(recording, "between", targetCalendar, copied.size());
+    return new CopyReport(targetCalendar.getCalendarName(), copied, conflicts,
+        groups.standaloneEvents.size(), groups.seriesGroups.size());
+  }
 
-    copiedEvents.addAll(copyStandaloneEventsInRange(groups.standaloneEvents,
-        targetCalendar, startDate, targetStartDate));
+  /**
+   * Creates the copies of a group of events for a copy between dates, shifting them by
+   * their day offset from the start of the range and into the target time zone.
+   *
+   * @param events      events of the group
+   * @param seriesId    series id of the copies, or null to copy them as standalone events
+   * @param target      target calendar
+   * @param rangeStart  start date of the copied range
+   * @param targetStart date the copied range starts on in the target calendar
+   * @param shift       time zone shift from this calendar to the target calendar
+   * @return the copies, not saved yet
+   */
 
-    copiedEvents.addAll(copySeriesGroupsInRange(groups.seriesGroups,
-        targetCalendar, startDate, targetStartDate));
+  private List<Event> copyGroupInRange(List<Event> events, String seriesId, Calendar target,
+                                       LocalDate rangeStart, LocalDate targetStart,
+                                       TimezoneShift shift) {
+    List<Event> copies = new ArrayList<>(events.size());
+    for (Event event : events) {
+      LocalDateTime copyStart = shift.apply(calculateTargetDateTime(
+          event.getStartDate(), event.getStartTime(), rangeStart, targetStart));
+      copies.add(createEventCopy(event, target, copyStart,
+          copyStart.plus(calculateEventDuration(event)), seriesId));
+    }
+    return copies;
+  }
 
-    printCopySummary(copiedEvents.size(), groups);
-    return copiedEvents;
+  /**
+   * Sorts a batch of copies by start date time, drops the copies which conflict with the
+   * events of the target calendar in their window or with an earlier copy, and saves the
+   * rest in the target calendar with one bulk insert.
+   *
+   * @param copies    the copies
+   * @param target    target calendar
+   * @param conflicts list the conflicting copies are added to
+   * @return the saved copies in start date time order
+   */
+
+  private List<Event> sweepAndSave(List<Event> copies, Calendar target,
+                                   List<Event> conflicts) {
+    if (copies.isEmpty()) {
+      return new ArrayList<>();
+    }
+    copies.sort(Comparator.comparing(ConflictSweep::startOf));
+    LocalDateTime windowStart = ConflictSweep.startOf(copies.get(0));
+    LocalDateTime windowEnd = windowStart;
+    for (Event copy : copies) {
+      LocalDateTime end = ConflictSweep.endOf(copy);
+      if (end.isAfter(windowEnd)) {
+        windowEnd = end;
+      }
+    }
+
+    List<Event> accepted = ConflictSweep.accept(
+        target.getEventsOverlapping(windowStart, windowEnd), copies, conflicts);
+    target.saveEvents(accepted);
+    return accepted;
+  }
+
+  private void recordCopy(CopyEventsEvent recording, String operation, Calendar target,
+                          int eventCount) {
+    if (recording.shouldCommit()) {
+      recording.calendarName = calendarName;
+      recording.operation = operation;
+      recording.targetCalendarName = target.getCalendarName();
+      recording.eventCount = eventCount;
+      recording.commit();
+    }
   }
 
   @Override
@@ -703,31 +1045,6 @@ public class CalendarImpl implements Calendar {
     return copied;
   }
 
-  /**
-   * Copies all the standalone events to target calendar between dates,
-   * called from copy between dates method.
-   *
-   * @param events      list of standalone events which need to copied
-   * @param target      target calendar to which the events need to copied
-   * @param rangeStart  start date of the between range
-   * @param targetStart end date of the between range
-   * @return list of copied events
-   */
-
-  private List<Event> copyStandaloneEventsInRange(List<Event> events, Calendar target,
-                                                  LocalDate rangeStart, LocalDate targetStart) {
-    List<Event> copied = new ArrayList<>();
-    for (Event event : events) {
-      LocalDateTime targetDateTime = calculateTargetDateTime(
-          event.getStartDate(), event.getStartTime(), rangeStart, targetStart);
-      Event copiedEvent = copyEvent(event, target, targetDateTime);
-      if (copiedEvent != null) {
-        copied.add(copiedEvent);
-      }
-    }
-    return copied;
-  }
-
   /**
    * Copies events in series, when copy on date is called.
    *
@@ -760,56 +1077,6 @@ public class CalendarImpl implements Calendar {
     return copied;
   }
 
-  /**
-   * Copies events in series, when copy between dates is called.
-   *
-   * @param seriesGroups Map of series and al the events in series.
-   * @param target       target calendar to which the events need to copied
-   * @param rangeStart   range start
-   * @param targetStart  target start date
-   * @return list of copied events
-   */
-
-  private List<Event> copySeriesGroupsInRange(Map<String, List<Event>> seriesGroups,
-                                              Calendar target,
-                                              LocalDate rangeStart, LocalDate targetStart) {
-    List<Event> copied = new ArrayList<>();
-
-    for (Map.Entry<String, List<Event>> entry : seriesGroups.entrySet()) {
-      List<Event> seriesEvents = sortEventsByDate(entry.getValue());
-
-      if (seriesEvents.size() == 1) {
-        Event event = seriesEvents.get(0);
-        LocalDateTime targetDateTime = calculateTargetDateTime(
-            event.getStartDate(), event.getStartTime(), rangeStart, targetStart);
-        Event copiedEvent = copyEvent(event, target, targetDateTime);
-        if (copiedEvent != null) {
-          copied.add(copiedEvent);
-          System.out.println("Copied single event from series '" + entry.getKey()
-              + "' as standalone");
-        }
-      } else {
-        String newSeriesId = generateNewSeriesId(entry.getKey());
-        System.out.println("Creating new series '"
-            +
-            newSeriesId
-            +
-            "' with " + seriesEvents.size()
-            +
-            " events");
-
-        for (Event event : seriesEvents) {
-          Event copiedEvent = copyEventWithSeries(event, target, rangeStart,
-              targetStart, newSeriesId);
-          if (copiedEvent != null) {
-            copied.add(copiedEvent);
-          }
-        }
-      }
-    }
-    return copied;
-  }
-
   /**
    * Copies multiple events from the series.
    *
@@ -844,81 +1111,107 @@ public class CalendarImpl implements Calendar {
   }
 
   /**
-   * Copies the events within series, as new events in series are being created
-   * with new series id.
-   *
-   * @param event       event to be copied
-   * @param target      target calendar to which the events need to copied
-   * @param rangeStart  start range date
-   * @param targetStart target start range date
-   * @param seriesId    series Id
-   * @return event copied
+   * Inner helper class to group events of one series together, and standalone events together.
    */
 
-  private Event copyEventWithSeries(Event event, Calendar target, LocalDate rangeStart,
-                                    LocalDate targetStart, String seriesId) {
-    LocalDateTime targetDateTime = calculateTargetDateTime(
-        event.getStartDate(), event.getStartTime(), rangeStart, targetStart);
-    ZoneId targetTimeZone = target.getCalendarTimeZone();
-    LocalDateTime adjustedStart = adjustForTimezone(targetDateTime, targetTimeZone);
+  private static class EventGroups {
+    final Map<String, List<Event>> seriesGroups;
+    final List<Event> standaloneEvents;
 
-    long daysDuration = ChronoUnit.DAYS.between(event.getStartDate(), event.getEndDate());
-    LocalDateTime targetEnd = adjustedStart.plusDays(daysDuration)
-        .with(event.getEndTime());
-    LocalDateTime adjustedEnd = adjustForTimezone(targetEnd, targetTimeZone);
+    /**
+     * Constructor to construct the event grouping object.
+     *
+     * @param seriesGroups     Map of series and their events
+     * @param standaloneEvents list of standalone events
+     */
 
-    Event copiedEvent = createEventCopy(event, target, adjustedStart, adjustedEnd, seriesId);
-    return saveEventIfNoConflict(copiedEvent, target) ? copiedEvent : null;
+    EventGroups(Map<String, List<Event>> seriesGroups, List<Event> standaloneEvents) {
+      this.seriesGroups = seriesGroups;
+      this.standaloneEvents = standaloneEvents;
+    }
   }
 
   /**
-   * Helper method which sorts the events by date.
-   *
-   * @param events events list to be sorted
-   * @return sorted events list
+   * Events copied together with the same series id, a series group or a slice of the
+   * standalone events.
    */
 
-  private List<Event> sortEventsByDate(List<Event> events) {
-    events.sort((e1, e2) -> {
-      int dateComp = e1.getStartDate().compareTo(e2.getStartDate());
-      return dateComp != 0 ? dateComp : e1.getStartTime().compareTo(e2.getStartTime());
-    });
-    return events;
-  }
+  private static class CopyUnit {
+    final List<Event> events;
+    final String seriesId;
 
-  /**
-   * To print the summary of all copied events in command UI.
-   *
-   * @param totalCopied total copied events count
-   * @param groups      event groups to print standalone events copied and series events copied
-   */
+    /**
+     * Constructs a unit of a copy between dates.
+     *
+     * @param events   events of the unit
+     * @param seriesId series id of their copies, or null for standalone copies
+     */
 
-  private void printCopySummary(int totalCopied, EventGroups groups) {
-    System.out.println("\nCopy Summary:");
-    System.out.println("- Total events copied: " + totalCopied);
-    System.out.println("- Standalone events: " + groups.standaloneEvents.size());
-    System.out.println("- Series processed: " + groups.seriesGroups.size());
+    CopyUnit(List<Event> events, String seriesId) {
+      this.events = events;
+      this.seriesId = seriesId;
+    }
   }
 
   /**
-   * Inner helper class to group events of one series together, and standalone events together.
+   * Fork join task creating the copies of a range of copy units, split in halves until a
+   * task holds a single unit, and joined back in unit order.
+   * The tasks only read the events of this calendar and create copies, they do not write
+   * to either calendar.
    */
 
-  private static class EventGroups {
-    final Map<String, List<Event>> seriesGroups;
-    final List<Event> standaloneEvents;
+  private class CopyUnitsTask extends RecursiveTask<List<Event>> {
+    private static final long serialVersionUID = 1L;
+
+    private final List<CopyUnit> units;
+    private final int from;
+    private final int to;
+    private final Calendar target;
+    private final LocalDate rangeStart;
+    private final LocalDate targetStart;
+    private final TimezoneShift shift;
+
+    CopyUnitsTask(List<CopyUnit> units, int from, int to, Calendar target,
+                  LocalDate rangeStart, LocalDate targetStart, TimezoneShift shift) {
+      this.units = units;
+      this.from = from;
+      this.to = to;
+      this.target = target;
+      this.rangeStart = rangeStart;
+      this.targetStart = targetStart;
+      this.shift = shift;
+    }
+
+    @Override
+    protected List<Event> compute() {
+      if (to - from > 1) {
+        int middle = (from + to) >>> 1;
+        CopyUnitsTask second = new CopyUnitsTask(units, middle, to, target, rangeStart,
+            targetStart, shift);
+        second.fork();
+        List<Event> copies = new CopyUnitsTask(units, from, middle, target, rangeStart,
+            targetStart, shift).compute();
+        copies.addAll(second.join());
+        return copies;
+      }
+      return copyUnits();
+    }
 
     /**
-     * Constructor to construct the event grouping object.
+     * Creates the copies of the units of this task one after the other, on the calling
+     * thread.
      *
-     * @param seriesGroups     Map of series and their events
-     * @param standaloneEvents list of standalone events
+     * @return the copies in unit order
      */
 
-    EventGroups(Map<String, List<Event>> seriesGroups, List<Event> standaloneEvents) {
-      this.seriesGroups = seriesGroups;
-      this.standaloneEvents = standaloneEvents;
+    List<Event> copyUnits() {
+      List<Event> copies = new ArrayList<>();
+      for (int i = from; i < to; i++) {
+        CopyUnit unit = units.get(i);
+        copies.addAll(copyGroupInRange(unit.events, unit.seriesId, target, rangeStart,
+            targetStart, shift));
+      }
+      return copies;
     }
   }
 }
-
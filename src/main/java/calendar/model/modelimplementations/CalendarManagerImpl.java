@@ -2,9 +2,22 @@ package calendar.model.modelimplementations;
 
 import calendar.model.modelinterfaces.Calendar;
 import calendar.model.modelinterfaces.CalendarManager;
+import calendar.model.modelutility.ExportCalendar;
+import calendar.model.modelutility.ExportSummary;
+import java.io.File;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.management.openmbean.KeyAlreadyExistsException;
 
 /**
@@ -13,7 +26,10 @@ import javax.management.openmbean.KeyAlreadyExistsException;
  */
 
 public class CalendarManagerImpl implements CalendarManager {
+  private static final int EXPORT_THREADS = Runtime.getRuntime().availableProcessors();
+
   private final Map<String, Calendar> calendarManagerStore;
+  private final OperationJournal journal;
   private String currentCalendarName;
 
   /**
@@ -22,6 +38,7 @@ public class CalendarManagerImpl implements CalendarManager {
 
   public CalendarManagerImpl() {
     this.calendarManagerStore = new HashMap<>();
+    this.journal = new OperationJournal(OperationJournal.DEFAULT_BUDGET_BYTES);
     this.currentCalendarName = null;
   }
 
@@ -34,6 +51,7 @@ public class CalendarManagerImpl implements CalendarManager {
 
   public CalendarManagerImpl(String nameOfCalendar, String timeZone) {
     this.calendarManagerStore = new HashMap<>();
+    this.journal = new OperationJournal(OperationJournal.DEFAULT_BUDGET_BYTES);
     Calendar newCal = this.createCalendar(nameOfCalendar, timeZone);
     this.saveCalendar(newCal);
     this.currentCalendarName = nameOfCalendar;
@@ -94,4 +112,104 @@ public class CalendarManagerImpl implements CalendarManager {
     getCalendarManagerStore().put(calendar.getCalendarName(), calendar);
 
   }
+
+  @Override
+  public ExportSummary exportAll(List<String> calendarNames, String directory,
+                                 String format) {
+    long started = System.nanoTime();
+    List<String> names = calendarNames != null
+        ? calendarNames : new ArrayList<>(new TreeSet<>(calendarManagerStore.keySet()));
+
+    Map<String, Calendar> snapshots = new LinkedHashMap<>();
+    for (String name : names) {
+      Calendar calendar = getCalendar(name);
+      if (calendar == null) {
+        System.out.println("No calendar found with name: " + name);
+      } else {
+        snapshots.put(name, new CalendarImpl(calendar));
+      }
+    }
+
+    List<ExportSummary.CalendarExport> exports = new ArrayList<>();
+    if (snapshots.isEmpty()) {
+      return new ExportSummary(exports, System.nanoTime() - started);
+    }
+
+    ExecutorService pool =
+        Executors.newFixedThreadPool(Math.min(snapshots.size(), EXPORT_THREADS));
+    Set<String> usedFiles = new HashSet<>();
+    Map<String, Future<ExportSummary.CalendarExport>> pending = new LinkedHashMap<>();
+    Map<String, String> files = new HashMap<>();
+    try {
+      for (Map.Entry<String, Calendar> snapshot : snapshots.entrySet()) {
+        String filename = exportFileName(directory, snapshot.getKey(), format, usedFiles);
+        files.put(snapshot.getKey(), filename);
+        pending.put(snapshot.getKey(), pool.submit(() -> {
+          ExportCalendar export = new ExportCalendar(filename, snapshot.getValue());
+          export.exportCalendar();
+          return new ExportSummary.CalendarExport(snapshot.getKey(), filename,
+              export.getEventCount(), export.getByteCount(), export.isExported());
+        }));
+      }
+
+      for (Map.Entry<String, Future<ExportSummary.CalendarExport>> result
+          : pending.entrySet()) {
+        try {
+          exports.add(result.getValue().get());
+        } catch (ExecutionException e) {
+          System.out.println("Error exporting calendar " + result.getKey() + ": "
+              + e.getCause().getMessage());
+          exports.add(new ExportSummary.CalendarExport(result.getKey(),
+              files.get(result.getKey()), 0, 0, false));
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      pool.shutdownNow();
+    } finally {
+      pool.shutdown();
+    }
+
+    return new ExportSummary(exports, System.nanoTime() - started);
+  }
+
+  /**
+   * Builds the file name a calendar is exported to, replacing characters which are not
+   * safe in file names and numbering names which are already taken by another calendar.
+   */
+
+  private static String exportFileName(String directory, String calendarName, String format,
+                                       Set<String> usedFiles) {
+    String base = calendarName.replaceAll("[^A-Za-z0-9._-]", "_");
+    String name = base + "." + format;
+    for (int i = 2; !usedFiles.add(name); i++) {
+      name = base + "-" + i + "." + format;
+    }
+    return new File(directory, name).getPath();
+  }
+
+  @Override
+  public void recordOperation(String description, Runnable operation) {
+    journal.record(description, calendarManagerStore, operation);
+  }
+
+  @Override
+  public String undo() {
+    return journal.undo(calendarManagerStore);
+  }
+
+  @Override
+  public String redo() {
+    return journal.redo(calendarManagerStore);
+  }
+
+  @Override
+  public boolean canUndo() {
+    return journal.canUndo();
+  }
+
+  @Override
+  public boolean canRedo() {
+    return journal.canRedo();
+  }
 }
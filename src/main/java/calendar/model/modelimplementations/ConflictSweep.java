@@ -0,0 +1,164 @@
+package calendar.model.modelimplementations;
+
+import calendar.model.modelinterfaces.Event;
+import calendar.model.modelutility.EventConflict;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Sweep lines over events in start date time order. Two events conflict when they overlap
+ * by more than a shared start or end date time, as with {@code hasConflict}.
+ * One sweep decides which of a batch of new events can be saved next to the existing
+ * events of a calendar without a conflict, the way saving them one by one would. Both
+ * lists are walked once, carrying the latest end date time of the events which started
+ * before the new event, so the batch is checked in O(n + m) instead of scanning the
+ * calendar for every new event.
+ * The other lists every pair of conflicting events, keeping the events which have not
+ * ended yet in a heap ordered by end date time, in O(n log n + k) for k pairs.
+ *
+ */
+
+final class ConflictSweep {
+
+  private ConflictSweep() {
+  }
+
+  /**
+   * Accepts the new events which conflict neither with an existing event nor with a new
+   * event accepted before them, in start date time order.
+   *
+   * @param existing  existing events which may overlap the new events, ordered by start
+   * @param events    new events, ordered by start
+   * @param conflicts list the rejected new events are added to
+   * @return the accepted new events, ordered by start
+   */
+
+  static List<Event> accept(List<Event> existing, List<Event> events, List<Event> conflicts) {
+    List<Event> accepted = new ArrayList<>(events.size());
+    LocalDateTime reach = null;
+    LocalDateTime slotStart = null;
+    LocalDateTime slotReach = null;
+    int next = 0;
+
+    for (Event event : events) {
+      LocalDateTime start = startOf(event);
+      LocalDateTime end = endOf(event);
+
+      if (slotStart != null && slotStart.isBefore(start)) {
+        reach = later(reach, slotReach);
+        slotStart = null;
+        slotReach = null;
+      }
+      while (next < existing.size() && startOf(existing.get(next)).isBefore(start)) {
+        reach = later(reach, endOf(existing.get(next)));
+        next++;
+      }
+
+      boolean conflict = reach != null && reach.isAfter(start)
+          || slotReach != null && slotReach.isAfter(start) && end.isAfter(start);
+      for (int i = next; !conflict && i < existing.size(); i++) {
+        Event other = existing.get(i);
+        if (!startOf(other).isBefore(end)) {
+          break;
+        }
+        conflict = endOf(other).isAfter(start);
+      }
+
+      if (conflict) {
+        conflicts.add(event);
+      } else {
+        accepted.add(event);
+        slotStart = start;
+        slotReach = later(slotReach, end);
+      }
+    }
+    return accepted;
+  }
+
+  /**
+   * Lists the pairs of conflicting events, lazily, in the order their overlaps start.
+   * Only the pairs whose overlap ends after the given date time are listed, so the events
+   * may start before it by as much as the longest event.
+   *
+   * @param events events ordered by start
+   * @param from   date time the overlaps must end after, or null to list every pair
+   * @return iterator over the conflicting pairs
+   */
+
+  static Iterator<EventConflict> conflicts(Iterator<Event> events, LocalDateTime from) {
+    return new Iterator<>() {
+      private final PriorityQueue<Active> active =
+          new PriorityQueue<>(Comparator.comparing((Active a) -> a.end));
+      private final ArrayDeque<EventConflict> pending = new ArrayDeque<>();
+
+      @Override
+      public boolean hasNext() {
+        while (pending.isEmpty() && events.hasNext()) {
+          advance(events.next());
+        }
+        return !pending.isEmpty();
+      }
+
+      @Override
+      public EventConflict next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return pending.poll();
+      }
+
+      private void advance(Event event) {
+        Active current = new Active(event);
+        while (!active.isEmpty() && !active.peek().end.isAfter(current.start)) {
+          active.poll();
+        }
+        for (Active other : active) {
+          if (other.start.isBefore(current.end)) {
+            LocalDateTime overlapEnd = other.end.isBefore(current.end) ? other.end : current.end;
+            if (from == null || overlapEnd.isAfter(from)) {
+              pending.add(new EventConflict(other.event, event, current.start, overlapEnd));
+            }
+          }
+        }
+        active.add(current);
+      }
+    };
+  }
+
+  private static LocalDateTime later(LocalDateTime first, LocalDateTime second) {
+    if (first == null) {
+      return second;
+    }
+    return second == null || first.isAfter(second) ? first : second;
+  }
+
+  static LocalDateTime startOf(Event event) {
+    return LocalDateTime.of(event.getStartDate(), event.getStartTime());
+  }
+
+  static LocalDateTime endOf(Event event) {
+    return LocalDateTime.of(event.getEndDate(), event.getEndTime());
+  }
+
+  /**
+   * Event in the active set of the sweep, with its start and end date times.
+   */
+
+  private static final class Active {
+    private final Event event;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+
+    Active(Event event) {
+      this.event = event;
+      this.start = startOf(event);
+      this.end = endOf(event);
+    }
+  }
+}
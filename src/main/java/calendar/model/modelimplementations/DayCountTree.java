@@ -0,0 +1,156 @@
+package calendar.model.modelimplementations;
+
+import java.time.LocalDate;
+
+/**
+ * Fenwick tree of the number of events starting on every day, indexed by epoch day.
+ * Adding or removing an event and counting the events starting within any range of days
+ * are O(log d), d being the number of days the tree spans. The tree starts out spanning 512
+ * days around the first day added and doubles its span whenever a day outside of it is
+ * added, rebuilding itself in O(d) from the plain per day counts it keeps alongside.
+ *
+ */
+
+class DayCountTree {
+
+  private static final int INITIAL_DAYS = 512;
+
+  private long firstDay;
+  private int[] counts;
+  private int[] tree;
+  private int total;
+
+  /**
+   * Constructs an empty tree.
+   */
+
+  DayCountTree() {
+    clear();
+  }
+
+  /**
+   * Constructs a copy of a tree, in O(d).
+   *
+   * @param other the tree to copy
+   */
+
+  DayCountTree(DayCountTree other) {
+    this.firstDay = other.firstDay;
+    this.counts = other.counts.clone();
+    this.tree = other.tree.clone();
+    this.total = other.total;
+  }
+
+  /**
+   * Adds to the number of events starting on a day.
+   *
+   * @param date  the start date
+   * @param delta 1 for an added event, -1 for a removed one
+   */
+
+  void add(LocalDate date, int delta) {
+    long day = date.toEpochDay();
+    if (counts.length == 0) {
+      firstDay = day - INITIAL_DAYS / 2;
+      counts = new int[INITIAL_DAYS];
+      tree = new int[INITIAL_DAYS + 1];
+    } else if (day < firstDay || day >= firstDay + counts.length) {
+      grow(day);
+    }
+    int index = (int) (day - firstDay);
+    counts[index] += delta;
+    total += delta;
+    for (int i = index + 1; i < tree.length; i += i & -i) {
+      tree[i] += delta;
+    }
+  }
+
+  /**
+   * Counts the events starting within a range of days.
+   *
+   * @param from first day of the range (inclusive), or null for an open start
+   * @param to   last day of the range (inclusive), or null for an open end
+   * @return the number of events starting within the range
+   */
+
+  int count(LocalDate from, LocalDate to) {
+    if (counts.length == 0) {
+      return 0;
+    }
+    long lastDay = firstDay + counts.length - 1;
+    long fromDay = from == null ? firstDay : Math.max(from.toEpochDay(), firstDay);
+    long toDay = to == null ? lastDay : Math.min(to.toEpochDay(), lastDay);
+    if (fromDay > toDay) {
+      return 0;
+    }
+    if (fromDay == firstDay && toDay == lastDay) {
+      return total;
+    }
+    return prefix((int) (toDay - firstDay) + 1) - prefix((int) (fromDay - firstDay));
+  }
+
+  /**
+   * Counts the events starting on a single day, in O(1).
+   *
+   * @param date the day
+   * @return the number of events starting on it
+   */
+
+  int countOn(LocalDate date) {
+    long day = date.toEpochDay();
+    if (day < firstDay || day >= firstDay + counts.length) {
+      return 0;
+    }
+    return counts[(int) (day - firstDay)];
+  }
+
+  /**
+   * Removes every count.
+   */
+
+  void clear() {
+    firstDay = 0;
+    counts = new int[0];
+    tree = new int[1];
+    total = 0;
+  }
+
+  /**
+   * Sums the counts of the first days of the tree.
+   *
+   * @param days number of days from the first day of the tree
+   */
+
+  private int prefix(int days) {
+    int sum = 0;
+    for (int i = days; i > 0; i -= i & -i) {
+      sum += tree[i];
+    }
+    return sum;
+  }
+
+  private void grow(long day) {
+    long newFirstDay = Math.min(firstDay, day);
+    long newEnd = Math.max(firstDay + counts.length, day + 1);
+    int length = counts.length;
+    while (length < newEnd - newFirstDay) {
+      length *= 2;
+    }
+    if (day < firstDay) {
+      newFirstDay = newEnd - length;
+    }
+
+    int[] grown = new int[length];
+    System.arraycopy(counts, 0, grown, (int) (firstDay - newFirstDay), counts.length);
+    firstDay = newFirstDay;
+    counts = grown;
+    tree = new int[length + 1];
+    for (int i = 1; i <= length; i++) {
+      tree[i] += counts[i - 1];
+      int parent = i + (i & -i);
+      if (parent <= length) {
+        tree[parent] += tree[i];
+      }
+    }
+  }
+}
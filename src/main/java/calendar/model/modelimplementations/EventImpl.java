@@ -27,6 +27,8 @@ public class EventImpl implements Event {
   protected Location location;
   protected Status status;
   String eventSeriesId;
+  long version;
+  Object owner;
 
 
   /**
@@ -66,6 +68,25 @@ public class EventImpl implements Event {
     this.status = Status.valueOf(other.getStatus());
     this.description = other.getDescription();
     this.location = Location.valueOf(other.getLocation());
+    this.version = other.getVersion();
+  }
+
+  /**
+   * Restores every property of the event from a copy taken before it was edited.
+   *
+   * @param snapshot the copy of the event
+   */
+
+  void restore(EventImpl snapshot) {
+    this.subject = snapshot.subject;
+    this.startDate = snapshot.startDate;
+    this.endDate = snapshot.endDate;
+    this.startTime = snapshot.startTime;
+    this.endTime = snapshot.endTime;
+    this.eventSeriesId = snapshot.eventSeriesId;
+    this.status = snapshot.status;
+    this.description = snapshot.description;
+    this.location = snapshot.location;
   }
 
   /**
@@ -146,6 +167,11 @@ public class EventImpl implements Event {
     return this.eventSeriesId;
   }
 
+  @Override
+  public long getVersion() {
+    return this.version;
+  }
+
   @Override
   public Event modifySubject(String subject) {
     if (subject.equals(this.subject)) {
@@ -6,11 +6,12 @@ import static calendar.utility.GenerateSeriesId.generateSeriesId;
 import calendar.model.modelinterfaces.Calendar;
 import calendar.model.modelinterfaces.Event;
 import calendar.model.modelinterfaces.EventSeries;
+import calendar.model.modelutility.Location;
+import calendar.model.modelutility.Status;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
-import javax.management.openmbean.KeyAlreadyExistsException;
 
 /**
  * Implementation of Event series object class.
@@ -74,41 +75,86 @@ public class EventSeriesImpl implements EventSeries {
     return this.repeatDays;
   }
 
+  /**
+   * Creates the occurrences of the series following the given first event and saves them
+   * into the calendar in one batch.
+   * The repeat days are turned into a bitmask of weekdays, from which the number of days
+   * to the next repeat day is precomputed for every weekday, so the expansion jumps from
+   * one occurrence to the next instead of testing every day in between.
+   *
+   * @param event    the first event of the series, which is already saved
+   * @param calendar the calendar to save the occurrences into
+   */
+
   @Override
   public void constructSeriesEvents(Event event, Calendar calendar) {
-    int createdCount = 1;
-    LocalDate current = event.getStartDate();
+    int repeatMask = 0;
+    for (DayOfWeek day : this.repeatDays) {
+      repeatMask |= 1 << day.ordinal();
+    }
+    if (repeatMask == 0) {
+      return;
+    }
+    int[] daysToNext = daysToNextRepeatDay(repeatMask);
+
+    long day = event.getStartDate().toEpochDay();
+    int weekday = event.getStartDate().getDayOfWeek().ordinal();
+    List<Event> occurrences;
 
     if (this.getOccurrences() > 0) {
-      current = current.plusDays(1);
-
-      while (createdCount < this.getOccurrences()) {
-        if (this.repeatDays.contains(current.getDayOfWeek())) {
-          Event newEvent = createCopyOfEventOnDate(event, current);
-          try {
-            calendar.saveEvent(newEvent);
-            createdCount++;
-          } catch (KeyAlreadyExistsException e) {
-            System.out.println("Skipping duplicate event on " + current);
-          }
-        }
-        current = current.plusDays(1);
+      occurrences = new ArrayList<>(this.getOccurrences() - 1);
+      while (occurrences.size() < this.getOccurrences() - 1) {
+        day += daysToNext[weekday];
+        weekday = (weekday + daysToNext[weekday]) % 7;
+        occurrences.add(createOccurrenceOnDate(event, LocalDate.ofEpochDay(day)));
       }
     } else if (this.getLastDate() != null) {
-      current = current.plusDays(1);
-
-      while (!current.isAfter(this.getLastDate())) {
-        if (this.repeatDays.contains(current.getDayOfWeek())) {
-          Event newEvent = createCopyOfEventOnDate(event, current);
-          try {
-            calendar.saveEvent(newEvent);
-          } catch (KeyAlreadyExistsException e) {
-            System.out.println("Skipping duplicate event on " + current);
-          }
+      long lastDay = this.getLastDate().toEpochDay();
+      long weeks = Math.max(0, (lastDay - day) / 7 + 1);
+      occurrences = new ArrayList<>((int) Math.min(Integer.MAX_VALUE,
+          weeks * Integer.bitCount(repeatMask)));
+      while (true) {
+        day += daysToNext[weekday];
+        weekday = (weekday + daysToNext[weekday]) % 7;
+        if (day > lastDay) {
+          break;
         }
-        current = current.plusDays(1);
+        occurrences.add(createOccurrenceOnDate(event, LocalDate.ofEpochDay(day)));
+      }
+    } else {
+      return;
+    }
+
+    calendar.saveEvents(occurrences);
+  }
+
+  /**
+   * Computes, for every weekday, the number of days to the next day of the mask.
+   *
+   * @param repeatMask bit i set for the weekday of ordinal i
+   * @return days to the next repeat day, between 1 and 7, indexed by weekday ordinal
+   */
+
+  private static int[] daysToNextRepeatDay(int repeatMask) {
+    int[] daysToNext = new int[7];
+    for (int weekday = 0; weekday < 7; weekday++) {
+      int days = 1;
+      while ((repeatMask & (1 << ((weekday + days) % 7))) == 0) {
+        days++;
       }
+      daysToNext[weekday] = days;
     }
+    return daysToNext;
+  }
+
+  /**
+   * Creates an occurrence of a series on a date, with the same fields as
+   * createCopyOfEventOnDate but without going through the builder.
+   */
+
+  private static Event createOccurrenceOnDate(Event event, LocalDate date) {
+    return new EventImpl(event.getSubject(), date, date, event.getStartTime(),
+        event.getEndTime(), event.getEventSeriesId(), Status.Private, " ", Location.Online);
   }
 
 
@@ -0,0 +1,897 @@
+package calendar.model.modelimplementations;
+
+import calendar.model.modelinterfaces.Event;
+import calendar.model.modelutility.CalendarChanges;
+import calendar.model.modelutility.CalendarChanges.ChangeType;
+import calendar.model.modelutility.EventConflict;
+import calendar.model.modelutility.EventKey;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The calendar store of a calendar: a map of event keys to events, indexed by start day,
+ * start date time and series id, with a version bumped by every mutation and a log of the
+ * keys each mutation touched.
+ *
+ */
+
+class EventStore extends AbstractMap<EventKey, Event> {
+
+  static final int CHANGE_LOG_CAPACITY = 1 << 17;
+
+  private NavigableMap<LocalDate, Day> byDay;
+  private Map<String, Series> bySeries;
+  private DayCountTree dayCounts;
+  private int size;
+  private final ArrayDeque<LoggedChange> changeLog;
+  private final EntrySet entrySet;
+  private long version;
+  private long truncatedVersion;
+  private long longestSeconds;
+  private boolean shared;
+  private Object owner;
+  private Object generation;
+  private long copies;
+  private Map<EventKey, Event> journal;
+
+  /**
+   * Constructs an empty event store.
+   */
+
+  EventStore() {
+    this.byDay = new TreeMap<>();
+    this.bySeries = new HashMap<>();
+    this.dayCounts = new DayCountTree();
+    this.changeLog = new ArrayDeque<>();
+    this.entrySet = new EntrySet();
+    this.owner = new Object();
+    this.generation = new Object();
+  }
+
+  /**
+   * Constructs a copy-on-write clone of a store, at the same version as the store, in
+   * O(1). The clone and the store share their index and events: after the clone, the first
+   * mutation of either store copies the map of days, the map of series and the day counts,
+   * and every day or series is copied on its first mutation, so the days and series left
+   * untouched are never copied.
+   * The change log of the clone starts empty, so changes made before the clone cannot be
+   * netted from it. The events of the store are no longer owned by it once cloned.
+   *
+   * @param source the store to clone
+   */
+
+  EventStore(EventStore source) {
+    this.byDay = source.byDay;
+    this.bySeries = source.bySeries;
+    this.dayCounts = source.dayCounts;
+    this.size = source.size;
+    this.longestSeconds = source.longestSeconds;
+    this.changeLog = new ArrayDeque<>();
+    this.entrySet = new EntrySet();
+    this.version = source.version;
+    this.truncatedVersion = source.version;
+    this.shared = true;
+    this.owner = new Object();
+    this.generation = new Object();
+    source.shared = true;
+    source.owner = new Object();
+    source.generation = new Object();
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return lookup(key) != null;
+  }
+
+  @Override
+  public Event get(Object key) {
+    return lookup(key);
+  }
+
+  @Override
+  public Event put(EventKey key, Event event) {
+    journal(key);
+    detach();
+    long current = ++version;
+    Event saved = claim(event);
+    Event previous = lookup(key);
+    if (previous != null) {
+      log(current, key, unindex(key), false);
+    }
+    index(key, saved);
+    log(current, key, saved.getEventSeriesId(), true);
+    stamp(saved, current);
+    return previous;
+  }
+
+  @Override
+  public Event remove(Object key) {
+    if (!(key instanceof EventKey)) {
+      return null;
+    }
+    Event removed = lookup(key);
+    if (removed == null) {
+      return null;
+    }
+    journal((EventKey) key);
+    detach();
+    removed((EventKey) key, ++version);
+    return removed;
+  }
+
+  @Override
+  public void clear() {
+    detach();
+    long current = ++version;
+    for (Day day : byDay.values()) {
+      for (Map<EventKey, Event> slot : day.slots.values()) {
+        for (EventKey key : slot.keySet()) {
+          journal(key);
+          log(current, key, day.seriesOfKey.get(key), false);
+        }
+      }
+    }
+    byDay.clear();
+    bySeries.clear();
+    dayCounts.clear();
+    size = 0;
+    longestSeconds = 0;
+  }
+
+  @Override
+  public Set<Entry<EventKey, Event>> entrySet() {
+    return entrySet;
+  }
+
+  @Override
+  public Collection<Event> values() {
+    return new AbstractCollection<>() {
+      @Override
+      public int size() {
+        return size;
+      }
+
+      @Override
+      public Iterator<Event> iterator() {
+        EntryIterator entries = new EntryIterator(byDay, null, null);
+        return new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return entries.hasNext();
+          }
+
+          @Override
+          public Event next() {
+            return entries.next().getValue();
+          }
+
+          @Override
+          public void remove() {
+            entries.remove();
+          }
+        };
+      }
+    };
+  }
+
+  /**
+   * Returns the events whose key starts within the given range, in start date time order.
+   * The returned iterable is a live view of the store and must not be used across
+   * modifications of the store.
+   *
+   * @param fromInclusive start of the range, or null for an open start
+   * @param toExclusive   end of the range, or null for an open end
+   * @return the events starting within the range ordered by start date time
+   */
+
+  Iterable<Event> startingBetween(LocalDateTime fromInclusive, LocalDateTime toExclusive) {
+    if (fromInclusive != null && toExclusive != null && !fromInclusive.isBefore(toExclusive)) {
+      return Collections.emptyList();
+    }
+    NavigableMap<LocalDate, Day> days = byDay;
+    return () -> {
+      EntryIterator entries = new EntryIterator(days, fromInclusive, toExclusive);
+      return new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          return entries.hasNext();
+        }
+
+        @Override
+        public Event next() {
+          return entries.next().getValue();
+        }
+      };
+    };
+  }
+
+  /**
+   * Returns the events whose key starts before the end of a range and ends at or after its
+   * start, in start date time order. Only the events starting at most the longest event
+   * ever indexed before the range are visited.
+   *
+   * @param fromInclusive start of the range
+   * @param toExclusive   end of the range
+   * @return the events overlapping the range ordered by start date time
+   */
+
+  List<Event> overlapping(LocalDateTime fromInclusive, LocalDateTime toExclusive) {
+    List<Event> events = new ArrayList<>();
+    for (Event event : startingBetween(fromInclusive.minusSeconds(longestSeconds),
+        toExclusive)) {
+      if (!LocalDateTime.of(event.getEndDate(), event.getEndTime()).isBefore(fromInclusive)) {
+        events.add(event);
+      }
+    }
+    return events;
+  }
+
+  /**
+   * Lists the pairs of conflicting events whose overlap intersects a range, lazily, in
+   * the order their overlaps start. The returned iterator reads a live view of the store
+   * and must not be used across modifications of the store.
+   *
+   * @param fromInclusive start of the range, or null for an open start
+   * @param toExclusive   end of the range, or null for an open end
+   * @return iterator over the conflicting pairs
+   */
+
+  Iterator<EventConflict> conflicts(LocalDateTime fromInclusive, LocalDateTime toExclusive) {
+    LocalDateTime earliestStart =
+        fromInclusive == null ? null : fromInclusive.minusSeconds(longestSeconds);
+    return ConflictSweep.conflicts(startingBetween(earliestStart, toExclusive).iterator(),
+        fromInclusive);
+  }
+
+  /**
+   * Adds a batch of events whose keys are not in the store yet, under a single version.
+   * Every event is indexed and logged as with put, but the version is only bumped once.
+   *
+   * @param events the events to add by their keys, none of which may be in the store
+   */
+
+  void addAll(Map<EventKey, Event> events) {
+    if (events.isEmpty()) {
+      return;
+    }
+    detach();
+    long current = ++version;
+    for (Entry<EventKey, Event> entry : events.entrySet()) {
+      EventKey key = entry.getKey();
+      Event event = claim(entry.getValue());
+      journal(key);
+      index(key, event);
+      log(current, key, event.getEventSeriesId(), true);
+      stamp(event, current);
+    }
+  }
+
+  /**
+   * Re-keys a batch of events of the store under a single version. Every old key is
+   * removed and every event is added again under its new key, indexed and logged as with
+   * remove and put, so an event whose key did not change is still reported as changed.
+   *
+   * @param oldKeys keys the events are stored under
+   * @param events  the events by their new keys, replacing any event stored under a new
+   *                key which is not an old key
+   */
+
+  void rekeyAll(List<EventKey> oldKeys, Map<EventKey, Event> events) {
+    if (oldKeys.isEmpty() && events.isEmpty()) {
+      return;
+    }
+    detach();
+    long current = ++version;
+    for (EventKey key : oldKeys) {
+      journal(key);
+      if (lookup(key) != null) {
+        removed(key, current);
+      }
+    }
+    for (Entry<EventKey, Event> entry : events.entrySet()) {
+      EventKey key = entry.getKey();
+      Event event = claim(entry.getValue());
+      journal(key);
+      if (lookup(key) != null) {
+        log(current, key, unindex(key), false);
+      }
+      index(key, event);
+      log(current, key, event.getEventSeriesId(), true);
+      stamp(event, current);
+    }
+  }
+
+  /**
+   * Returns the event stored under a key for it to be edited, first replacing it with a
+   * copy owned by this store if it is still shared with a clone of the store. Events stay
+   * shared between clones until they are taken out to be edited, so a clone copies only
+   * the events it edits. The copy keeps the key and version of the event, so the store
+   * does not change version, but the number of copies does.
+   *
+   * @param key key of the event
+   * @return the event owned by this store, or null if there is no event under the key
+   */
+
+  Event own(EventKey key) {
+    Event event = lookup(key);
+    if (event != null) {
+      journal(key);
+    }
+    if (event == null || owns(event)) {
+      return event;
+    }
+    detach();
+    Event copy = claim(event);
+    copies++;
+    Day day = ownDay(key.getStartDate());
+    day.slots.get(startOf(key)).put(key, copy);
+    String seriesId = day.seriesOfKey.get(key);
+    if (seriesId != null) {
+      ownSeries(seriesId).events.put(key, copy);
+    }
+    return copy;
+  }
+
+  /**
+   * Returns an event this store can save and edit: the event itself if it is owned by this
+   * store or by no store yet, which it then is, or else a copy owned by this store.
+   *
+   * @param event the event
+   * @return the event or its copy, owned by this store
+   */
+
+  Event claim(Event event) {
+    if (!(event instanceof EventImpl) || owns(event)) {
+      return event;
+    }
+    EventImpl impl = (EventImpl) event;
+    if (impl.owner == null) {
+      impl.owner = owner;
+      return impl;
+    }
+    EventImpl copy = new EventImpl(impl);
+    copy.owner = owner;
+    return copy;
+  }
+
+  private boolean owns(Event event) {
+    return !(event instanceof EventImpl) || ((EventImpl) event).owner == owner;
+  }
+
+  /**
+   * Fills this empty store with copies of the given events, continuing from the version
+   * of the store they were copied from. The copies keep their versions, and the change
+   * log of this store starts empty, so changes made before the copy cannot be netted
+   * from it.
+   *
+   * @param events        events to copy by their keys
+   * @param sourceVersion version of the store the events were copied from
+   */
+
+  void copyFrom(Map<EventKey, Event> events, long sourceVersion) {
+    for (Entry<EventKey, Event> entry : events.entrySet()) {
+      Event copy = new EventImpl(entry.getValue());
+      ((EventImpl) copy).owner = owner;
+      index(entry.getKey(), copy);
+    }
+    version = sourceVersion;
+    truncatedVersion = sourceVersion;
+  }
+
+  /**
+   * Returns the events of a series, in the order they were saved.
+   * The returned collection is a live view of the store and must not be used across
+   * modifications of the store.
+   *
+   * @param seriesId the series id
+   * @return the events of the series, empty if there are none
+   */
+
+  Collection<Event> inSeries(String seriesId) {
+    Series series = bySeries.get(seriesId);
+    return series == null ? Collections.emptyList() : series.events.values();
+  }
+
+  /**
+   * Counts the events whose key starts within a range of days, in O(log d) over the d
+   * days the store spans.
+   *
+   * @param from first day of the range (inclusive), or null for an open start
+   * @param to   last day of the range (inclusive), or null for an open end
+   * @return the number of events starting within the range
+   */
+
+  int countStartingBetween(LocalDate from, LocalDate to) {
+    return dayCounts.count(from, to);
+  }
+
+  /**
+   * Counts the events whose key starts on a day, in O(1).
+   *
+   * @param date the day
+   * @return the number of events starting on it
+   */
+
+  int countStartingOn(LocalDate date) {
+    return dayCounts.countOn(date);
+  }
+
+  /**
+   * Gets the version of the store, which is bumped by every mutation.
+   *
+   * @return the current version
+   */
+
+  long getVersion() {
+    return version;
+  }
+
+  /**
+   * Gets the number of events replaced by owned copies by {@link #own}, which changes the
+   * events the store returns without changing its version.
+   *
+   * @return the number of copies
+   */
+
+  long getCopies() {
+    return copies;
+  }
+
+  /**
+   * Bumps the version of the store for a change which does not touch any event key.
+   */
+
+  void touch() {
+    version++;
+  }
+
+  /**
+   * Nets the logged changes made after the given version into one change per event key.
+   *
+   * @param sinceVersion version the changes are relative to
+   * @return the changes since the version, or null if the change log no longer reaches
+   *         back to it
+   */
+
+  CalendarChanges changesSince(long sinceVersion) {
+    if (sinceVersion < truncatedVersion || sinceVersion > version) {
+      return null;
+    }
+
+    List<LoggedChange> logged = new ArrayList<>();
+    Iterator<LoggedChange> newestFirst = changeLog.descendingIterator();
+    while (newestFirst.hasNext()) {
+      LoggedChange change = newestFirst.next();
+      if (change.version <= sinceVersion) {
+        break;
+      }
+      logged.add(change);
+    }
+
+    Map<EventKey, LoggedChange> firstChange = new LinkedHashMap<>();
+    Map<EventKey, String> lastSeries = new HashMap<>();
+    for (int i = logged.size() - 1; i >= 0; i--) {
+      LoggedChange change = logged.get(i);
+      firstChange.putIfAbsent(change.key, change);
+      if (change.seriesId != null) {
+        lastSeries.put(change.key, change.seriesId);
+      }
+    }
+
+    List<CalendarChanges.Change> changes = new ArrayList<>();
+    for (LoggedChange first : firstChange.values()) {
+      boolean existedBefore = !first.added;
+      Event event = lookup(first.key);
+      ChangeType type;
+      if (event != null) {
+        type = existedBefore ? ChangeType.CHANGED : ChangeType.ADDED;
+      } else if (existedBefore) {
+        type = ChangeType.REMOVED;
+      } else {
+        continue;
+      }
+      changes.add(new CalendarChanges.Change(type, first.key, event,
+          lastSeries.get(first.key)));
+    }
+    return new CalendarChanges(sinceVersion, version, changes);
+  }
+
+  /**
+   * Opens a journal of the keys touched by the next mutations of the store. The journal
+   * keeps every key as it was before it was first touched, so an operation can be undone
+   * from the keys it changed.
+   */
+
+  void openJournal() {
+    journal = new HashMap<>();
+  }
+
+  /**
+   * Closes the journal and returns a copy of every key it saw touched, as the key was
+   * before it was first touched, or null if the key was not in the store.
+   *
+   * @return the copies by key, empty if the journal is not open
+   */
+
+  Map<EventKey, Event> closeJournal() {
+    Map<EventKey, Event> before = journal == null ? Collections.emptyMap() : journal;
+    journal = null;
+    return before;
+  }
+
+  /**
+   * Returns whether a journal is open on the store.
+   *
+   * @return true if a journal is open
+   */
+
+  boolean isJournalOpen() {
+    return journal != null;
+  }
+
+  private void journal(EventKey key) {
+    if (journal != null && !journal.containsKey(key)) {
+      Event event = lookup(key);
+      journal.put(key, event == null ? null : new EventImpl(event));
+    }
+  }
+
+  /**
+   * Gets the event stored under a key, from the slot of its start date time.
+   */
+
+  private Event lookup(Object key) {
+    if (!(key instanceof EventKey)) {
+      return null;
+    }
+    EventKey eventKey = (EventKey) key;
+    Day day = byDay.get(eventKey.getStartDate());
+    if (day == null) {
+      return null;
+    }
+    Map<EventKey, Event> slot = day.slots.get(startOf(eventKey));
+    return slot == null ? null : slot.get(eventKey);
+  }
+
+  /**
+   * Gives this store its own copy of the map of days, the map of series and the day
+   * counts it shares with a clone, before its first mutation after the clone. The days and
+   * series themselves stay shared until they are mutated.
+   */
+
+  private void detach() {
+    if (!shared) {
+      return;
+    }
+    byDay = new TreeMap<>(byDay);
+    bySeries = new HashMap<>(bySeries);
+    dayCounts = new DayCountTree(dayCounts);
+    shared = false;
+  }
+
+  /**
+   * Makes every day and series of the store shared, so the next mutations copy what they
+   * change instead of changing the maps read by the iterators open on the store.
+   */
+
+  private void freeze() {
+    shared = true;
+    generation = new Object();
+  }
+
+  /**
+   * Gets a day of the index this store can change, creating it if there is none, or
+   * copying it if it is still shared with a clone.
+   */
+
+  private Day ownDay(LocalDate date) {
+    Day day = byDay.get(date);
+    if (day == null || day.generation != generation) {
+      day = day == null ? new Day(generation) : new Day(day, generation);
+      byDay.put(date, day);
+    }
+    return day;
+  }
+
+  /**
+   * Gets a series of the index this store can change, creating it if there is none, or
+   * copying it if it is still shared with a clone.
+   */
+
+  private Series ownSeries(String seriesId) {
+    Series series = bySeries.get(seriesId);
+    if (series == null || series.generation != generation) {
+      series = series == null ? new Series(generation) : new Series(series, generation);
+      bySeries.put(seriesId, series);
+    }
+    return series;
+  }
+
+  private static void stamp(Event event, long current) {
+    if (event instanceof EventImpl) {
+      ((EventImpl) event).version = current;
+    }
+  }
+
+  private void removed(EventKey key, long current) {
+    log(current, key, unindex(key), false);
+  }
+
+  private void log(long current, EventKey key, String seriesId, boolean added) {
+    if (changeLog.size() == CHANGE_LOG_CAPACITY) {
+      truncatedVersion = changeLog.pollFirst().version;
+    }
+    changeLog.addLast(new LoggedChange(current, key, seriesId, added));
+  }
+
+  private void index(EventKey key, Event event) {
+    LocalDateTime start = startOf(key);
+    Day day = ownDay(key.getStartDate());
+    if (day.slots.computeIfAbsent(start, k -> new LinkedHashMap<>()).put(key, event) == null) {
+      dayCounts.add(key.getStartDate(), 1);
+      size++;
+    }
+    long seconds = Duration.between(start,
+        LocalDateTime.of(key.getEndDate(), key.getEndTime())).getSeconds();
+    if (seconds > longestSeconds) {
+      longestSeconds = seconds;
+    }
+    String seriesId = event.getEventSeriesId();
+    if (seriesId != null) {
+      day.seriesOfKey.put(key, seriesId);
+      ownSeries(seriesId).events.put(key, event);
+    }
+  }
+
+  /**
+   * Removes a key from the indexes.
+   *
+   * @return the series id the key was indexed under, or null
+   */
+
+  private String unindex(EventKey key) {
+    LocalDate date = key.getStartDate();
+    if (!byDay.containsKey(date)) {
+      return null;
+    }
+    Day day = ownDay(date);
+    LocalDateTime start = startOf(key);
+    Map<EventKey, Event> slot = day.slots.get(start);
+    if (slot != null && slot.remove(key) != null) {
+      dayCounts.add(date, -1);
+      size--;
+      if (slot.isEmpty()) {
+        day.slots.remove(start);
+      }
+    }
+    String seriesId = day.seriesOfKey.remove(key);
+    if (day.slots.isEmpty()) {
+      byDay.remove(date);
+    }
+    if (seriesId != null && bySeries.containsKey(seriesId)) {
+      Series series = ownSeries(seriesId);
+      series.events.remove(key);
+      if (series.events.isEmpty()) {
+        bySeries.remove(seriesId);
+      }
+    }
+    return seriesId;
+  }
+
+  private static LocalDateTime startOf(EventKey key) {
+    return LocalDateTime.of(key.getStartDate(), key.getStartTime());
+  }
+
+  /**
+   * Entry of the change log, one per key added to or removed from the store.
+   */
+
+  private static final class LoggedChange {
+    private final long version;
+    private final EventKey key;
+    private final String seriesId;
+    private final boolean added;
+
+    LoggedChange(long version, EventKey key, String seriesId, boolean added) {
+      this.version = version;
+      this.key = key;
+      this.seriesId = seriesId;
+      this.added = added;
+    }
+  }
+
+  /**
+   * Events of the index starting on one day, in slots per start date time, with the
+   * series id every key is indexed under. A day belongs to the store of its generation,
+   * and is copied by any other store before it is changed.
+   */
+
+  private static final class Day {
+    private final Object generation;
+    private final TreeMap<LocalDateTime, Map<EventKey, Event>> slots;
+    private final Map<EventKey, String> seriesOfKey;
+
+    Day(Object generation) {
+      this.generation = generation;
+      this.slots = new TreeMap<>();
+      this.seriesOfKey = new HashMap<>();
+    }
+
+    Day(Day day, Object generation) {
+      this.generation = generation;
+      this.slots = new TreeMap<>();
+      for (Entry<LocalDateTime, Map<EventKey, Event>> slot : day.slots.entrySet()) {
+        this.slots.put(slot.getKey(), new LinkedHashMap<>(slot.getValue()));
+      }
+      this.seriesOfKey = new HashMap<>(day.seriesOfKey);
+    }
+  }
+
+  /**
+   * Events of the index in one series, in the order they were saved. A series belongs to
+   * the store of its generation, and is copied by any other store before it is changed.
+   */
+
+  private static final class Series {
+    private final Object generation;
+    private final Map<EventKey, Event> events;
+
+    Series(Object generation) {
+      this.generation = generation;
+      this.events = new LinkedHashMap<>();
+    }
+
+    Series(Series series, Object generation) {
+      this.generation = generation;
+      this.events = new LinkedHashMap<>(series.events);
+    }
+  }
+
+  /**
+   * Iterator over the entries of the index starting within a range, in start date time
+   * order, which flattens the days and their slots. Removing an entry through it removes
+   * its key from the store, after making the store copy what it changes from then on, so
+   * the days being iterated are left as they are.
+   */
+
+  private class EntryIterator implements Iterator<Entry<EventKey, Event>> {
+    private final Iterator<Day> days;
+    private final LocalDateTime fromInclusive;
+    private final LocalDateTime toExclusive;
+    private Iterator<Map<EventKey, Event>> slots;
+    private Iterator<Entry<EventKey, Event>> current;
+    private EventKey last;
+
+    EntryIterator(NavigableMap<LocalDate, Day> byDay, LocalDateTime fromInclusive,
+                  LocalDateTime toExclusive) {
+      NavigableMap<LocalDate, Day> range = byDay;
+      if (fromInclusive != null) {
+        range = range.tailMap(fromInclusive.toLocalDate(), true);
+      }
+      if (toExclusive != null) {
+        range = range.headMap(toExclusive.toLocalDate(), true);
+      }
+      this.days = range.values().iterator();
+      this.fromInclusive = fromInclusive;
+      this.toExclusive = toExclusive;
+      this.slots = Collections.emptyIterator();
+      this.current = Collections.emptyIterator();
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!current.hasNext()) {
+        while (!slots.hasNext()) {
+          if (!days.hasNext()) {
+            return false;
+          }
+          slots = slotsInRange(days.next().slots).values().iterator();
+        }
+        current = slots.next().entrySet().iterator();
+      }
+      return true;
+    }
+
+    @Override
+    public Entry<EventKey, Event> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Entry<EventKey, Event> entry = current.next();
+      last = entry.getKey();
+      return entry;
+    }
+
+    @Override
+    public void remove() {
+      if (last == null) {
+        throw new IllegalStateException();
+      }
+      freeze();
+      EventStore.this.remove(last);
+      last = null;
+    }
+
+    /**
+     * Cuts the slots of a day to the range, which only changes the first and last days.
+     */
+
+    private NavigableMap<LocalDateTime, Map<EventKey, Event>> slotsInRange(
+        NavigableMap<LocalDateTime, Map<EventKey, Event>> daySlots) {
+      NavigableMap<LocalDateTime, Map<EventKey, Event>> range = daySlots;
+      if (fromInclusive != null && !range.isEmpty() && range.firstKey().isBefore(fromInclusive)) {
+        range = range.tailMap(fromInclusive, true);
+      }
+      if (toExclusive != null && !range.isEmpty() && !range.lastKey().isBefore(toExclusive)) {
+        range = range.headMap(toExclusive, false);
+      }
+      return range;
+    }
+  }
+
+  /**
+   * Entry set view of the store which keeps the index in sync on removal.
+   */
+
+  private class EntrySet extends AbstractSet<Entry<EventKey, Event>> {
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public void clear() {
+      EventStore.this.clear();
+    }
+
+    @Override
+    public Iterator<Entry<EventKey, Event>> iterator() {
+      EntryIterator entries = new EntryIterator(byDay, null, null);
+      return new Iterator<>() {
+        @Override
+        public boolean hasNext() {
+          return entries.hasNext();
+        }
+
+        @Override
+        public Entry<EventKey, Event> next() {
+          return new SimpleEntry<>(entries.next()) {
+            @Override
+            public Event setValue(Event value) {
+              super.setValue(value);
+              return put(getKey(), value);
+            }
+          };
+        }
+
+        @Override
+        public void remove() {
+          entries.remove();
+        }
+      };
+    }
+  }
+}
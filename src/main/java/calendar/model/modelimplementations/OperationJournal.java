@@ -0,0 +1,310 @@
+package calendar.model.modelimplementations;
+
+import calendar.model.modelinterfaces.Calendar;
+import calendar.model.modelinterfaces.Event;
+import calendar.model.modelutility.EventKey;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Undo and redo history of the operations run on the calendars of a calendar manager.
+ * While an operation runs, the stores of the calendars journal the keys it touches, so
+ * the history keeps for every changed key only the event before and after the operation.
+ * Undoing an edit of a series of a thousand events re-keys those thousand events, under a
+ * single version of their calendar, whatever the size of the calendar.
+ * The history is bounded by an estimate of the memory its events take, dropping the
+ * oldest operations first. An operation which removes, replaces or moves a calendar to
+ * another time zone cannot be undone and clears the history, as does finding a calendar
+ * changed outside of the recorded operations when undoing or redoing.
+ *
+ */
+
+final class OperationJournal {
+
+  static final long DEFAULT_BUDGET_BYTES = 32L << 20;
+
+  private static final int EVENT_BYTES = 160;
+  private static final int KEY_BYTES = 64;
+
+  private final long budgetBytes;
+  private final ArrayDeque<Operation> undoable;
+  private final ArrayDeque<Operation> redoable;
+  private long usedBytes;
+  private boolean recording;
+
+  /**
+   * Constructs an empty history.
+   *
+   * @param budgetBytes estimate of the memory the history may take, in bytes
+   */
+
+  OperationJournal(long budgetBytes) {
+    this.budgetBytes = budgetBytes;
+    this.undoable = new ArrayDeque<>();
+    this.redoable = new ArrayDeque<>();
+  }
+
+  /**
+   * Runs an operation, recording its changes to the calendars as one step of the
+   * history. An operation run by another recorded operation is part of it.
+   *
+   * @param description description of the operation
+   * @param calendars   the calendars by name
+   * @param operation   the operation
+   */
+
+  void record(String description, Map<String, Calendar> calendars, Runnable operation) {
+    if (recording) {
+      operation.run();
+      return;
+    }
+    Map<Calendar, ZoneId> zones = new IdentityHashMap<>();
+    for (Calendar calendar : calendars.values()) {
+      zones.put(calendar, calendar.getCalendarTimeZone());
+      if (calendar.getCalendarStore() instanceof EventStore) {
+        ((EventStore) calendar.getCalendarStore()).openJournal();
+      }
+    }
+    recording = true;
+    try {
+      operation.run();
+    } finally {
+      recording = false;
+      List<Delta> deltas = new ArrayList<>();
+      for (Calendar calendar : zones.keySet()) {
+        if (calendar.getCalendarStore() instanceof EventStore) {
+          Delta delta = new Delta(calendar,
+              ((EventStore) calendar.getCalendarStore()).closeJournal());
+          if (!delta.keys.isEmpty()) {
+            deltas.add(delta);
+          }
+        }
+      }
+      if (!keepsCalendars(zones, calendars)) {
+        clear();
+      } else if (!deltas.isEmpty()) {
+        push(new Operation(description, deltas));
+      }
+    }
+  }
+
+  /**
+   * Undoes the last operation.
+   *
+   * @param calendars the calendars by name
+   * @return the description of the operation, or null if there is none to undo
+   */
+
+  String undo(Map<String, Calendar> calendars) {
+    Operation operation = undoable.peekLast();
+    if (operation == null) {
+      return null;
+    }
+    if (!operation.matches(calendars, false)) {
+      clear();
+      return null;
+    }
+    undoable.pollLast();
+    operation.apply(true);
+    redoable.addLast(operation);
+    return operation.description;
+  }
+
+  /**
+   * Redoes the last undone operation.
+   *
+   * @param calendars the calendars by name
+   * @return the description of the operation, or null if there is none to redo
+   */
+
+  String redo(Map<String, Calendar> calendars) {
+    Operation operation = redoable.peekLast();
+    if (operation == null) {
+      return null;
+    }
+    if (!operation.matches(calendars, true)) {
+      clear();
+      return null;
+    }
+    redoable.pollLast();
+    operation.apply(false);
+    undoable.addLast(operation);
+    return operation.description;
+  }
+
+  boolean canUndo() {
+    return !undoable.isEmpty();
+  }
+
+  boolean canRedo() {
+    return !redoable.isEmpty();
+  }
+
+  private void push(Operation operation) {
+    for (Operation dropped : redoable) {
+      usedBytes -= dropped.bytes;
+    }
+    redoable.clear();
+    undoable.addLast(operation);
+    usedBytes += operation.bytes;
+    while (usedBytes > budgetBytes && !undoable.isEmpty()) {
+      usedBytes -= undoable.pollFirst().bytes;
+    }
+  }
+
+  private void clear() {
+    undoable.clear();
+    redoable.clear();
+    usedBytes = 0;
+  }
+
+  /**
+   * Checks that every calendar present before an operation is still present, under the
+   * same name and in the same time zone.
+   */
+
+  private static boolean keepsCalendars(Map<Calendar, ZoneId> zones,
+                                        Map<String, Calendar> calendars) {
+    for (Map.Entry<Calendar, ZoneId> zone : zones.entrySet()) {
+      if (calendars.get(zone.getKey().getCalendarName()) != zone.getKey()
+          || !zone.getValue().equals(zone.getKey().getCalendarTimeZone())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean sameEvent(Event first, Event second) {
+    if (first == null || second == null) {
+      return first == second;
+    }
+    return first.getSubject().equals(second.getSubject())
+        && first.getStartDate().equals(second.getStartDate())
+        && first.getStartTime().equals(second.getStartTime())
+        && first.getEndDate().equals(second.getEndDate())
+        && first.getEndTime().equals(second.getEndTime())
+        && Objects.equals(first.getDescription(), second.getDescription())
+        && Objects.equals(first.getStatus(), second.getStatus())
+        && Objects.equals(first.getLocation(), second.getLocation())
+        && Objects.equals(first.getEventSeriesId(), second.getEventSeriesId());
+  }
+
+  private static long bytesOf(Event event) {
+    if (event == null) {
+      return 0;
+    }
+    return EVENT_BYTES + 2L * (length(event.getSubject()) + length(event.getDescription())
+        + length(event.getEventSeriesId()));
+  }
+
+  private static int length(String text) {
+    return text == null ? 0 : text.length();
+  }
+
+  /**
+   * Step of the history, the changes an operation made to one or more calendars.
+   */
+
+  private static final class Operation {
+    private final String description;
+    private final List<Delta> deltas;
+    private final long bytes;
+
+    Operation(String description, List<Delta> deltas) {
+      this.description = description;
+      this.deltas = deltas;
+      long total = 0;
+      for (Delta delta : deltas) {
+        total += delta.bytes;
+      }
+      this.bytes = total;
+    }
+
+    boolean matches(Map<String, Calendar> calendars, boolean undone) {
+      for (Delta delta : deltas) {
+        if (!delta.matches(calendars, undone)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    void apply(boolean undo) {
+      for (Delta delta : deltas) {
+        delta.apply(undo);
+      }
+    }
+  }
+
+  /**
+   * Changes an operation made to one calendar: every key it changed, with copies of the
+   * event under the key before and after the operation, null where there was none.
+   */
+
+  private static final class Delta {
+    private final Calendar calendar;
+    private final ZoneId zone;
+    private final List<EventKey> keys;
+    private final List<Event> before;
+    private final List<Event> after;
+    private final long bytes;
+
+    Delta(Calendar calendar, Map<EventKey, Event> journal) {
+      this.calendar = calendar;
+      this.zone = calendar.getCalendarTimeZone();
+      this.keys = new ArrayList<>();
+      this.before = new ArrayList<>();
+      this.after = new ArrayList<>();
+      Map<EventKey, Event> store = calendar.getCalendarStore();
+      long total = 0;
+      for (Map.Entry<EventKey, Event> entry : journal.entrySet()) {
+        Event current = store.get(entry.getKey());
+        if (!sameEvent(entry.getValue(), current)) {
+          Event copy = current == null ? null : new EventImpl(current);
+          keys.add(entry.getKey());
+          before.add(entry.getValue());
+          after.add(copy);
+          total += KEY_BYTES + bytesOf(entry.getValue()) + bytesOf(copy);
+        }
+      }
+      this.bytes = total;
+    }
+
+    boolean matches(Map<String, Calendar> calendars, boolean undone) {
+      if (calendars.get(calendar.getCalendarName()) != calendar
+          || !zone.equals(calendar.getCalendarTimeZone())) {
+        return false;
+      }
+      List<Event> expected = undone ? before : after;
+      Map<EventKey, Event> store = calendar.getCalendarStore();
+      for (int i = 0; i < keys.size(); i++) {
+        if (!sameEvent(expected.get(i), store.get(keys.get(i)))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    void apply(boolean undo) {
+      List<Event> from = undo ? after : before;
+      List<Event> to = undo ? before : after;
+      List<EventKey> removed = new ArrayList<>();
+      Map<EventKey, Event> restored = new LinkedHashMap<>();
+      for (int i = 0; i < keys.size(); i++) {
+        if (from.get(i) != null) {
+          removed.add(keys.get(i));
+        }
+        if (to.get(i) != null) {
+          restored.put(keys.get(i), new EventImpl(to.get(i)));
+        }
+      }
+      ((EventStore) calendar.getCalendarStore()).rekeyAll(removed, restored);
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package calendar.model.modelimplementations;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Least recently used cache of the schedule, day and status query results of a calendar,
+ * valid for one version of its store and one count of the events it copied to edit.
+ * It is safe to read from several threads.
+ *
+ */
+
+public final class QueryCache {
+
+  static final int CAPACITY = 256;
+
+  private static final LongAdder HITS = new LongAdder();
+  private static final LongAdder MISSES = new LongAdder();
+  private static final LongAdder EVICTIONS = new LongAdder();
+
+  private final Map<Query, Object> results =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Query, Object> eldest) {
+          if (size() > CAPACITY) {
+            EVICTIONS.increment();
+            return true;
+          }
+          return false;
+        }
+      };
+  private long version = -1;
+  private long copies = -1;
+
+  /**
+   * Gets the result of a query at a version of the calendar, cached or else run and
+   * cached, unless it is null.
+   *
+   * @param currentVersion the current version of the calendar
+   * @param currentCopies  the number of events the calendar store replaced by copies
+   * @param name           name of the query
+   * @param from           start of the range of the query
+   * @param to             end of the range of the query, or null
+   * @param query          the query
+   * @param <T>            type of the result, which must not be modified
+   * @return the result
+   */
+
+  <T> T get(long currentVersion, long currentCopies, String name, Object from, Object to,
+            Supplier<T> query) {
+    Query key = new Query(name, from, to);
+    synchronized (this) {
+      if (currentVersion != version || currentCopies != copies) {
+        results.clear();
+        version = currentVersion;
+        copies = currentCopies;
+      }
+      @SuppressWarnings("unchecked")
+      T cached = (T) results.get(key);
+      if (cached != null) {
+        HITS.increment();
+        return cached;
+      }
+    }
+    MISSES.increment();
+    T result = query.get();
+    if (result != null) {
+      synchronized (this) {
+        if (currentVersion == version && currentCopies == copies) {
+          results.put(key, result);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * getter to get the number of queries answered from a cache so far.
+   *
+   * @return the number of hits
+   */
+
+  public static long getHits() {
+    return HITS.sum();
+  }
+
+  /**
+   * getter to get the number of queries run because their result was not cached.
+   *
+   * @return the number of misses
+   */
+
+  public static long getMisses() {
+    return MISSES.sum();
+  }
+
+  /**
+   * getter to get the number of results evicted from a full cache so far.
+   *
+   * @return the number of evictions
+   */
+
+  public static long getEvictions() {
+    return EVICTIONS.sum();
+  }
+
+  /**
+   * Key of a result, the name of its query and its range.
+   */
+
+  private static final class Query {
+    private final String name;
+    private final Object from;
+    private final Object to;
+
+    Query(String name, Object from, Object to) {
+      this.name = name;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Query)) {
+        return false;
+      }
+      Query query = (Query) other;
+      return name.equals(query.name) && Objects.equals(from, query.from)
+          && Objects.equals(to, query.to);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(name, from, to);
+    }
+  }
+}
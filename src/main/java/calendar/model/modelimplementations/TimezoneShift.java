@@ -0,0 +1,58 @@
+package calendar.model.modelimplementations;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneRules;
+
+/**
+ * Shift of local date times from one time zone to another, prepared once for a batch of
+ * events. The zone rules are looked up once, and when both zones have a fixed offset the
+ * shift is a constant number of seconds. Otherwise the offsets are read from the rules for
+ * every date time, without building zoned date times, and resolve gaps and overlaps as
+ * {@link java.time.ZonedDateTime#of} and {@code withZoneSameInstant} do.
+ *
+ */
+
+final class TimezoneShift {
+
+  private final ZoneRules sourceRules;
+  private final ZoneRules targetRules;
+  private final boolean fixed;
+  private final long fixedSeconds;
+
+  /**
+   * Prepares the shift between two time zones.
+   *
+   * @param source time zone of the date times to shift
+   * @param target time zone to shift them to
+   */
+
+  TimezoneShift(ZoneId source, ZoneId target) {
+    this.sourceRules = source.getRules();
+    this.targetRules = target.getRules();
+    this.fixed = sourceRules.isFixedOffset() && targetRules.isFixedOffset();
+    this.fixedSeconds = fixed
+        ? targetRules.getOffset(Instant.EPOCH).getTotalSeconds()
+            - sourceRules.getOffset(Instant.EPOCH).getTotalSeconds()
+        : 0;
+  }
+
+  /**
+   * Shifts a date time of the source time zone to the same instant in the target zone.
+   *
+   * @param dateTime date time in the source time zone
+   * @return the date time in the target time zone
+   */
+
+  LocalDateTime apply(LocalDateTime dateTime) {
+    if (fixed) {
+      return fixedSeconds == 0 ? dateTime : dateTime.plusSeconds(fixedSeconds);
+    }
+    ZoneOffset sourceOffset = sourceRules.getOffset(dateTime);
+    ZoneOffset targetOffset = targetRules.getOffset(dateTime.toInstant(sourceOffset));
+    int seconds = targetOffset.getTotalSeconds() - sourceOffset.getTotalSeconds();
+    return seconds == 0 ? dateTime : dateTime.plusSeconds(seconds);
+  }
+}
@@ -1,13 +1,21 @@
 package calendar.model.modelinterfaces;
 
+import calendar.model.modelutility.CalendarChanges;
+import calendar.model.modelutility.CopyReport;
+import calendar.model.modelutility.EventConflict;
 import calendar.model.modelutility.EventKey;
+import calendar.model.modelutility.SchedulePage;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
 
 /**
@@ -60,9 +68,24 @@ public interface Calendar {
 
   public void saveEvent(Event event);
 
+  /**
+   * Method to save several events in the calendar at once. Every event is validated
+   * before any is saved, events whose key already exists in the calendar, or earlier in
+   * the batch, are skipped, and the rest are inserted under a single version with one
+   * summary line printed instead of one per event.
+   *
+   * @param events the events to save
+   * @return the number of events saved
+   * @throws IllegalArgumentException if any of the events is invalid, in which case none
+   *                                  is saved
+   */
+
+  public int saveEvents(List<Event> events);
+
 
   /**
    * Method prints either "Busy" if events are scheduled otherwise "Available".
+   * The status is cached until the calendar changes version.
    *
    * @param dateTime the start date and time string
    * @return "Busy" or "Available"
@@ -72,16 +95,65 @@ public interface Calendar {
 
   /**
    * Method to get the schedule within any range of dates.
+   * The schedule is cached until the calendar changes version, so it must not be modified.
    *
    * @param startDateTime start date and time of the schedule range
    * @param endDateTime   end date and time of the schedule range
-   * @return a String List of the events in the schedule.
+   * @return an unmodifiable List of the events in the schedule.
    */
 
   public List<Event> getSchedule(String startDateTime, String endDateTime);
 
+  /**
+   * Method to stream the events starting within a date time range, in start date and time
+   * order. The events are read lazily from the start date index when the stream runs, so
+   * a caller which stops early, for example with limit or findFirst, never visits the rest
+   * of the range. The stream must be consumed before the calendar is modified again.
+   *
+   * @param startDateTime start of the range (inclusive), or null for no lower bound
+   * @param endDateTime   end of the range (exclusive), or null for no upper bound
+   * @return an ordered stream of the events starting within the range
+   */
+
+  public Stream<Event> streamEvents(LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+  /**
+   * Method to stream every pair of conflicting events whose overlap lies at least partly
+   * within a date time range, in the order the overlaps start. The pairs are found lazily
+   * by a sweep over the start date index, in O(n log n + k) for n events and k pairs,
+   * instead of checking every event for a conflict. The stream must be consumed before
+   * the calendar is modified again.
+   *
+   * @param startDateTime start of the range (inclusive), or null for no lower bound
+   * @param endDateTime   end of the range (exclusive), or null for no upper bound
+   * @return an ordered stream of the conflicting pairs
+   */
+
+  public Stream<EventConflict> streamConflicts(LocalDateTime startDateTime,
+                                               LocalDateTime endDateTime);
+
+  /**
+   * Method to get one page of the events starting within a date time range, in start date
+   * and time order. The first page is requested without a token, and every following page
+   * with the token of the page before it, which resumes the range with a seek into the
+   * start date index. Events added or removed between pages are picked up or skipped the
+   * way a cursor over the index would.
+   *
+   * @param startDateTime start of the range (inclusive), or null for no lower bound
+   * @param endDateTime   end of the range (exclusive), or null for no upper bound
+   * @param pageToken     token of the previous page, or null for the first page
+   * @param limit         largest number of events of the page
+   * @return the page, with the token of the next page if more events follow
+   * @throws IllegalArgumentException if the limit is not positive or the token malformed
+   */
+
+  public SchedulePage getEventsPage(LocalDateTime startDateTime, LocalDateTime endDateTime,
+                                    String pageToken, int limit);
+
   /**
    * Method to get an event on the given date and time.
+   * The event is owned by this calendar, so it can be edited and re-keyed with
+   * updateEventKey without changing a copy of the calendar which shares it.
    *
    * @param endTime   end time of the event
    * @param startTime start time of the event
@@ -96,13 +168,94 @@ public interface Calendar {
 
   /**
    * Method to get event/s on only the given date.
+   * The events are cached until the calendar changes version, so they must not be modified.
    *
    * @param date datetime to check
-   * @return String List of events on that date
+   * @return unmodifiable List of events on that date
    */
 
   public List<Event> getEventsForDate(LocalDate date);
 
+  /**
+   * Method to get the events starting between two dates, ordered by start date and time.
+   * The events are read from the start date index of the calendar instead of scanning
+   * the calendar store, and are not copied into a list.
+   *
+   * @param startDate first date of the range (inclusive), or null for no lower bound
+   * @param endDate   last date of the range (inclusive), or null for no upper bound
+   * @return a view of the events starting within the range
+   */
+
+  public Iterable<Event> getEventsStartingBetween(LocalDate startDate, LocalDate endDate);
+
+  /**
+   * Method to get the events which start before the end of a range and end at or after
+   * its start, ordered by start date and time. The events are read from the start date
+   * index of the calendar, going back from the range only as far as its longest event.
+   *
+   * @param startDateTime start of the range (inclusive)
+   * @param endDateTime   end of the range (exclusive)
+   * @return the events overlapping the range
+   */
+
+  public List<Event> getEventsOverlapping(LocalDateTime startDateTime,
+                                          LocalDateTime endDateTime);
+
+  /**
+   * Method to count the events starting between two dates, without visiting the events.
+   * The counts per start date are kept in a Fenwick tree updated on every save and edit,
+   * so any range is counted in logarithmic time.
+   *
+   * @param startDate first date of the range (inclusive), or null for no lower bound
+   * @param endDate   last date of the range (inclusive), or null for no upper bound
+   * @return the number of events starting within the range
+   */
+
+  public int countEvents(LocalDate startDate, LocalDate endDate);
+
+  /**
+   * Method to count the events starting in every day, week or month between two dates.
+   * Weeks start on Mondays and months on their first day, except for the first period
+   * which starts on the start date, and the last period is cut at the end date.
+   *
+   * @param startDate first date of the range (inclusive)
+   * @param endDate   last date of the range (inclusive)
+   * @param period    ChronoUnit.DAYS, WEEKS or MONTHS
+   * @return the number of events of every period keyed by its first date, in date order
+   * @throws IllegalArgumentException if the period is not days, weeks or months, or the
+   *                                  start date is after the end date
+   */
+
+  public SortedMap<LocalDate, Integer> countEventsPer(LocalDate startDate, LocalDate endDate,
+                                                      ChronoUnit period);
+
+  /**
+   * Method to get the events of a series, ordered by start date and time.
+   *
+   * @param seriesId series id of the events
+   * @return the events of the series, empty if there are none
+   */
+
+  public List<Event> getEventsInSeries(String seriesId);
+
+  /**
+   * Gets the version of the calendar, which is bumped by saveEvent, updateEventKey,
+   * modifyName, modifyTimezone and every other change of the calendar store.
+   *
+   * @return the current version of the calendar
+   */
+
+  public long getVersion();
+
+  /**
+   * Method to get the events added, changed and removed since the given version.
+   *
+   * @param version version returned by an earlier call to getVersion
+   * @return the changes since the version, or null if they are no longer recorded
+   */
+
+  public CalendarChanges getChangesSince(long version);
+
   /**
    * Method to get event/s on only the given date.
    *
@@ -112,6 +265,25 @@ public interface Calendar {
 
   public void updateEventKey(Event oldEvent, Event updatedEvent);
 
+  /**
+   * Method to edit a batch of events of the calendar atomically, all or nothing.
+   * The key every event would have after the edit is computed first and checked against
+   * the calendar store and against the other new keys, in O(k) for k events. Only if no
+   * event would duplicate another one or end before it starts are the events edited and
+   * re-keyed, all under a single version. Events shared with a copy of the calendar are
+   * copied first, so the edited events may be copies of the given ones.
+   *
+   * @param events the events to edit, all of which must be in the calendar
+   * @param edit   the edit to apply to every event
+   * @return true if the events were edited, false if the edit would create a duplicate
+   *         event, in which case no event was changed
+   * @throws IllegalArgumentException if an event is not in the calendar, or the edit
+   *                                  cannot be applied to an event or would make it end
+   *                                  before it starts, in which case no event was changed
+   */
+
+  public boolean editEvents(List<Event> events, EventEdit edit);
+
   /**
    * Gets the calendar name.
    *
@@ -169,6 +341,44 @@ public interface Calendar {
   public List<Event> copyEventsBetween(LocalDate startDate, LocalDate endDate,
                                        Calendar targetCalendar, LocalDate targetStartDate);
 
+  /**
+   * Method which copies the events from source calendar to target calendar within the
+   * date range as one batch, and reports the outcome instead of printing it.
+   * The copies are checked for conflicts against the events of the target calendar in
+   * the copied window and against each other in a single sweep, in start date time
+   * order, and the accepted copies are saved with one bulk insert.
+   *
+   * @param startDate       events to be copied from start date.
+   * @param endDate         events to be copied will end date.
+   * @param targetCalendar  target calendar.
+   * @param targetStartDate target start date from which the events will start copying.
+   * @return report of the copied and conflicting events.
+   */
+
+  public CopyReport copyEventsBetweenInBulk(LocalDate startDate, LocalDate endDate,
+                                            Calendar targetCalendar, LocalDate targetStartDate);
+
+  /**
+   * Method which copies the events from source calendar to target calendar within the
+   * date range as {@link #copyEventsBetweenInBulk} does, but creates the copies of the
+   * series groups and of slices of the standalone events in parallel on the given pool.
+   * The copies are merged into the target calendar on the calling thread, and are the
+   * same copies, in the same order, as the sequential copy would create, apart from the
+   * randomly generated ids of the new series. Like every other change of a calendar, the
+   * copy must not run while another thread changes either calendar.
+   *
+   * @param startDate       events to be copied from start date.
+   * @param endDate         events to be copied will end date.
+   * @param targetCalendar  target calendar.
+   * @param targetStartDate target start date from which the events will start copying.
+   * @param pool            fork join pool the copies are created on.
+   * @return report of the copied and conflicting events.
+   */
+
+  public CopyReport copyEventsBetweenInParallel(LocalDate startDate, LocalDate endDate,
+                                                Calendar targetCalendar,
+                                                LocalDate targetStartDate, ForkJoinPool pool);
+
   /**
    * Method copies events on that date to target calendar from source calendar.
    * source calendar is calendar from which the method is being called.
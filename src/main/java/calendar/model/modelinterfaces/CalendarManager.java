@@ -1,5 +1,7 @@
 package calendar.model.modelinterfaces;
 
+import calendar.model.modelutility.ExportSummary;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -61,5 +63,61 @@ public interface CalendarManager {
 
   public String getCurrentCalendarName();
 
+  /**
+   * Method to export several calendars at once, each to its own file named after the
+   * calendar. The calendars are exported concurrently on a bounded thread pool, each from
+   * a snapshot taken before the export starts.
+   *
+   * @param calendarNames names of the calendars to export, or null for every calendar
+   * @param directory     directory to write the files to
+   * @param format        file extension of the files, for example "csv" or "ics.gz"
+   * @return the files, events and bytes written per calendar and the total wall time
+   */
+
+  public ExportSummary exportAll(List<String> calendarNames, String directory, String format);
+
+  /**
+   * Method to run an operation on the calendars as one step of the undo history. Only the
+   * events the operation changes are recorded, as they were before and after it.
+   * An operation which removes, renames or moves a calendar to another time zone cannot be
+   * undone and clears the history.
+   *
+   * @param description description of the operation, for example its command
+   * @param operation   the operation
+   */
+
+  public void recordOperation(String description, Runnable operation);
+
+  /**
+   * Method to undo the last recorded operation which has not been undone.
+   *
+   * @return the description of the operation, or null if there is nothing to undo
+   */
+
+  public String undo();
+
+  /**
+   * Method to redo the last undone operation, if no operation was recorded since.
+   *
+   * @return the description of the operation, or null if there is nothing to redo
+   */
+
+  public String redo();
+
+  /**
+   * Method to check if there is an operation to undo.
+   *
+   * @return true if an operation can be undone
+   */
+
+  public boolean canUndo();
+
+  /**
+   * Method to check if there is an operation to redo.
+   *
+   * @return true if an operation can be redone
+   */
+
+  public boolean canRedo();
 
 }
@@ -27,6 +27,15 @@ public interface Event extends Comparable<Event> {
 
   public String getEventSeriesId();
 
+  /**
+   * Getter method for the modification version of the event, the version of its calendar
+   * when the event was last saved or had its key updated.
+   *
+   * @return the modification version, 0 if the event was never saved
+   */
+
+  public long getVersion();
+
   /**
    * Method to get the subject of the event.
    *
@@ -0,0 +1,32 @@
+package calendar.model.modelinterfaces;
+
+import calendar.model.modelutility.EventKey;
+
+/**
+ * An edit applied to every event of a bulk edit of a calendar.
+ * The calendar first asks the edit for the key every event would have after it, so that
+ * the whole edit is validated before any event is changed, and only then applies it.
+ *
+ */
+
+public interface EventEdit {
+
+  /**
+   * Computes the calendar store key an event would have after the edit, without
+   * changing the event.
+   *
+   * @param event the event to edit
+   * @return the key of the event after the edit
+   * @throws IllegalArgumentException if the edit cannot be applied to the event
+   */
+
+  public EventKey keyAfter(Event event);
+
+  /**
+   * Applies the edit to an event.
+   *
+   * @param event the event to edit
+   */
+
+  public void apply(Event event);
+}
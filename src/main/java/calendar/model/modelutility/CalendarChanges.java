@@ -0,0 +1,140 @@
+package calendar.model.modelutility;
+
+import calendar.model.modelinterfaces.Event;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable set of the changes made to a calendar between two of its versions.
+ * Each change is netted per event key, so an event which was edited several times is
+ * reported once, and an event which was added and removed again is not reported at all.
+ *
+ */
+
+public final class CalendarChanges {
+
+  /**
+   * Kind of change of an event key.
+   */
+
+  public enum ChangeType {
+    ADDED,
+    CHANGED,
+    REMOVED
+  }
+
+  private final long fromVersion;
+  private final long toVersion;
+  private final List<Change> changes;
+
+  /**
+   * Constructs the changes between two versions of a calendar.
+   *
+   * @param fromVersion version the changes are relative to (exclusive)
+   * @param toVersion   version of the calendar after the changes (inclusive)
+   * @param changes     the netted changes in the order they were first made
+   */
+
+  public CalendarChanges(long fromVersion, long toVersion, List<Change> changes) {
+    this.fromVersion = fromVersion;
+    this.toVersion = toVersion;
+    this.changes = Collections.unmodifiableList(changes);
+  }
+
+  /**
+   * getter to get the version the changes are relative to.
+   *
+   * @return the version the changes are relative to
+   */
+
+  public long getFromVersion() {
+    return fromVersion;
+  }
+
+  /**
+   * getter to get the version of the calendar after the changes.
+   *
+   * @return the version of the calendar after the changes
+   */
+
+  public long getToVersion() {
+    return toVersion;
+  }
+
+  /**
+   * getter to get the netted changes.
+   *
+   * @return the changes in the order they were first made
+   */
+
+  public List<Change> getChanges() {
+    return changes;
+  }
+
+  /**
+   * Change of a single event key.
+   */
+
+  public static final class Change {
+    private final ChangeType type;
+    private final EventKey key;
+    private final Event event;
+    private final String seriesId;
+
+    /**
+     * Constructs the change of an event key.
+     *
+     * @param type     kind of change
+     * @param key      key of the event
+     * @param event    current event of the key, or null if it was removed
+     * @param seriesId series id of the event when it was last saved, or null
+     */
+
+    public Change(ChangeType type, EventKey key, Event event, String seriesId) {
+      this.type = type;
+      this.key = key;
+      this.event = event;
+      this.seriesId = seriesId;
+    }
+
+    /**
+     * getter to get the kind of change.
+     *
+     * @return the kind of change
+     */
+
+    public ChangeType getType() {
+      return type;
+    }
+
+    /**
+     * getter to get the key of the changed event.
+     *
+     * @return the key of the event
+     */
+
+    public EventKey getKey() {
+      return key;
+    }
+
+    /**
+     * getter to get the current event of the key.
+     *
+     * @return the event, or null if it was removed
+     */
+
+    public Event getEvent() {
+      return event;
+    }
+
+    /**
+     * getter to get the series id of the changed event.
+     *
+     * @return the series id, or null if the event is not part of a series
+     */
+
+    public String getSeriesId() {
+      return seriesId;
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package calendar.model.modelutility;
+
+import calendar.model.modelinterfaces.Event;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable report of a bulk copy of events into a target calendar.
+ * It holds the copies which were saved, the copies which were left out because they
+ * conflicted with an event of the target calendar or with an earlier copy, and how many
+ * standalone events and series the copied range contained.
+ *
+ */
+
+public final class CopyReport {
+
+  private final String targetCalendarName;
+  private final List<Event> copiedEvents;
+  private final List<Event> conflicts;
+  private final int standaloneEvents;
+  private final int seriesProcessed;
+
+  /**
+   * Constructs the report of a bulk copy.
+   *
+   * @param targetCalendarName name of the calendar the events were copied into
+   * @param copiedEvents       copies saved in the target calendar, in start date time order
+   * @param conflicts          copies which were not saved because of a conflict
+   * @param standaloneEvents   number of standalone events in the copied range
+   * @param seriesProcessed    number of series with events in the copied range
+   */
+
+  public CopyReport(String targetCalendarName, List<Event> copiedEvents, List<Event> conflicts,
+                    int standaloneEvents, int seriesProcessed) {
+    this.targetCalendarName = targetCalendarName;
+    this.copiedEvents = Collections.unmodifiableList(copiedEvents);
+    this.conflicts = Collections.unmodifiableList(conflicts);
+    this.standaloneEvents = standaloneEvents;
+    this.seriesProcessed = seriesProcessed;
+  }
+
+  /**
+   * getter to get the name of the calendar the events were copied into.
+   *
+   * @return the name of the target calendar
+   */
+
+  public String getTargetCalendarName() {
+    return targetCalendarName;
+  }
+
+  /**
+   * getter to get the copies saved in the target calendar.
+   *
+   * @return the copied events in start date time order
+   */
+
+  public List<Event> getCopiedEvents() {
+    return copiedEvents;
+  }
+
+  /**
+   * getter to get the copies which were not saved because of a conflict.
+   *
+   * @return the conflicting copies in start date time order
+   */
+
+  public List<Event> getConflicts() {
+    return conflicts;
+  }
+
+  /**
+   * getter to get the number of standalone events in the copied range.
+   *
+   * @return the number of standalone events
+   */
+
+  public int getStandaloneEvents() {
+    return standaloneEvents;
+  }
+
+  /**
+   * getter to get the number of series with events in the copied range.
+   *
+   * @return the number of series
+   */
+
+  public int getSeriesProcessed() {
+    return seriesProcessed;
+  }
+
+  /**
+   * Gets the number of events saved in the target calendar.
+   *
+   * @return the number of copied events
+   */
+
+  public int getTotalCopied() {
+    return copiedEvents.size();
+  }
+}
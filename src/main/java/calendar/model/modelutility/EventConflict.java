@@ -0,0 +1,82 @@
+package calendar.model.modelutility;
+
+import calendar.model.modelinterfaces.Event;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable pair of events of a calendar which overlap, with the date times their
+ * overlap starts and ends at. The first event starts before or at the same date time as
+ * the second one.
+ *
+ */
+
+public final class EventConflict {
+
+  private final Event first;
+  private final Event second;
+  private final LocalDateTime overlapStart;
+  private final LocalDateTime overlapEnd;
+
+  /**
+   * Constructs a conflict between two events.
+   *
+   * @param first        event starting first
+   * @param second       event starting last
+   * @param overlapStart date time the overlap starts at
+   * @param overlapEnd   date time the overlap ends at
+   */
+
+  public EventConflict(Event first, Event second, LocalDateTime overlapStart,
+                       LocalDateTime overlapEnd) {
+    this.first = first;
+    this.second = second;
+    this.overlapStart = overlapStart;
+    this.overlapEnd = overlapEnd;
+  }
+
+  /**
+   * getter to get the event starting first.
+   *
+   * @return the event starting first
+   */
+
+  public Event getFirst() {
+    return first;
+  }
+
+  /**
+   * getter to get the event starting last.
+   *
+   * @return the event starting last
+   */
+
+  public Event getSecond() {
+    return second;
+  }
+
+  /**
+   * getter to get the date time the overlap starts at, the start of the second event.
+   *
+   * @return the start of the overlap
+   */
+
+  public LocalDateTime getOverlapStart() {
+    return overlapStart;
+  }
+
+  /**
+   * getter to get the date time the overlap ends at, the earlier end of the two events.
+   *
+   * @return the end of the overlap
+   */
+
+  public LocalDateTime getOverlapEnd() {
+    return overlapEnd;
+  }
+
+  @Override
+  public String toString() {
+    return first.getSubject() + " overlaps " + second.getSubject() + " from "
+        + overlapStart + " to " + overlapEnd;
+  }
+}
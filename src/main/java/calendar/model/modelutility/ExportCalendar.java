@@ -2,22 +2,59 @@ package calendar.model.modelutility;
 
 import calendar.model.modelinterfaces.Calendar;
 import calendar.model.modelinterfaces.Event;
+import calendar.utility.jfr.ExportEvent;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Class to export the calendar in either iCal or CSV format.
+ * Events are streamed from the start date index of the calendar straight into a large
+ * buffered writer, optionally gzip compressed when the file name ends with ".gz",
+ * and can be limited to the events starting within a from/to date range.
+ * In iCal, each event series is written once with a weekly RRULE and stable UID derived
+ * from its series id, with EXDATE and RECURRENCE-ID overrides for its exceptions.
+ * When a version is given, only the events added, changed or removed since that version
+ * of the calendar are exported, removed events being written as cancelled in iCal.
+ * The number of events and bytes written are counted, for summaries of bulk exports.
  *
  */
 
 public class ExportCalendar {
 
+  private static final int BUFFER_SIZE = 1 << 16;
+  private static final String GZIP_SUFFIX = ".gz";
+  private static final String UID_DOMAIN = "@edith";
+  private static final String[] BYDAY_CODES = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+
   private String filename;
   private Calendar calendar;
   private String format;
-  private String[] validFormats = {"ics", "csv"};
+  private boolean gzip;
+  private LocalDate fromDate;
+  private LocalDate toDate;
+  private Long sinceVersion;
+  private long exportedVersion;
+  private long eventCount;
+  private CountingOutputStream counter;
+  private boolean exported;
+  private final char[] scratch = new char[16];
 
   /**
    * Constructor to construct the exportcalendar object.
@@ -27,16 +64,85 @@ public class ExportCalendar {
    */
 
   public ExportCalendar(String filename, Calendar calendar) {
+    this(filename, calendar, null, null);
+  }
+
+  /**
+   * Constructor to construct the exportcalendar object which only exports the events
+   * starting within the given date range.
+   *
+   * @param filename of the exported file, a ".gz" suffix compresses the output
+   * @param calendar calendar object
+   * @param fromDate first start date to export (inclusive), or null for no lower bound
+   * @param toDate   last start date to export (inclusive), or null for no upper bound
+   */
+
+  public ExportCalendar(String filename, Calendar calendar, LocalDate fromDate,
+                        LocalDate toDate) {
+    this(filename, calendar, fromDate, toDate, null);
+  }
+
+  /**
+   * Constructor to construct the exportcalendar object which only exports the changes
+   * made to the calendar since the given version.
+   *
+   * @param filename     of the exported file, a ".gz" suffix compresses the output
+   * @param calendar     calendar object
+   * @param fromDate     first start date to export (inclusive), or null for no lower bound
+   * @param toDate       last start date to export (inclusive), or null for no upper bound
+   * @param sinceVersion version printed by an earlier export, or null to export every event
+   */
+
+  public ExportCalendar(String filename, Calendar calendar, LocalDate fromDate,
+                        LocalDate toDate, Long sinceVersion) {
     this.filename = filename;
-    this.format = filename.substring(filename.lastIndexOf('.') + 1);
+    this.gzip = filename.endsWith(GZIP_SUFFIX);
+    String formatName = gzip
+        ? filename.substring(0, filename.length() - GZIP_SUFFIX.length()) : filename;
+    this.format = formatName.substring(formatName.lastIndexOf('.') + 1);
     this.calendar = calendar;
+    this.fromDate = fromDate;
+    this.toDate = toDate;
+    this.sinceVersion = sinceVersion;
   }
 
   /**
-   * chooses between if to export in ics or csv.
+   * chooses between if to export in ics or csv, and between the full calendar or the
+   * changes since the requested version.
    */
 
   public void exportCalendar() {
+    ExportEvent recording = new ExportEvent();
+    recording.begin();
+    try {
+      export();
+    } finally {
+      if (recording.shouldCommit()) {
+        recording.calendarName = calendar.getCalendarName();
+        recording.filename = filename;
+        recording.delta = sinceVersion != null;
+        recording.eventCount = eventCount;
+        recording.byteCount = getByteCount();
+        recording.exported = exported;
+        recording.commit();
+      }
+    }
+  }
+
+  private void export() {
+    exportedVersion = calendar.getVersion();
+    eventCount = 0;
+    exported = false;
+    if (sinceVersion != null) {
+      CalendarChanges changes = calendar.getChangesSince(sinceVersion);
+      if (changes != null) {
+        exportChanges(changes);
+        return;
+      }
+      System.out.println("Changes since version " + sinceVersion
+          + " are no longer available, exporting the full calendar");
+    }
+
     switch (format) {
       case "ics":
         exportToIcal();
@@ -58,66 +164,461 @@ public class ExportCalendar {
 
   void exportToCsv() {
 
-    try {
-      FileWriter writer = new FileWriter(filename);
-      writer.append("Subject, Start Date, End Date, Start Time, End Time");
-      writer.append("\n");
-
-      for (Map.Entry<EventKey, Event> entry : calendar.getCalendarStore().entrySet()) {
-        writer.append(entry.getValue().getSubject() + "," + entry.getValue().getStartDate() + ","
-            + entry.getValue().getEndDate() + "," + entry.getValue().getStartTime()
-            + "," + entry.getValue().getEndTime());
-        writer.append("\n");
+    try (Writer writer = openWriter()) {
+      writer.write("Subject, Start Date, End Date, Start Time, End Time");
+      writer.write('\n');
+
+      for (Event event : calendar.getEventsStartingBetween(fromDate, toDate)) {
+        writeCsvRow(writer, event.getSubject(), event.getStartDate(), event.getEndDate(),
+            event.getStartTime(), event.getEndTime());
+        eventCount++;
       }
-      writer.flush();
-      System.out.println("Calendar successfully exported to CSV as: "
-          + new File(filename).getAbsolutePath());
 
     } catch (IOException e) {
       System.out.println(e.getMessage());
       return;
     }
+    System.out.println("Calendar successfully exported to CSV as: "
+        + new File(filename).getAbsolutePath());
+    exported = true;
+    printVersion();
   }
 
   void exportToIcal() {
-    try {
-      FileWriter writer = new FileWriter(filename);
-
-      writer.append("BEGIN:VCALENDAR\r\n");
-      writer.append("VERSION:2.0\r\n");
-      writer.append("PRODID:-//Edith//EN\r\n");
-
-      for (Map.Entry<EventKey, Event> entry : calendar.getCalendarStore().entrySet()) {
-        Event event = entry.getValue();
-
-        writer.append("BEGIN:VEVENT\r\n");
-
-        String startDate = event.getStartDate().toString().replace("-", "");
-        String endDate = event.getEndDate().toString().replace("-", "");
-        String startTime = event.getStartTime().toString().replace(":", "") + "00";
-        String endTime = event.getEndTime().toString().replace(":", "") + "00";
-
-        writer.append("UID:" + System.currentTimeMillis() + "-" + event.hashCode() + "\r\n");
-        writer.append("DTSTAMP:" + startDate + "T" + startTime + "\r\n");
-        writer.append("DTSTART:" + startDate + "T" + startTime + "\r\n");
-        writer.append("DTEND:" + endDate + "T" + endTime + "\r\n");
-        writer.append("SUMMARY: " + event.getSubject() + "\r\n");
-        writer.append("DESCRIPTION: " + event.getDescription() + "\r\n");
-        writer.append("LOCATION: " + event.getLocation() + "\r\n");
-        writer.append("STATUS:" + event.getStatus() + "\r\n");
-        writer.append("END:VEVENT\r\n");
+    try (Writer writer = openWriter()) {
+
+      writer.write("BEGIN:VCALENDAR\r\n");
+      writer.write("VERSION:2.0\r\n");
+      writer.write("PRODID:-//Edith//EN\r\n");
+
+      Map<String, List<Event>> seriesGroups = new LinkedHashMap<>();
+      for (Event event : calendar.getEventsStartingBetween(fromDate, toDate)) {
+        eventCount++;
+        String seriesId = event.getEventSeriesId();
+        if (seriesId != null && !seriesId.isEmpty()) {
+          seriesGroups.computeIfAbsent(seriesId, k -> new ArrayList<>()).add(event);
+        } else {
+          writeVevent(writer, eventUid(event), event, null);
+        }
       }
 
-      writer.append("END:VCALENDAR\r\n");
+      for (Map.Entry<String, List<Event>> group : seriesGroups.entrySet()) {
+        writeSeries(writer, group.getKey(), group.getValue());
+      }
 
-      writer.flush();
-      writer.close();
-      System.out.println("Calendar successfully exported to iCal as: "
-          + new File(filename).getAbsolutePath());
+      writer.write("END:VCALENDAR\r\n");
 
     } catch (IOException e) {
       System.out.println("Error exporting to iCal: " + e.getMessage());
       return;
     }
+    System.out.println("Calendar successfully exported to iCal as: "
+        + new File(filename).getAbsolutePath());
+    exported = true;
+    printVersion();
+  }
+
+  /**
+   * Exports the changes since the requested version, as rows marked added, changed or
+   * removed in CSV, and as the changed events and series in iCal.
+   */
+
+  private void exportChanges(CalendarChanges changes) {
+    boolean ical = format.equals("ics") || format.equals("ical");
+    if (!ical && !format.equals("csv")) {
+      System.out.println("Invalid format");
+      return;
+    }
+
+    try (Writer writer = openWriter()) {
+      if (ical) {
+        writeIcalChanges(writer, changes);
+      } else {
+        writeCsvChanges(writer, changes);
+      }
+    } catch (IOException e) {
+      System.out.println("Error exporting changes: " + e.getMessage());
+      return;
+    }
+    System.out.println(changes.getChanges().size() + " changes since version "
+        + changes.getFromVersion() + " exported as: " + new File(filename).getAbsolutePath());
+    exported = true;
+    printVersion();
+  }
+
+  private void writeCsvChanges(Writer writer, CalendarChanges changes) throws IOException {
+    writer.write("Change, Subject, Start Date, End Date, Start Time, End Time");
+    writer.write('\n');
+
+    for (CalendarChanges.Change change : changes.getChanges()) {
+      EventKey key = change.getKey();
+      if (!inRange(key.getStartDate())) {
+        continue;
+      }
+      writer.write(change.getType().name().toLowerCase());
+      writer.write(',');
+      writeCsvRow(writer, key.getSubject(), key.getStartDate(), key.getEndDate(),
+          key.getStartTime(), key.getEndTime());
+      eventCount++;
+    }
+  }
+
+  private void writeIcalChanges(Writer writer, CalendarChanges changes) throws IOException {
+    writer.write("BEGIN:VCALENDAR\r\n");
+    writer.write("VERSION:2.0\r\n");
+    writer.write("PRODID:-//Edith//EN\r\n");
+    writer.write("X-EDITH-SINCE-VERSION:" + changes.getFromVersion() + "\r\n");
+    writer.write("X-EDITH-VERSION:" + changes.getToVersion() + "\r\n");
+
+    Map<String, EventKey> touchedSeries = new LinkedHashMap<>();
+    for (CalendarChanges.Change change : changes.getChanges()) {
+      EventKey key = change.getKey();
+      if (!inRange(key.getStartDate())) {
+        continue;
+      }
+      if (change.getSeriesId() != null && !change.getSeriesId().isEmpty()) {
+        touchedSeries.putIfAbsent(change.getSeriesId(), key);
+        continue;
+      }
+      if (change.getEvent() == null) {
+        writeCancelled(writer, eventUid(key), key);
+      } else {
+        writeVevent(writer, eventUid(change.getEvent()), change.getEvent(), null);
+      }
+      eventCount++;
+    }
+
+    for (Map.Entry<String, EventKey> series : touchedSeries.entrySet()) {
+      List<Event> occurrences = new ArrayList<>();
+      for (Event event : calendar.getEventsInSeries(series.getKey())) {
+        if (inRange(event.getStartDate())) {
+          occurrences.add(event);
+        }
+      }
+      if (occurrences.isEmpty()) {
+        writeCancelled(writer, seriesUid(series.getKey()), series.getValue());
+        eventCount++;
+      } else {
+        writeSeries(writer, series.getKey(), occurrences);
+        eventCount += occurrences.size();
+      }
+    }
+
+    writer.write("END:VCALENDAR\r\n");
+  }
+
+  private boolean inRange(LocalDate startDate) {
+    return (fromDate == null || !startDate.isBefore(fromDate))
+        && (toDate == null || !startDate.isAfter(toDate));
+  }
+
+  private void printVersion() {
+    System.out.println("Exported calendar version: " + exportedVersion);
+  }
+
+  /**
+   * Gets the number of events written by the last export, counting every occurrence of
+   * an exported series and every removed event of a change export.
+   *
+   * @return the number of events written
+   */
+
+  public long getEventCount() {
+    return eventCount;
+  }
+
+  /**
+   * Gets the number of bytes written to the file by the last export, after compression.
+   *
+   * @return the number of bytes written
+   */
+
+  public long getByteCount() {
+    return counter == null ? 0 : counter.count;
+  }
+
+  /**
+   * Tells whether the last export completed.
+   *
+   * @return true if the file was written
+   */
+
+  public boolean isExported() {
+    return exported;
+  }
+
+  /**
+   * Gets the stable iCal UID of an event series, derived from its series id.
+   *
+   * @param seriesId the series id
+   * @return the UID of the series
+   */
+
+  static String seriesUid(String seriesId) {
+    return seriesId + UID_DOMAIN;
+  }
+
+  /**
+   * Gets the stable iCal UID of a single event, derived from its subject, start and end.
+   *
+   * @param event the event
+   * @return the UID of the event
+   */
+
+  static String eventUid(Event event) {
+    return eventUid(new EventKey(event.getSubject(), event.getStartDate(), event.getEndDate(),
+        event.getStartTime(), event.getEndTime()));
+  }
+
+  /**
+   * Gets the stable iCal UID of the single event with the given key.
+   *
+   * @param key key of the event
+   * @return the UID of the event
+   */
+
+  static String eventUid(EventKey key) {
+    String identity = key.getSubject() + '\n' + key.getStartDate() + 'T'
+        + key.getStartTime() + '\n' + key.getEndDate() + 'T' + key.getEndTime();
+    return UUID.nameUUIDFromBytes(identity.getBytes(StandardCharsets.UTF_8)) + UID_DOMAIN;
+  }
+
+  /**
+   * Writes the occurrences of one series as a single recurring VEVENT with its exceptions,
+   * or as individual VEVENTs when no weekly rule fits the series.
+   */
+
+  private void writeSeries(Writer writer, String seriesId, List<Event> occurrences)
+      throws IOException {
+    SeriesRecurrence recurrence = SeriesRecurrence.detect(occurrences);
+    if (recurrence == null) {
+      String uid = occurrences.size() == 1 ? seriesUid(seriesId) : null;
+      for (Event event : occurrences) {
+        writeVevent(writer, uid != null ? uid : eventUid(event), event, null);
+      }
+      return;
+    }
+
+    String uid = seriesUid(seriesId);
+    Event master = recurrence.getMaster();
+
+    writer.write("BEGIN:VEVENT\r\n");
+    writeProperty(writer, "UID:", uid);
+    writer.write("DTSTAMP:");
+    writeIcalDateTime(writer, recurrence.getStart());
+    writer.write("DTSTART:");
+    writeIcalDateTime(writer, recurrence.getStart());
+    writer.write("DTEND:");
+    writeIcalDateTime(writer, recurrence.getEnd());
+    writer.write("RRULE:FREQ=WEEKLY;UNTIL=");
+    writeIcalDate(writer, recurrence.getUntil().toLocalDate());
+    writeIcalTime(writer, recurrence.getUntil().toLocalTime());
+    writer.write(";BYDAY=");
+    boolean firstDay = true;
+    for (DayOfWeek day : recurrence.getRepeatDays()) {
+      if (!firstDay) {
+        writer.write(',');
+      }
+      writer.write(BYDAY_CODES[day.ordinal()]);
+      firstDay = false;
+    }
+    writer.write("\r\n");
+    for (LocalDate excluded : recurrence.getExcludedDates()) {
+      writer.write("EXDATE:");
+      writeIcalDateTime(writer, recurrence.slotStart(excluded));
+    }
+    writeDetails(writer, master);
+    writer.write("END:VEVENT\r\n");
+
+    for (Map.Entry<LocalDate, Event> override : recurrence.getOverrides().entrySet()) {
+      writeVevent(writer, uid, override.getValue(), recurrence.slotStart(override.getKey()));
+    }
+    for (Event extra : recurrence.getExtras()) {
+      writeVevent(writer, eventUid(extra), extra, null);
+    }
+  }
+
+  /**
+   * Writes a single VEVENT, overriding an occurrence of a series when a recurrence id
+   * is given.
+   */
+
+  private void writeVevent(Writer writer, String uid, Event event, LocalDateTime recurrenceId)
+      throws IOException {
+    writer.write("BEGIN:VEVENT\r\n");
+    writeProperty(writer, "UID:", uid);
+    if (recurrenceId != null) {
+      writer.write("RECURRENCE-ID:");
+      writeIcalDateTime(writer, recurrenceId);
+    }
+    writer.write("DTSTAMP:");
+    writeIcalDateTime(writer, event.getStartDate(), event.getStartTime());
+    writer.write("DTSTART:");
+    writeIcalDateTime(writer, event.getStartDate(), event.getStartTime());
+    writer.write("DTEND:");
+    writeIcalDateTime(writer, event.getEndDate(), event.getEndTime());
+    writeDetails(writer, event);
+    writer.write("END:VEVENT\r\n");
+  }
+
+  /**
+   * Writes a cancelled VEVENT which tells the consumer to drop the event with the UID.
+   */
+
+  private void writeCancelled(Writer writer, String uid, EventKey key) throws IOException {
+    writer.write("BEGIN:VEVENT\r\n");
+    writeProperty(writer, "UID:", uid);
+    writer.write("DTSTAMP:");
+    writeIcalDateTime(writer, key.getStartDate(), key.getStartTime());
+    writer.write("DTSTART:");
+    writeIcalDateTime(writer, key.getStartDate(), key.getStartTime());
+    writeProperty(writer, "STATUS:", "CANCELLED");
+    writer.write("END:VEVENT\r\n");
+  }
+
+  private void writeDetails(Writer writer, Event event) throws IOException {
+    writeProperty(writer, "SUMMARY: ", event.getSubject());
+    writeProperty(writer, "DESCRIPTION: ", String.valueOf(event.getDescription()));
+    writeProperty(writer, "LOCATION: ", event.getLocation());
+    writeProperty(writer, "STATUS:", event.getStatus());
+  }
+
+  private void writeProperty(Writer writer, String name, String value) throws IOException {
+    writer.write(name);
+    writer.write(value);
+    writer.write("\r\n");
+  }
+
+  private void writeCsvRow(Writer writer, String subject, LocalDate startDate,
+                           LocalDate endDate, LocalTime startTime, LocalTime endTime)
+      throws IOException {
+    writer.write(subject);
+    writer.write(',');
+    writeDate(writer, startDate, true);
+    writer.write(',');
+    writeDate(writer, endDate, true);
+    writer.write(',');
+    writeTime(writer, startTime);
+    writer.write(',');
+    writeTime(writer, endTime);
+    writer.write('\n');
+  }
+
+  /**
+   * Opens the buffered writer of the export file, compressing it if requested.
+   *
+   * @return buffered writer to the export file
+   * @throws IOException if the file cannot be opened
+   */
+
+  private Writer openWriter() throws IOException {
+    counter = new CountingOutputStream(new FileOutputStream(filename));
+    OutputStream out = counter;
+    if (gzip) {
+      out = new GZIPOutputStream(out, BUFFER_SIZE);
+    }
+    return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+  }
+
+  /**
+   * Writes a date and time in the iCal basic format, yyyyMMdd'T'HHmmss, ending the line.
+   */
+
+  private void writeIcalDateTime(Writer writer, LocalDate date, LocalTime time)
+      throws IOException {
+    writeIcalDate(writer, date);
+    writeIcalTime(writer, time);
+    writer.write("\r\n");
+  }
+
+  private void writeIcalDateTime(Writer writer, LocalDateTime dateTime) throws IOException {
+    writeIcalDateTime(writer, dateTime.toLocalDate(), dateTime.toLocalTime());
+  }
+
+  private void writeIcalDate(Writer writer, LocalDate date) throws IOException {
+    writeDate(writer, date, false);
+  }
+
+  private void writeIcalTime(Writer writer, LocalTime time) throws IOException {
+    int pos = 0;
+    scratch[pos++] = 'T';
+    pos = putTwoDigits(time.getHour(), pos);
+    pos = putTwoDigits(time.getMinute(), pos);
+    pos = putTwoDigits(time.getSecond(), pos);
+    writer.write(scratch, 0, pos);
+  }
+
+  /**
+   * Writes a date as yyyy-MM-dd, or yyyyMMdd without separators.
+   * Years outside of four digits fall back to the ISO representation.
+   */
+
+  private void writeDate(Writer writer, LocalDate date, boolean separators) throws IOException {
+    int year = date.getYear();
+    if (year < 0 || year > 9999) {
+      String iso = date.toString();
+      writer.write(separators ? iso : iso.replace("-", ""));
+      return;
+    }
+    int pos = putTwoDigits(year / 100, 0);
+    pos = putTwoDigits(year % 100, pos);
+    if (separators) {
+      scratch[pos++] = '-';
+    }
+    pos = putTwoDigits(date.getMonthValue(), pos);
+    if (separators) {
+      scratch[pos++] = '-';
+    }
+    pos = putTwoDigits(date.getDayOfMonth(), pos);
+    writer.write(scratch, 0, pos);
+  }
+
+  /**
+   * Writes a time the same way as LocalTime.toString, HH:mm with seconds only when present.
+   */
+
+  private void writeTime(Writer writer, LocalTime time) throws IOException {
+    if (time.getNano() != 0) {
+      writer.write(time.toString());
+      return;
+    }
+    int pos = putTwoDigits(time.getHour(), 0);
+    scratch[pos++] = ':';
+    pos = putTwoDigits(time.getMinute(), pos);
+    if (time.getSecond() != 0) {
+      scratch[pos++] = ':';
+      pos = putTwoDigits(time.getSecond(), pos);
+    }
+    writer.write(scratch, 0, pos);
+  }
+
+  private int putTwoDigits(int value, int pos) {
+    scratch[pos] = (char) ('0' + value / 10);
+    scratch[pos + 1] = (char) ('0' + value % 10);
+    return pos + 2;
+  }
+
+  /**
+   * Output stream which counts the bytes written through it.
+   */
+
+  private static class CountingOutputStream extends FilterOutputStream {
+    private long count;
+
+    CountingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      count += len;
+    }
   }
 }
@@ -0,0 +1,158 @@
+package calendar.model.modelutility;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable summary of exporting several calendars at once.
+ * It holds the file, number of events and number of bytes written for every calendar,
+ * and the wall time of the whole export.
+ *
+ */
+
+public final class ExportSummary {
+
+  private final List<CalendarExport> exports;
+  private final long wallTimeNanos;
+
+  /**
+   * Constructs the summary of an export of several calendars.
+   *
+   * @param exports       result of every exported calendar
+   * @param wallTimeNanos wall time of the whole export in nanoseconds
+   */
+
+  public ExportSummary(List<CalendarExport> exports, long wallTimeNanos) {
+    this.exports = Collections.unmodifiableList(exports);
+    this.wallTimeNanos = wallTimeNanos;
+  }
+
+  /**
+   * getter to get the result of every exported calendar.
+   *
+   * @return the results in the order the calendars were requested
+   */
+
+  public List<CalendarExport> getExports() {
+    return exports;
+  }
+
+  /**
+   * getter to get the wall time of the whole export.
+   *
+   * @return wall time in nanoseconds
+   */
+
+  public long getWallTimeNanos() {
+    return wallTimeNanos;
+  }
+
+  /**
+   * Gets the number of events written over all calendars.
+   *
+   * @return total number of events written
+   */
+
+  public long getTotalEvents() {
+    long total = 0;
+    for (CalendarExport export : exports) {
+      total += export.getEvents();
+    }
+    return total;
+  }
+
+  /**
+   * Gets the number of bytes written over all calendars.
+   *
+   * @return total number of bytes written
+   */
+
+  public long getTotalBytes() {
+    long total = 0;
+    for (CalendarExport export : exports) {
+      total += export.getBytes();
+    }
+    return total;
+  }
+
+  /**
+   * Result of exporting a single calendar.
+   */
+
+  public static final class CalendarExport {
+    private final String calendarName;
+    private final String filename;
+    private final long events;
+    private final long bytes;
+    private final boolean exported;
+
+    /**
+     * Constructs the result of exporting a single calendar.
+     *
+     * @param calendarName name of the calendar
+     * @param filename     file the calendar was exported to
+     * @param events       number of events written
+     * @param bytes        number of bytes written to the file
+     * @param exported     whether the export completed
+     */
+
+    public CalendarExport(String calendarName, String filename, long events, long bytes,
+                          boolean exported) {
+      this.calendarName = calendarName;
+      this.filename = filename;
+      this.events = events;
+      this.bytes = bytes;
+      this.exported = exported;
+    }
+
+    /**
+     * getter to get the name of the calendar.
+     *
+     * @return the name of the calendar
+     */
+
+    public String getCalendarName() {
+      return calendarName;
+    }
+
+    /**
+     * getter to get the file the calendar was exported to.
+     *
+     * @return the file name
+     */
+
+    public String getFilename() {
+      return filename;
+    }
+
+    /**
+     * getter to get the number of events written.
+     *
+     * @return the number of events
+     */
+
+    public long getEvents() {
+      return events;
+    }
+
+    /**
+     * getter to get the number of bytes written to the file.
+     *
+     * @return the number of bytes
+     */
+
+    public long getBytes() {
+      return bytes;
+    }
+
+    /**
+     * getter to know whether the export completed.
+     *
+     * @return true if the calendar was exported
+     */
+
+    public boolean isExported() {
+      return exported;
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package calendar.model.modelutility;
+
+import calendar.model.modelinterfaces.Calendar;
+import calendar.model.modelinterfaces.Event;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable summary of the events of a calendar starting in every day of a month, as shown
+ * in the month grid: the number of events of every day, and the subjects of its first
+ * events in start order.
+ *
+ */
+
+public final class MonthSummary {
+
+  /**
+   * Number of subjects kept for every day.
+   */
+
+  public static final int SUBJECTS_PER_DAY = 3;
+
+  private final YearMonth month;
+  private final int[] counts;
+  private final List<List<String>> subjects;
+
+  private MonthSummary(YearMonth month) {
+    this.month = month;
+    this.counts = new int[month.lengthOfMonth()];
+    this.subjects = new ArrayList<>(counts.length);
+    for (int i = 0; i < counts.length; i++) {
+      subjects.add(new ArrayList<>());
+    }
+  }
+
+  /**
+   * Computes the summary of a month of a calendar without visiting all of its events: the
+   * counts of its days are read from the counts per start date kept by the calendar, and
+   * only the first {@link #SUBJECTS_PER_DAY} events of every day are read, so the summary
+   * costs the same for a month of ten events as for a month of a million.
+   *
+   * @param calendar the calendar
+   * @param month    the month
+   * @return the summary of the month
+   */
+
+  public static MonthSummary of(Calendar calendar, YearMonth month) {
+    MonthSummary summary = new MonthSummary(month);
+    for (Map.Entry<LocalDate, Integer> count : calendar.countEventsPer(month.atDay(1),
+        month.atEndOfMonth(), ChronoUnit.DAYS).entrySet()) {
+      int day = count.getKey().getDayOfMonth() - 1;
+      summary.counts[day] = count.getValue();
+      if (count.getValue() == 0) {
+        continue;
+      }
+      List<String> daySubjects = summary.subjects.get(day);
+      for (Event event : calendar.getEventsStartingBetween(count.getKey(), count.getKey())) {
+        daySubjects.add(event.getSubject());
+        if (daySubjects.size() == SUBJECTS_PER_DAY) {
+          break;
+        }
+      }
+    }
+    return summary;
+  }
+
+  /**
+   * getter to get the month of the summary.
+   *
+   * @return the month
+   */
+
+  public YearMonth getMonth() {
+    return month;
+  }
+
+  /**
+   * getter to get the number of events starting on a day of the month.
+   *
+   * @param dayOfMonth the day of the month, from 1
+   * @return the number of events starting on the day
+   */
+
+  public int getEventCount(int dayOfMonth) {
+    return counts[dayOfMonth - 1];
+  }
+
+  /**
+   * getter to get the subjects of the first events starting on a day of the month, at most
+   * {@link #SUBJECTS_PER_DAY} of them.
+   *
+   * @param dayOfMonth the day of the month, from 1
+   * @return the subjects in start order
+   */
+
+  public List<String> getSubjects(int dayOfMonth) {
+    return Collections.unmodifiableList(subjects.get(dayOfMonth - 1));
+  }
+}
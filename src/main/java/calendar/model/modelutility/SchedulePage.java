@@ -0,0 +1,123 @@
+package calendar.model.modelutility;
+
+import calendar.model.modelinterfaces.Event;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable page of the events of a schedule, in start date time order.
+ * It holds at most the requested number of events and, if more events follow them, a
+ * continuation token which resumes the schedule right after the last event of the page.
+ * The token names the start date time of that event and how many events starting at that
+ * same date time were already returned, so resuming costs a seek into the start date
+ * index instead of skipping every earlier event.
+ *
+ */
+
+public final class SchedulePage {
+
+  private static final char TOKEN_SEPARATOR = '~';
+
+  private final List<Event> events;
+  private final String nextPageToken;
+
+  /**
+   * Constructs a page of a schedule.
+   *
+   * @param events        events of the page in start date time order
+   * @param nextPageToken token of the next page, or null if this is the last page
+   */
+
+  public SchedulePage(List<Event> events, String nextPageToken) {
+    this.events = Collections.unmodifiableList(events);
+    this.nextPageToken = nextPageToken;
+  }
+
+  /**
+   * getter to get the events of the page.
+   *
+   * @return the events in start date time order
+   */
+
+  public List<Event> getEvents() {
+    return events;
+  }
+
+  /**
+   * getter to get the token which resumes the schedule after this page.
+   *
+   * @return the token of the next page, or null if this is the last page
+   */
+
+  public String getNextPageToken() {
+    return nextPageToken;
+  }
+
+  /**
+   * Tells whether more events follow this page.
+   *
+   * @return true if there is a next page
+   */
+
+  public boolean hasNextPage() {
+    return nextPageToken != null;
+  }
+
+  /**
+   * Builds the token resuming after the events starting at a date time.
+   *
+   * @param start    start date time of the last event returned
+   * @param returned number of events starting at that date time already returned
+   * @return the token
+   */
+
+  public static String token(LocalDateTime start, int returned) {
+    return start.toString() + TOKEN_SEPARATOR + returned;
+  }
+
+  /**
+   * Reads the start date time of a token.
+   *
+   * @param token the token
+   * @return the start date time of the last event returned
+   * @throws IllegalArgumentException if the token is malformed
+   */
+
+  public static LocalDateTime tokenStart(String token) {
+    try {
+      return LocalDateTime.parse(token.substring(0, separatorOf(token)));
+    } catch (DateTimeParseException e) {
+      throw new IllegalArgumentException("Invalid page token: " + token);
+    }
+  }
+
+  /**
+   * Reads how many events starting at the start date time of a token were returned.
+   *
+   * @param token the token
+   * @return the number of events to skip at that start date time
+   * @throws IllegalArgumentException if the token is malformed
+   */
+
+  public static int tokenReturned(String token) {
+    try {
+      int returned = Integer.parseInt(token.substring(separatorOf(token) + 1));
+      if (returned < 1) {
+        throw new IllegalArgumentException("Invalid page token: " + token);
+      }
+      return returned;
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid page token: " + token);
+    }
+  }
+
+  private static int separatorOf(String token) {
+    int separator = token.lastIndexOf(TOKEN_SEPARATOR);
+    if (separator < 0) {
+      throw new IllegalArgumentException("Invalid page token: " + token);
+    }
+    return separator;
+  }
+}
@@ -0,0 +1,230 @@
+package calendar.model.modelutility;
+
+import calendar.model.modelinterfaces.Event;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Weekly recurrence rule detected from the occurrences of one event series.
+ * The master occurrence is the one whose properties are shared by most occurrences,
+ * occurrences that differ from it are overrides of their slot, weekdays of the rule
+ * without an occurrence are exclusions and additional occurrences on an already used
+ * date are kept as extras, so that the rule and its exceptions reproduce the series.
+ *
+ */
+
+class SeriesRecurrence {
+
+  private final Event master;
+  private final Set<DayOfWeek> repeatDays;
+  private final LocalDate firstDate;
+  private final LocalDate lastDate;
+  private final List<LocalDate> excludedDates;
+  private final Map<LocalDate, Event> overrides;
+  private final List<Event> extras;
+
+  private SeriesRecurrence(Event master, Set<DayOfWeek> repeatDays, LocalDate firstDate,
+                           LocalDate lastDate, List<LocalDate> excludedDates,
+                           Map<LocalDate, Event> overrides, List<Event> extras) {
+    this.master = master;
+    this.repeatDays = repeatDays;
+    this.firstDate = firstDate;
+    this.lastDate = lastDate;
+    this.excludedDates = excludedDates;
+    this.overrides = overrides;
+    this.extras = extras;
+  }
+
+  /**
+   * Detects the weekly recurrence of the occurrences of a series.
+   *
+   * @param occurrences occurrences of one series ordered by start date time
+   * @return the detected recurrence, or null if a weekly rule does not describe the series
+   *         more compactly than its individual occurrences
+   */
+
+  static SeriesRecurrence detect(List<Event> occurrences) {
+    if (occurrences.size() < 2) {
+      return null;
+    }
+
+    Event master = mostCommon(occurrences);
+    List<Object> masterSignature = signatureOf(master);
+
+    TreeMap<LocalDate, Event> slots = new TreeMap<>();
+    List<Event> extras = new ArrayList<>();
+    for (Event event : occurrences) {
+      Event taken = slots.get(event.getStartDate());
+      if (taken == null) {
+        slots.put(event.getStartDate(), event);
+      } else if (!matches(taken, masterSignature) && matches(event, masterSignature)) {
+        slots.put(event.getStartDate(), event);
+        extras.add(taken);
+      } else {
+        extras.add(event);
+      }
+    }
+
+    Set<DayOfWeek> repeatDays = EnumSet.noneOf(DayOfWeek.class);
+    for (LocalDate date : slots.keySet()) {
+      repeatDays.add(date.getDayOfWeek());
+    }
+
+    LocalDate firstDate = slots.firstKey();
+    LocalDate lastDate = slots.lastKey();
+    List<LocalDate> excludedDates = new ArrayList<>();
+    for (LocalDate date = firstDate; !date.isAfter(lastDate); date = date.plusDays(1)) {
+      if (repeatDays.contains(date.getDayOfWeek()) && !slots.containsKey(date)) {
+        excludedDates.add(date);
+        if (excludedDates.size() > slots.size()) {
+          return null;
+        }
+      }
+    }
+
+    Map<LocalDate, Event> overrides = new TreeMap<>();
+    for (Map.Entry<LocalDate, Event> slot : slots.entrySet()) {
+      if (!matches(slot.getValue(), masterSignature)) {
+        overrides.put(slot.getKey(), slot.getValue());
+      }
+    }
+
+    return new SeriesRecurrence(master, repeatDays, firstDate, lastDate, excludedDates,
+        overrides, extras);
+  }
+
+  /**
+   * Gets the occurrence whose properties describe the rule.
+   *
+   * @return the master occurrence
+   */
+
+  Event getMaster() {
+    return master;
+  }
+
+  /**
+   * Gets the start date time of the first slot of the rule.
+   *
+   * @return the start of the rule
+   */
+
+  LocalDateTime getStart() {
+    return LocalDateTime.of(firstDate, master.getStartTime());
+  }
+
+  /**
+   * Gets the end date time of the first slot of the rule.
+   *
+   * @return the end of the first occurrence of the rule
+   */
+
+  LocalDateTime getEnd() {
+    return getStart().plus(durationOf(master));
+  }
+
+  /**
+   * Gets the start date time of the last slot of the rule.
+   *
+   * @return the UNTIL bound of the rule
+   */
+
+  LocalDateTime getUntil() {
+    return LocalDateTime.of(lastDate, master.getStartTime());
+  }
+
+  /**
+   * Gets the days of the week of the rule, ordered from Monday.
+   *
+   * @return the repeat days
+   */
+
+  Set<DayOfWeek> getRepeatDays() {
+    return repeatDays;
+  }
+
+  /**
+   * Gets the dates which the rule produces but the series has no occurrence on.
+   *
+   * @return the excluded dates
+   */
+
+  List<LocalDate> getExcludedDates() {
+    return excludedDates;
+  }
+
+  /**
+   * Gets the occurrences which differ from the master, by the date of their slot.
+   *
+   * @return the overridden occurrences
+   */
+
+  Map<LocalDate, Event> getOverrides() {
+    return overrides;
+  }
+
+  /**
+   * Gets the occurrences which fall on a date whose slot is already taken.
+   *
+   * @return the extra occurrences
+   */
+
+  List<Event> getExtras() {
+    return extras;
+  }
+
+  /**
+   * Gets the start date time of the slot on the given date, as used by RECURRENCE-ID.
+   *
+   * @param date date of the slot
+   * @return the start date time of the slot
+   */
+
+  LocalDateTime slotStart(LocalDate date) {
+    return LocalDateTime.of(date, master.getStartTime());
+  }
+
+  private static Event mostCommon(List<Event> occurrences) {
+    Map<List<Object>, Integer> counts = new HashMap<>();
+    Event best = occurrences.get(0);
+    int bestCount = 0;
+    for (Event event : occurrences) {
+      int count = counts.merge(signatureOf(event), 1, Integer::sum);
+      if (count > bestCount) {
+        best = event;
+        bestCount = count;
+      }
+    }
+    List<Object> bestSignature = signatureOf(best);
+    for (Event event : occurrences) {
+      if (matches(event, bestSignature)) {
+        return event;
+      }
+    }
+    return best;
+  }
+
+  private static boolean matches(Event event, List<Object> signature) {
+    return signatureOf(event).equals(signature);
+  }
+
+  private static List<Object> signatureOf(Event event) {
+    return List.of(event.getSubject(), event.getStartTime(), durationOf(event),
+        Objects.toString(event.getDescription()), event.getLocation(), event.getStatus());
+  }
+
+  private static Duration durationOf(Event event) {
+    return Duration.between(LocalDateTime.of(event.getStartDate(), event.getStartTime()),
+        LocalDateTime.of(event.getEndDate(), event.getEndTime()));
+  }
+}
@@ -0,0 +1,22 @@
+package calendar.utility.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Base of the Java Flight Recorder events of the calendar, which all carry the name of the
+ * calendar they ran against and show under the "Calendar" category of a recording.
+ * Every event is created and begun unconditionally, but its fields are only filled in and
+ * committed when shouldCommit() returns true, so while no recording is running an event
+ * costs an allocation the JIT removes and a check of a constant flag.
+ *
+ */
+
+@Category("Calendar")
+@StackTrace(false)
+public abstract class CalendarJfrEvent extends jdk.jfr.Event {
+
+  @Label("Calendar")
+  public String calendarName;
+}
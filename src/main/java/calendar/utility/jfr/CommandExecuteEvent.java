@@ -0,0 +1,23 @@
+package calendar.utility.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded while a command object runs, from extracting its arguments to printing its
+ * result.
+ *
+ */
+
+@Name("calendar.CommandExecute")
+@Label("Command Execute")
+@Description("Execution of a command line")
+public class CommandExecuteEvent extends CalendarJfrEvent {
+
+  @Label("Command Type")
+  public String commandType;
+
+  @Label("Succeeded")
+  public boolean succeeded;
+}
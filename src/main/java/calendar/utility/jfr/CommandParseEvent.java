@@ -0,0 +1,21 @@
+package calendar.utility.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded while the controller looks up a command line and builds its command object.
+ * Most arguments are only extracted when the command runs, so they are part of the
+ * matching {@link CommandExecuteEvent}.
+ *
+ */
+
+@Name("calendar.CommandParse")
+@Label("Command Parse")
+@Description("Lookup of a command line and creation of its command object")
+public class CommandParseEvent extends CalendarJfrEvent {
+
+  @Label("Command Type")
+  public String commandType;
+}
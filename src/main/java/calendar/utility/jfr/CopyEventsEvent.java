@@ -0,0 +1,28 @@
+package calendar.utility.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded while events are copied from one calendar to another, the calendar name being
+ * the one of the source calendar.
+ *
+ */
+
+@Name("calendar.CopyEvents")
+@Label("Copy Events")
+@Description("Copy of one event, the events of a date or the events between two dates")
+public class CopyEventsEvent extends CalendarJfrEvent {
+
+  @Label("Operation")
+  @Description("event, on or between")
+  public String operation;
+
+  @Label("Target Calendar")
+  public String targetCalendarName;
+
+  @Label("Event Count")
+  @Description("Number of events copied")
+  public int eventCount;
+}
@@ -0,0 +1,34 @@
+package calendar.utility.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded while a calendar, or its changes since a version, is exported to a file.
+ *
+ */
+
+@Name("calendar.Export")
+@Label("Export")
+@Description("Export of a calendar to a CSV or iCal file")
+public class ExportEvent extends CalendarJfrEvent {
+
+  @Label("File")
+  public String filename;
+
+  @Label("Delta")
+  @Description("True if only the changes since a version were requested")
+  public boolean delta;
+
+  @Label("Event Count")
+  public long eventCount;
+
+  @Label("Bytes Written")
+  @DataAmount
+  public long byteCount;
+
+  @Label("Exported")
+  public boolean exported;
+}
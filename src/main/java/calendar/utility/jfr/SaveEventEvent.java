@@ -0,0 +1,25 @@
+package calendar.utility.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded for every call of saveEvent. Saves made one at a time by a copy nest inside its
+ * CopyEvents event, while the occurrences of a series are saved in bulk through
+ * saveEvents and only counted by its SeriesConstruction event.
+ *
+ */
+
+@Name("calendar.SaveEvent")
+@Label("Save Event")
+@Description("Save of one event into a calendar")
+public class SaveEventEvent extends CalendarJfrEvent {
+
+  @Label("Saved")
+  @Description("False if the event already existed")
+  public boolean saved;
+
+  @Label("Calendar Size")
+  public int calendarSize;
+}
@@ -0,0 +1,26 @@
+package calendar.utility.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded while the occurrences of a new series are built and saved.
+ *
+ */
+
+@Name("calendar.SeriesConstruction")
+@Label("Series Construction")
+@Description("Creation of the occurrences of a series")
+public class SeriesConstructionEvent extends CalendarJfrEvent {
+
+  @Label("Subject")
+  public String subject;
+
+  @Label("Series Id")
+  public String seriesId;
+
+  @Label("Event Count")
+  @Description("Number of occurrences saved")
+  public int eventCount;
+}
@@ -0,0 +1,26 @@
+package calendar.utility.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded while a calendar moves to another timezone and its events are shifted and
+ * indexed again.
+ *
+ */
+
+@Name("calendar.TimezoneChange")
+@Label("Timezone Change")
+@Description("Move of a calendar and its events to another timezone")
+public class TimezoneChangeEvent extends CalendarJfrEvent {
+
+  @Label("From Timezone")
+  public String fromTimezone;
+
+  @Label("To Timezone")
+  public String toTimezone;
+
+  @Label("Event Count")
+  public int eventCount;
+}
@@ -3,6 +3,7 @@ package calendar.view;
 import calendar.controller.GuiControllerFeatures;
 import calendar.model.modelinterfaces.Event;
 import calendar.model.modelutility.Location;
+import calendar.model.modelutility.MonthSummary;
 import calendar.model.modelutility.Status;
 import java.awt.BorderLayout;
 import java.awt.Color;
@@ -39,6 +40,8 @@ import javax.swing.JSeparator;
 import javax.swing.JSplitPane;
 import javax.swing.JTextField;
 import javax.swing.SwingConstants;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 
 /**
  * this is view impl.
@@ -47,6 +50,8 @@ public class JframeView extends JFrame implements ViewInterface {
   private GuiControllerFeatures guiControllerFeatures;
   private JPanel toolbarPanel;
   private JButton navigateCalendarsButton;
+  private JButton undoButton;
+  private JButton redoButton;
   private JLabel monthYearLabel;
   private JTextField searchField;
   private JPanel leftPanel;
@@ -54,6 +59,9 @@ public class JframeView extends JFrame implements ViewInterface {
   private JPanel calendarPanel;
   private JPanel daysHeaderPanel;
   private JPanel daysGridPanel;
+  private static final String DAY_OF_MONTH = "dayOfMonth";
+  private static final DateTimeFormatter MONTH_YEAR_FORMAT =
+      DateTimeFormatter.ofPattern("MMMM yyyy");
   private JButton[][] dayButtons = new JButton[6][7];
   private String[] daysOfWeek = {"Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat"};
   private JPanel mainPanel;
@@ -67,7 +75,6 @@ public class JframeView extends JFrame implements ViewInterface {
   private JDialog dialog;
   private JTextField calendarNameField;
   private JTextField timeZoneField;
-  private JButton calButton;
   private JCheckBox recurringCheckBox;
   private JPanel recurringPanel;
   private JLabel currentCalendarLabel;
@@ -89,7 +96,6 @@ public class JframeView extends JFrame implements ViewInterface {
   private JRadioButton timesRadio;
   private JPanel buttonPanel;
   private JScrollPane scrollPane;
-  private JButton eventButton;
   private JButton editEventBtn;
   private JLabel propertyLabel;
   private JButton selectedDayButton = null;
@@ -178,9 +184,23 @@ public class JframeView extends JFrame implements ViewInterface {
     searchField.setPreferredSize(new Dimension(200, 30));
     searchField.setToolTipText("Search events...");
 
+    undoButton = new JButton("Undo");
+    undoButton.setPreferredSize(new Dimension(80, 30));
+    undoButton.setFocusPainted(false);
+    undoButton.setToolTipText("Undo the last change to events");
+    undoButton.setEnabled(false);
+
+    redoButton = new JButton("Redo");
+    redoButton.setPreferredSize(new Dimension(80, 30));
+    redoButton.setFocusPainted(false);
+    redoButton.setToolTipText("Redo the last undone change");
+    redoButton.setEnabled(false);
+
     JPanel leftToolPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
     leftToolPanel.setBackground(new Color(245, 245, 245));
     leftToolPanel.add(navigateCalendarsButton);
+    leftToolPanel.add(undoButton);
+    leftToolPanel.add(redoButton);
     leftToolPanel.add(currentCalendarLabel);
 
     JPanel rightToolPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
@@ -207,13 +227,7 @@ public class JframeView extends JFrame implements ViewInterface {
     leftContentPanel.setLayout(new BoxLayout(leftContentPanel, BoxLayout.Y_AXIS));
     leftContentPanel.setBackground(new Color(250, 250, 250));
 
-    JScrollPane scrollPane = new JScrollPane(leftContentPanel);
-    scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
-    scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-    scrollPane.setBorder(null);
-    scrollPane.getViewport().setBackground(new Color(250, 250, 250));
-
-    leftPanel.add(scrollPane, BorderLayout.CENTER);
+    leftPanel.add(leftContentPanel, BorderLayout.CENTER);
 
     createCalendarBtn = new JButton("+ Create New Calendar");
     createCalendarDialogBoxBtn = new JButton("Create");
@@ -271,12 +285,12 @@ public class JframeView extends JFrame implements ViewInterface {
   }
 
   private void populateCalendar() {
-    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("MMMM yyyy");
-    monthYearLabel.setText(currentYearMonth.format(formatter));
+    monthYearLabel.setText(currentYearMonth.format(MONTH_YEAR_FORMAT));
 
     for (int week = 0; week < 6; week++) {
       for (int day = 0; day < 7; day++) {
         dayButtons[week][day].setText("");
+        dayButtons[week][day].putClientProperty(DAY_OF_MONTH, null);
         dayButtons[week][day].setEnabled(false);
         dayButtons[week][day].setBackground(Color.WHITE);
       }
@@ -298,6 +312,7 @@ public class JframeView extends JFrame implements ViewInterface {
 
         if (started && currentDay <= daysInMonth) {
           dayButtons[week][day].setText(String.valueOf(currentDay));
+          dayButtons[week][day].putClientProperty(DAY_OF_MONTH, currentDay);
           dayButtons[week][day].setEnabled(true);
 
           if (currentDate.getYear() == currentYearMonth.getYear()
@@ -312,6 +327,51 @@ public class JframeView extends JFrame implements ViewInterface {
         }
       }
     }
+
+    if (guiControllerFeatures != null) {
+      guiControllerFeatures.handleMonthShown();
+    }
+  }
+
+  @Override
+  public void showMonthSummary(MonthSummary summary) {
+    if (!summary.getMonth().equals(currentYearMonth)) {
+      return;
+    }
+    for (int week = 0; week < 6; week++) {
+      for (int day = 0; day < 7; day++) {
+        Object dayOfMonth = dayButtons[week][day].getClientProperty(DAY_OF_MONTH);
+        if (dayOfMonth != null) {
+          dayButtons[week][day].setText(dayLabel((Integer) dayOfMonth, summary));
+        }
+      }
+    }
+  }
+
+  /**
+   * Builds the text of a day button, the day of the month followed by the subjects of its
+   * first events and the number of the other events.
+   */
+
+  private static String dayLabel(int dayOfMonth, MonthSummary summary) {
+    int count = summary.getEventCount(dayOfMonth);
+    if (count == 0) {
+      return String.valueOf(dayOfMonth);
+    }
+    StringBuilder label = new StringBuilder("<html>").append(dayOfMonth);
+    for (String subject : summary.getSubjects(dayOfMonth)) {
+      label.append("<br><font size=\"-2\">&bull; ").append(escapeHtml(subject))
+          .append("</font>");
+    }
+    int others = count - summary.getSubjects(dayOfMonth).size();
+    if (others > 0) {
+      label.append("<br><font size=\"-2\">+").append(others).append(" more</font>");
+    }
+    return label.append("</html>").toString();
+  }
+
+  private static String escapeHtml(String text) {
+    return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
   }
 
   private void handleDialogBoxEditEvent(JTextField newValueField,
@@ -551,46 +611,17 @@ public class JframeView extends JFrame implements ViewInterface {
       noCalLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
       leftContentPanel.add(Box.createRigidArea(new Dimension(0, 20)));
       leftContentPanel.add(noCalLabel);
+      leftContentPanel.add(Box.createVerticalGlue());
     } else {
-      for (String calendar : calendars) {
-        calButton = new JButton(calendar);
-        calButton.setText(calendar);
-        calButton.setAlignmentX(Component.CENTER_ALIGNMENT);
-        calButton.setMaximumSize(new Dimension(200, 35));
-        calButton.setPreferredSize(new Dimension(180, 35));
-        calButton.setMinimumSize(new Dimension(150, 35));
-
-        calButton.setBackground(Color.WHITE);
-        calButton.setFocusPainted(false);
-        calButton.setBorder(BorderFactory.createCompoundBorder(
-            BorderFactory.createLineBorder(new Color(200, 200, 200), 1),
-            BorderFactory.createEmptyBorder(5, 10, 5, 10)
-        ));
-
-        calButton.addMouseListener(new java.awt.event.MouseAdapter() {
-          public void mouseEntered(java.awt.event.MouseEvent evt) {
-            calButton.setBackground(new Color(245, 245, 245));
-          }
-
-          public void mouseExited(java.awt.event.MouseEvent evt) {
-            calButton.setBackground(Color.WHITE);
-          }
-        });
-
-        calButton.addActionListener(e -> {
-          System.out.println("Calendar clicked: " + calendar);
-          if (guiControllerFeatures != null) {
-            guiControllerFeatures.handleCalendarClicked(calendar);
-          }
-        });
-        leftContentPanel.add(calButton);
-        leftContentPanel.add(Box.createRigidArea(new Dimension(0, 5)));
-      }
+      leftContentPanel.add(new VirtualList<>(calendars, calendar -> calendar, Color.WHITE,
+          calendar -> {
+            System.out.println("Calendar clicked: " + calendar);
+            if (guiControllerFeatures != null) {
+              guiControllerFeatures.handleCalendarClicked(calendar);
+            }
+          }));
     }
 
-    leftContentPanel.add(Box.createVerticalGlue());
-
-
     createCalendarBtn.setAlignmentX(Component.CENTER_ALIGNMENT);
     createCalendarBtn.setMaximumSize(new Dimension(200, 35));
     createCalendarBtn.setPreferredSize(new Dimension(180, 35));
@@ -828,6 +859,7 @@ public class JframeView extends JFrame implements ViewInterface {
       noEventsLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
       leftContentPanel.add(Box.createRigidArea(new Dimension(0, 20)));
       leftContentPanel.add(noEventsLabel);
+      leftContentPanel.add(Box.createVerticalGlue());
     } else {
       JLabel eventsHeaderLabel = new JLabel("Events for Selected Day");
       eventsHeaderLabel.setFont(new Font("Arial", Font.BOLD, 14));
@@ -836,48 +868,15 @@ public class JframeView extends JFrame implements ViewInterface {
       leftContentPanel.add(eventsHeaderLabel);
       leftContentPanel.add(Box.createRigidArea(new Dimension(0, 10)));
 
-      for (Event event : events) {
-        eventButton = new JButton(event.toString());
-        eventButton.setText(event.toString());
-        eventButton.setAlignmentX(Component.CENTER_ALIGNMENT);
-        eventButton.setMaximumSize(new Dimension(200, 35));
-        eventButton.setPreferredSize(new Dimension(180, 35));
-        eventButton.setMinimumSize(new Dimension(150, 35));
-
-        eventButton.setBackground(Color.BLUE);
-        eventButton.setFocusPainted(false);
-        eventButton.setBorder(BorderFactory.createCompoundBorder(
-            BorderFactory.createLineBorder(new Color(200, 200, 200), 1),
-            BorderFactory.createEmptyBorder(5, 10, 5, 10)
-        ));
-
-        eventButton.addMouseListener(new java.awt.event.MouseAdapter() {
-          public void mouseEntered(java.awt.event.MouseEvent evt) {
-            eventButton.setBackground(new Color(245, 245, 245));
-          }
-
-          public void mouseExited(java.awt.event.MouseEvent evt) {
-            eventButton.setBackground(Color.BLUE);
-          }
-        });
-
-        eventButton.addActionListener(e -> {
-          if (event.getEventSeriesId() != null) {
-
-            showEditSeriesDialogBox(event);
-
-          } else {
-            showEditEventDialogBox(event);
-          }
-        });
-
-        leftContentPanel.add(eventButton);
-        leftContentPanel.add(Box.createRigidArea(new Dimension(0, 5)));
-      }
+      leftContentPanel.add(new VirtualList<>(events, Event::toString, Color.BLUE, event -> {
+        if (event.getEventSeriesId() != null) {
+          showEditSeriesDialogBox(event);
+        } else {
+          showEditEventDialogBox(event);
+        }
+      }));
     }
 
-    leftContentPanel.add(Box.createVerticalGlue());
-
     createEventBtn = new JButton("+ Create New Event");
     createEventBtn.setAlignmentX(Component.CENTER_ALIGNMENT);
     createEventBtn.setMaximumSize(new Dimension(200, 35));
@@ -920,6 +919,11 @@ public class JframeView extends JFrame implements ViewInterface {
 
   }
 
+  @Override
+  public YearMonth getCurrentMonth() {
+    return this.currentYearMonth;
+  }
+
   @Override
   public void showEditEventDialogBox(Event event) {
 
@@ -1205,6 +1209,7 @@ public class JframeView extends JFrame implements ViewInterface {
       noResultsLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
       leftContentPanel.add(Box.createRigidArea(new Dimension(0, 20)));
       leftContentPanel.add(noResultsLabel);
+      leftContentPanel.add(Box.createVerticalGlue());
     } else {
       JLabel searchHeaderLabel = new JLabel("Search Results: " + searchTerm);
       searchHeaderLabel.setFont(new Font("Arial", Font.BOLD, 14));
@@ -1213,42 +1218,10 @@ public class JframeView extends JFrame implements ViewInterface {
       leftContentPanel.add(searchHeaderLabel);
       leftContentPanel.add(Box.createRigidArea(new Dimension(0, 10)));
 
-      for (Event event : searchResults) {
-        JButton eventButton = new JButton(event.toString());
-        eventButton.setText(event.toString());
-        eventButton.setAlignmentX(Component.CENTER_ALIGNMENT);
-        eventButton.setMaximumSize(new Dimension(200, 35));
-        eventButton.setPreferredSize(new Dimension(180, 35));
-        eventButton.setMinimumSize(new Dimension(150, 35));
-
-        eventButton.setBackground(Color.WHITE);
-        eventButton.setFocusPainted(false);
-        eventButton.setBorder(BorderFactory.createCompoundBorder(
-            BorderFactory.createLineBorder(new Color(200, 200, 200), 1),
-            BorderFactory.createEmptyBorder(5, 10, 5, 10)
-        ));
-
-        eventButton.addMouseListener(new java.awt.event.MouseAdapter() {
-          public void mouseEntered(java.awt.event.MouseEvent evt) {
-            eventButton.setBackground(new Color(245, 245, 245));
-          }
-
-          public void mouseExited(java.awt.event.MouseEvent evt) {
-            eventButton.setBackground(Color.WHITE);
-          }
-        });
-
-        eventButton.addActionListener(e -> {
-          showEditEventDialogBox(event);
-        });
-
-        leftContentPanel.add(eventButton);
-        leftContentPanel.add(Box.createRigidArea(new Dimension(0, 5)));
-      }
+      leftContentPanel.add(new VirtualList<>(searchResults, Event::toString, Color.WHITE,
+          this::showEditEventDialogBox));
     }
 
-    leftContentPanel.add(Box.createVerticalGlue());
-
     JButton clearSearchBtn = new JButton("Clear Search");
     clearSearchBtn.setAlignmentX(Component.CENTER_ALIGNMENT);
     clearSearchBtn.setMaximumSize(new Dimension(200, 35));
@@ -1481,6 +1454,12 @@ public class JframeView extends JFrame implements ViewInterface {
     });
   }
 
+  @Override
+  public void setUndoRedoEnabled(boolean canUndo, boolean canRedo) {
+    undoButton.setEnabled(canUndo);
+    redoButton.setEnabled(canRedo);
+  }
+
   @Override
   public void addHandlers(GuiControllerFeatures guiHandlers) {
     this.guiControllerFeatures = guiHandlers;
@@ -1490,8 +1469,8 @@ public class JframeView extends JFrame implements ViewInterface {
 
         dayButtons[week][day].addActionListener(e -> {
           JButton source = (JButton) e.getSource();
-          String dayText = source.getText();
-          if (!dayText.isEmpty()) {
+          Object dayOfMonth = source.getClientProperty(DAY_OF_MONTH);
+          if (dayOfMonth != null) {
             if (selectedDayButton != null && selectedDayButton != source) {
               selectedDayButton.setBackground(Color.WHITE);
               selectedDayButton.setFont(new Font("Arial", Font.PLAIN, 14));
@@ -1501,8 +1480,7 @@ public class JframeView extends JFrame implements ViewInterface {
             source.setFont(new Font("Arial", Font.BOLD, 14));
             selectedDayButton = source;
 
-            int dayOfMonth = Integer.parseInt(dayText);
-            this.currentDate = currentYearMonth.atDay(dayOfMonth);
+            this.currentDate = currentYearMonth.atDay((Integer) dayOfMonth);
             guiHandlers.handleDateClicked();
           }
         });
@@ -1516,6 +1494,14 @@ public class JframeView extends JFrame implements ViewInterface {
       guiHandlers.handleNavigateCalendarClicked();
     });
 
+    undoButton.addActionListener(e -> {
+      guiHandlers.handleUndoClicked();
+    });
+
+    redoButton.addActionListener(e -> {
+      guiHandlers.handleRedoClicked();
+    });
+
     createCalendarBtn.addActionListener(e -> {
       guiHandlers.handleCreateCalendarClicked();
     });
@@ -1550,15 +1536,30 @@ public class JframeView extends JFrame implements ViewInterface {
     });
 
     searchField.addActionListener(e -> {
-      String searchTerm = searchField.getText().trim();
-      if (!searchTerm.isEmpty()) {
-        guiHandlers.handleSearchEvents(searchTerm);
+      guiHandlers.handleSearchTyped(searchField.getText().trim());
+    });
+
+    searchField.getDocument().addDocumentListener(new DocumentListener() {
+      @Override
+      public void insertUpdate(DocumentEvent e) {
+        guiHandlers.handleSearchTyped(searchField.getText().trim());
+      }
+
+      @Override
+      public void removeUpdate(DocumentEvent e) {
+        guiHandlers.handleSearchTyped(searchField.getText().trim());
+      }
+
+      @Override
+      public void changedUpdate(DocumentEvent e) {
+        guiHandlers.handleSearchTyped(searchField.getText().trim());
       }
     });
 
     String currentCalendar = guiHandlers.getCurrentCalendarName();
     String currentTimezone = guiHandlers.getCurrentCalendarTimezone();
     updateCurrentCalendarLabel(currentCalendar, currentTimezone);
+    guiHandlers.handleMonthShown();
   }
 
   private Map<String, Object> eventParameterConstructor(String selectedProperty, String newValue) {
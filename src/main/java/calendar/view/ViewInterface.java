@@ -2,7 +2,9 @@ package calendar.view;
 
 import calendar.controller.GuiControllerFeatures;
 import calendar.model.modelinterfaces.Event;
+import calendar.model.modelutility.MonthSummary;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 /**
@@ -49,6 +51,23 @@ public interface ViewInterface {
 
   public LocalDate getCurrentDate();
 
+  /**
+   * gets the month shown in the calendar grid.
+   *
+   * @return current month
+   */
+
+  public YearMonth getCurrentMonth();
+
+  /**
+   * Shows the number and subjects of the events of every day of a month in the calendar
+   * grid, ignored if the month is no longer shown.
+   *
+   * @param summary summary of the events of the month
+   */
+
+  public void showMonthSummary(MonthSummary summary);
+
   /**
    * Displays the edit event dialog box.
    */
@@ -116,4 +135,13 @@ public interface ViewInterface {
    */
 
   public void showEditSeriesDialogBox(Event event);
+
+  /**
+   * Enables or disables the undo and redo buttons.
+   *
+   * @param canUndo whether there is a change to undo
+   * @param canRedo whether there is a change to redo
+   */
+
+  public void setUndoRedoEnabled(boolean canUndo, boolean canRedo);
 }
@@ -0,0 +1,174 @@
+package calendar.view;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.swing.AbstractListModel;
+import javax.swing.BorderFactory;
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JLabel;
+import javax.swing.JList;
+import javax.swing.JScrollPane;
+import javax.swing.ListSelectionModel;
+import javax.swing.border.Border;
+
+/**
+ * Scrollable list of items of the left panel, such as the events of a day, search results
+ * or calendars, drawn as a column of buttons.
+ * The list is a JList over the given items, without copying them, with rows of a fixed
+ * size and one renderer, so only the visible rows are ever rendered and a day of
+ * thousands of events costs a handful of Swing components instead of one button with
+ * listeners per event.
+ *
+ */
+
+final class VirtualList<T> extends JScrollPane {
+
+  private static final long serialVersionUID = 1L;
+
+  static final int ROW_HEIGHT = 40;
+  static final int ROW_WIDTH = 180;
+
+  private static final Color HOVER_BACKGROUND = new Color(245, 245, 245);
+
+  private final JList<T> list;
+  private int hovered = -1;
+
+  /**
+   * Constructs a list of items.
+   *
+   * @param items      the items, which must not change while they are shown
+   * @param text       text of the row of an item, only computed for the visible rows
+   * @param background background of the rows
+   * @param onClick    action run with an item when its row is clicked
+   */
+
+  VirtualList(List<T> items, Function<T, String> text, Color background,
+              Consumer<T> onClick) {
+    this.list = new JList<>(new ItemModel<>(items));
+    list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+    list.setFixedCellHeight(ROW_HEIGHT);
+    list.setFixedCellWidth(ROW_WIDTH);
+    list.setBackground(new Color(250, 250, 250));
+    list.setCellRenderer(new RowRenderer(text, background));
+
+    MouseAdapter mouse = new MouseAdapter() {
+      @Override
+      public void mouseClicked(MouseEvent e) {
+        int index = indexAt(e.getPoint());
+        list.clearSelection();
+        if (index >= 0) {
+          onClick.accept(items.get(index));
+        }
+      }
+
+      @Override
+      public void mouseMoved(MouseEvent e) {
+        setHovered(indexAt(e.getPoint()));
+      }
+
+      @Override
+      public void mouseExited(MouseEvent e) {
+        setHovered(-1);
+      }
+    };
+    list.addMouseListener(mouse);
+    list.addMouseMotionListener(mouse);
+
+    setViewportView(list);
+    setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
+    setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
+    setBorder(null);
+    getVerticalScrollBar().setUnitIncrement(ROW_HEIGHT / 2);
+    setAlignmentX(Component.CENTER_ALIGNMENT);
+  }
+
+  private int indexAt(Point point) {
+    int index = list.locationToIndex(point);
+    if (index < 0) {
+      return -1;
+    }
+    Rectangle bounds = list.getCellBounds(index, index);
+    return bounds != null && bounds.contains(point) ? index : -1;
+  }
+
+  private void setHovered(int index) {
+    if (index == hovered) {
+      return;
+    }
+    repaintRow(hovered);
+    hovered = index;
+    repaintRow(hovered);
+  }
+
+  private void repaintRow(int index) {
+    if (index >= 0 && index < list.getModel().getSize()) {
+      Rectangle bounds = list.getCellBounds(index, index);
+      if (bounds != null) {
+        list.repaint(bounds);
+      }
+    }
+  }
+
+  /**
+   * Model over the items, handing them to the list as it asks for them.
+   */
+
+  private static final class ItemModel<T> extends AbstractListModel<T> {
+    private static final long serialVersionUID = 1L;
+    private final List<T> items;
+
+    ItemModel(List<T> items) {
+      this.items = items;
+    }
+
+    @Override
+    public int getSize() {
+      return items.size();
+    }
+
+    @Override
+    public T getElementAt(int index) {
+      return items.get(index);
+    }
+  }
+
+  /**
+   * Renderer drawing every row as a button, stamped once per visible row on paint.
+   */
+
+  private final class RowRenderer extends DefaultListCellRenderer {
+    private static final long serialVersionUID = 1L;
+    private final Function<T, String> text;
+    private final Color background;
+    private final Border border = BorderFactory.createCompoundBorder(
+        BorderFactory.createMatteBorder(0, 0, 5, 0, new Color(250, 250, 250)),
+        BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(new Color(200, 200, 200), 1),
+            BorderFactory.createEmptyBorder(5, 10, 5, 10)));
+
+    RowRenderer(Function<T, String> text, Color background) {
+      this.text = text;
+      this.background = background;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Component getListCellRendererComponent(JList<?> source, Object value, int index,
+                                                  boolean isSelected, boolean cellHasFocus) {
+      JLabel row = (JLabel) super.getListCellRendererComponent(source, text.apply((T) value),
+          index, false, false);
+      row.setBackground(index == hovered ? HOVER_BACKGROUND : background);
+      row.setForeground(Color.BLACK);
+      row.setHorizontalAlignment(JLabel.CENTER);
+      row.setBorder(border);
+      return row;
+    }
+  }
+}
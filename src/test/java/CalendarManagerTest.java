@@ -1,13 +1,21 @@
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import calendar.commandobject.editcommand.PropertyEdit;
 import calendar.model.modelimplementations.CalendarImpl;
 import calendar.model.modelimplementations.CalendarManagerImpl;
 import calendar.model.modelinterfaces.Calendar;
+import calendar.model.modelinterfaces.Event;
+import calendar.model.modelutility.ExportSummary;
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.List;
 import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
@@ -323,4 +331,104 @@ public class CalendarManagerTest {
 
     assertEquals(3, calendarManager.getCalendarManagerStore().size());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testExportAllWritesEveryCalendar() throws Exception {
+    calendarManager.saveCalendar(testCalendar1);
+    calendarManager.saveCalendar(testCalendar2);
+    for (int day = 1; day <= 3; day++) {
+      testCalendar1.saveEvent(testCalendar1.createEvent("Event" + day,
+          LocalDateTime.of(2025, 5, day, 9, 0), LocalDateTime.of(2025, 5, day, 10, 0),
+          null, null, null, null));
+    }
+    testCalendar2.saveEvent(testCalendar2.createEvent("Only",
+        LocalDateTime.of(2025, 5, 1, 9, 0), LocalDateTime.of(2025, 5, 1, 10, 0),
+        null, null, null, null));
+
+    File directory = Files.createTempDirectory("export-all").toFile();
+    ExportSummary summary = calendarManager.exportAll(null, directory.getPath(), "csv");
+
+    assertEquals(2, summary.getExports().size());
+    ExportSummary.CalendarExport first = summary.getExports().get(0);
+    assertEquals("TestCalendar1", first.getCalendarName());
+    assertTrue(first.isExported());
+    assertEquals(3, first.getEvents());
+    File firstFile = new File(directory, "TestCalendar1.csv");
+    assertEquals(firstFile.length(), first.getBytes());
+    assertEquals(1, summary.getExports().get(1).getEvents());
+    assertEquals(4, summary.getTotalEvents());
+    assertTrue(summary.getWallTimeNanos() > 0);
+
+    for (File file : directory.listFiles()) {
+      file.delete();
+    }
+    directory.delete();
+  }
+
+  @Test
+  public void testExportAllSkipsUnknownCalendars() throws Exception {
+    calendarManager.saveCalendar(testCalendar1);
+
+    File directory = Files.createTempDirectory("export-some").toFile();
+    ExportSummary summary = calendarManager.exportAll(List.of("Missing", "TestCalendar1"),
+        directory.getPath(), "ics");
+
+    assertEquals(1, summary.getExports().size());
+    assertEquals("TestCalendar1", summary.getExports().get(0).getCalendarName());
+    assertTrue(new File(directory, "TestCalendar1.ics").exists());
+    assertFalse(new File(directory, "Missing.ics").exists());
+
+    for (File file : directory.listFiles()) {
+      file.delete();
+    }
+    directory.delete();
+  }
+
+  @Test
+  public void testUndoAndRedoSeriesEditReplayOnlyItsEvents() {
+    calendarManager.saveCalendar(testCalendar1);
+    LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+    for (int day = 0; day < 1000; day++) {
+      testCalendar1.saveEvent(testCalendar1.createEvent("Standup", start.plusDays(day),
+          start.plusDays(day).plusMinutes(15), "series-1", null, null, null));
+      testCalendar1.saveEvent(testCalendar1.createEvent("Lunch", start.plusDays(day)
+          .plusHours(3), start.plusDays(day).plusHours(4), null, null, null, null));
+    }
+
+    calendarManager.recordOperation("edit series subject", () ->
+        testCalendar1.editEvents(testCalendar1.getEventsInSeries("series-1"),
+            new PropertyEdit("subject", "Sync", true, null)));
+    long edited = testCalendar1.getVersion();
+
+    assertTrue(calendarManager.canUndo());
+    assertEquals("edit series subject", calendarManager.undo());
+    assertEquals(edited + 1, testCalendar1.getVersion());
+    assertEquals(2000, testCalendar1.getCalendarStore().size());
+    for (Event standup : testCalendar1.getEventsInSeries("series-1")) {
+      assertEquals("Standup", standup.getSubject());
+    }
+    assertNull(calendarManager.undo());
+
+    assertEquals("edit series subject", calendarManager.redo());
+    assertEquals(1000, testCalendar1.getEventsInSeries("series-1").stream()
+        .filter(event -> event.getSubject().equals("Sync")).count());
+    assertNull(calendarManager.redo());
+  }
+
+  @Test
+  public void testTimezoneChangeClearsUndoHistory() {
+    calendarManager.saveCalendar(testCalendar1);
+    calendarManager.recordOperation("create event", () ->
+        testCalendar1.saveEvent(testCalendar1.createEvent("Meeting",
+            LocalDateTime.of(2025, 1, 1, 9, 0), LocalDateTime.of(2025, 1, 1, 10, 0),
+            null, null, null, null)));
+    assertTrue(calendarManager.canUndo());
+
+    calendarManager.recordOperation("edit calendar timezone", () ->
+        testCalendar1.modifyTimezone(ZoneId.of("Asia/Tokyo")));
+
+    assertFalse(calendarManager.canUndo());
+    assertNull(calendarManager.undo());
+    assertEquals(1, testCalendar1.getCalendarStore().size());
+  }
+}
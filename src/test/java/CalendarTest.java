@@ -2,22 +2,47 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
+import calendar.commandobject.editcommand.PropertyEdit;
 import calendar.model.modelimplementations.CalendarImpl;
+import calendar.model.modelimplementations.QueryCache;
 import calendar.model.modelinterfaces.Calendar;
 import calendar.model.modelinterfaces.Event;
+import calendar.model.modelutility.CalendarChanges;
+import calendar.model.modelutility.CalendarChanges.ChangeType;
+import calendar.model.modelutility.CopyReport;
+import calendar.model.modelutility.EventConflict;
+import calendar.model.modelutility.EventKey;
+import calendar.model.modelutility.ExportCalendar;
+import calendar.model.modelutility.SchedulePage;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 import javax.management.openmbean.KeyAlreadyExistsException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -667,4 +692,767 @@ public class CalendarTest {
     assertEquals(ZoneId.of("America/Los_Angeles"), workCalendar.getCalendarTimeZone());
     assertEquals(ZoneId.of("Europe/London"), schoolCalendar.getCalendarTimeZone());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testEventsStartingBetweenInStartOrder() {
+    personalCalendar.saveEvent(personalCalendar.createEvent("Late",
+        LocalDateTime.of(2025, 5, 16, 15, 0), LocalDateTime.of(2025, 5, 16, 16, 0),
+        null, null, null, null));
+    personalCalendar.saveEvent(personalCalendar.createEvent("Early",
+        LocalDateTime.of(2025, 5, 16, 9, 0), LocalDateTime.of(2025, 5, 16, 10, 0),
+        null, null, null, null));
+    personalCalendar.saveEvent(personalCalendar.createEvent("Outside",
+        LocalDateTime.of(2025, 5, 20, 9, 0), LocalDateTime.of(2025, 5, 20, 10, 0),
+        null, null, null, null));
+
+    List<String> subjects = new ArrayList<>();
+    for (Event event : personalCalendar.getEventsStartingBetween(
+        LocalDate.of(2025, 5, 15), LocalDate.of(2025, 5, 17))) {
+      subjects.add(event.getSubject());
+    }
+
+    assertEquals(List.of("Early", "Late"), subjects);
+  }
+
+  @Test
+  public void testDateIndexFollowsUpdatedKeys() {
+    Event event = personalCalendar.createEvent("Moving", startDateTime, endDateTime,
+        null, null, null, null);
+    personalCalendar.saveEvent(event);
+    Event oldState = personalCalendar.createEvent("Moving", startDateTime, endDateTime,
+        null, null, null, null);
+
+    event.modifyStartDate(LocalDate.of(2025, 5, 18));
+    event.modifyEndDate(LocalDate.of(2025, 5, 18));
+    personalCalendar.updateEventKey(oldState, event);
+
+    assertTrue(personalCalendar.getEventsForDate(LocalDate.of(2025, 5, 15)).isEmpty());
+    assertEquals(1, personalCalendar.getEventsForDate(LocalDate.of(2025, 5, 18)).size());
+    assertEquals("Busy", personalCalendar.showStatus("2025-05-18T10:00"));
+
+    personalCalendar.getCalendarStore().clear();
+    assertTrue(personalCalendar.getEventsForDate(LocalDate.of(2025, 5, 18)).isEmpty());
+  }
+
+  @Test
+  public void testExportCsvWithinRange() throws Exception {
+    personalCalendar.saveEvent(personalCalendar.createEvent("Inside", startDateTime,
+        endDateTime, null, null, null, null));
+    personalCalendar.saveEvent(personalCalendar.createEvent("Outside",
+        LocalDateTime.of(2025, 6, 1, 9, 0), LocalDateTime.of(2025, 6, 1, 9, 30),
+        null, null, null, null));
+
+    File exportFile = new File("range_export.csv");
+    new ExportCalendar(exportFile.getPath(), personalCalendar,
+        LocalDate.of(2025, 5, 1), LocalDate.of(2025, 5, 31)).exportCalendar();
+
+    List<String> lines = Files.readAllLines(exportFile.toPath());
+    exportFile.delete();
+
+    assertEquals(2, lines.size());
+    assertEquals("Inside,2025-05-15,2025-05-15,10:00,11:00", lines.get(1));
+  }
+
+  @Test
+  public void testExportIcalGzip() throws Exception {
+    personalCalendar.saveEvent(personalCalendar.createEvent("Compressed", startDateTime,
+        endDateTime, null, null, null, null));
+
+    File exportFile = new File("compressed_export.ics.gz");
+    new ExportCalendar(exportFile.getPath(), personalCalendar).exportCalendar();
+
+    String content;
+    try (InputStream in = new GZIPInputStream(new FileInputStream(exportFile))) {
+      content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+    exportFile.delete();
+
+    assertTrue(content.startsWith("BEGIN:VCALENDAR\r\n"));
+    assertTrue(content.contains("DTSTART:20250515T100000\r\n"));
+    assertTrue(content.contains("DTEND:20250515T110000\r\n"));
+    assertTrue(content.contains("SUMMARY: Compressed\r\n"));
+  }
+
+  @Test
+  public void testExportIcalSeriesAsRecurrenceRule() throws Exception {
+    Event first = personalCalendar.createEvent("Standup",
+        LocalDateTime.of(2025, 5, 19, 9, 0), LocalDateTime.of(2025, 5, 19, 9, 30),
+        "series-1", null, null, null);
+    personalCalendar.saveEvent(first);
+    personalCalendar.createSeries(first, 6,
+        List.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), null);
+
+    Event edited = personalCalendar.getEvent("Standup", LocalDate.of(2025, 5, 21),
+        LocalDate.of(2025, 5, 21), LocalTime.of(9, 0), LocalTime.of(9, 30));
+    edited.modifyDescription("Demo day");
+
+    File exportFile = new File("series_export.ics");
+    new ExportCalendar(exportFile.getPath(), personalCalendar).exportCalendar();
+    String content = new String(Files.readAllBytes(exportFile.toPath()),
+        StandardCharsets.UTF_8);
+    exportFile.delete();
+
+    assertEquals(2, content.split("BEGIN:VEVENT").length - 1);
+    assertTrue(content.contains("UID:series-1@edith\r\n"));
+    assertTrue(content.contains(
+        "RRULE:FREQ=WEEKLY;UNTIL=20250604T090000;BYDAY=MO,WE\r\n"));
+    assertTrue(content.contains("RECURRENCE-ID:20250521T090000\r\n"));
+    assertTrue(content.contains("DESCRIPTION: Demo day\r\n"));
+    assertFalse(content.contains("EXDATE"));
+  }
+
+  @Test
+  public void testChangesSinceAreNettedPerEvent() {
+    Event kept = personalCalendar.createEvent("Kept", startDateTime, endDateTime,
+        null, null, null, null);
+    Event dropped = personalCalendar.createEvent("Dropped", startDateTime, endDateTime,
+        null, null, null, null);
+    personalCalendar.saveEvent(kept);
+    personalCalendar.saveEvent(dropped);
+    long version = personalCalendar.getVersion();
+
+    Event snapshot = personalCalendar.createEvent("Kept", startDateTime, endDateTime,
+        null, null, null, null);
+    kept.modifyDescription("Moved to room 4");
+    personalCalendar.updateEventKey(snapshot, kept);
+    personalCalendar.getCalendarStore().remove(new EventKey("Dropped",
+        startDateTime.toLocalDate(), endDateTime.toLocalDate(),
+        startDateTime.toLocalTime(), endDateTime.toLocalTime()));
+    personalCalendar.saveEvent(personalCalendar.createEvent("Added", startDateTime,
+        endDateTime, null, null, null, null));
+    Event shortLived = personalCalendar.createEvent("Transient", startDateTime, endDateTime,
+        null, null, null, null);
+    personalCalendar.saveEvent(shortLived);
+    personalCalendar.getCalendarStore().values().remove(shortLived);
+
+    CalendarChanges changes = personalCalendar.getChangesSince(version);
+    assertEquals(version, changes.getFromVersion());
+    assertEquals(personalCalendar.getVersion(), changes.getToVersion());
+    assertEquals(3, changes.getChanges().size());
+    assertEquals(ChangeType.CHANGED, changes.getChanges().get(0).getType());
+    assertSame(kept, changes.getChanges().get(0).getEvent());
+    assertEquals(ChangeType.REMOVED, changes.getChanges().get(1).getType());
+    assertNull(changes.getChanges().get(1).getEvent());
+    assertEquals(ChangeType.ADDED, changes.getChanges().get(2).getType());
+    assertTrue(kept.getVersion() > version);
+
+    assertTrue(personalCalendar.getChangesSince(personalCalendar.getVersion())
+        .getChanges().isEmpty());
+    assertNull(personalCalendar.getChangesSince(personalCalendar.getVersion() + 1));
+  }
+
+  @Test
+  public void testExportChangesSinceVersion() throws Exception {
+    personalCalendar.saveEvent(personalCalendar.createEvent("Old", startDateTime,
+        endDateTime, null, null, null, null));
+    long version = personalCalendar.getVersion();
+    personalCalendar.saveEvent(personalCalendar.createEvent("New",
+        LocalDateTime.of(2025, 5, 16, 9, 0), LocalDateTime.of(2025, 5, 16, 9, 30),
+        null, null, null, null));
+    personalCalendar.getCalendarStore().remove(new EventKey("Old",
+        startDateTime.toLocalDate(), endDateTime.toLocalDate(),
+        startDateTime.toLocalTime(), endDateTime.toLocalTime()));
+
+    File csvFile = new File("delta_export.csv");
+    new ExportCalendar(csvFile.getPath(), personalCalendar, null, null, version)
+        .exportCalendar();
+    List<String> lines = Files.readAllLines(csvFile.toPath());
+    csvFile.delete();
+
+    assertEquals(3, lines.size());
+    assertEquals("Change, Subject, Start Date, End Date, Start Time, End Time", lines.get(0));
+    assertEquals("added,New,2025-05-16,2025-05-16,09:00,09:30", lines.get(1));
+    assertEquals("removed,Old,2025-05-15,2025-05-15,10:00,11:00", lines.get(2));
+
+    File icalFile = new File("delta_export.ics");
+    new ExportCalendar(icalFile.getPath(), personalCalendar, null, null, version)
+        .exportCalendar();
+    String content = new String(Files.readAllBytes(icalFile.toPath()),
+        StandardCharsets.UTF_8);
+    icalFile.delete();
+
+    assertEquals(2, content.split("BEGIN:VEVENT").length - 1);
+    assertTrue(content.contains("SUMMARY: New\r\n"));
+    assertTrue(content.contains("STATUS:CANCELLED\r\n"));
+    assertTrue(content.contains("X-EDITH-SINCE-VERSION:" + version + "\r\n"));
+  }
+
+  @Test
+  public void testCopySharesEventsUntilOneIsEdited() {
+    Event meeting = personalCalendar.createEvent("Meeting", startDateTime, endDateTime,
+        null, null, null, null);
+    Event lunch = personalCalendar.createEvent("Lunch", startDateTime.plusHours(2),
+        endDateTime.plusHours(2), null, null, null, null);
+    personalCalendar.saveEvent(meeting);
+    personalCalendar.saveEvent(lunch);
+
+    Calendar copy = new CalendarImpl(personalCalendar);
+    Event copied = copy.getEvent("Meeting", startDateTime.toLocalDate(),
+        endDateTime.toLocalDate(), startDateTime.toLocalTime(), endDateTime.toLocalTime());
+    Event before = copy.createEvent("Meeting", startDateTime, endDateTime, null, null,
+        null, null);
+    copied.modifySubject("Review");
+    copy.updateEventKey(before, copied);
+
+    assertNotSame(meeting, copied);
+    assertEquals("Meeting", meeting.getSubject());
+    assertNotNull(personalCalendar.getEvent("Meeting", startDateTime.toLocalDate(),
+        endDateTime.toLocalDate(), startDateTime.toLocalTime(), endDateTime.toLocalTime()));
+    assertEquals(2, personalCalendar.getCalendarStore().size());
+    assertEquals(2, copy.getCalendarStore().size());
+    assertTrue(copy.getEventsForDate(startDateTime.toLocalDate()).contains(lunch));
+    assertSame(lunch, copy.getEventsForDate(startDateTime.toLocalDate()).stream()
+        .filter(event -> event.getSubject().equals("Lunch")).findFirst().get());
+  }
+
+  @Test
+  public void testCopyIsUnchangedBySourceMutations() {
+    List<Event> standups = new ArrayList<>();
+    for (int day = 0; day < 3; day++) {
+      Event standup = personalCalendar.createEvent("Standup",
+          LocalDateTime.of(2025, 6, 2 + day, 9, 0), LocalDateTime.of(2025, 6, 2 + day, 9, 15),
+          "series-1", null, null, null);
+      personalCalendar.saveEvent(standup);
+      standups.add(standup);
+    }
+
+    Calendar copy = new CalendarImpl(personalCalendar);
+    long copyVersion = copy.getVersion();
+    assertTrue(personalCalendar.editEvents(standups,
+        new PropertyEdit("subject", "Sync", true, null)));
+    personalCalendar.saveEvent(personalCalendar.createEvent("Retro",
+        LocalDateTime.of(2025, 6, 5, 9, 0), LocalDateTime.of(2025, 6, 5, 10, 0),
+        null, null, null, null));
+
+    assertEquals(copyVersion, copy.getVersion());
+    assertEquals(3, copy.getCalendarStore().size());
+    assertEquals(0, copy.countEvents(LocalDate.of(2025, 6, 5), LocalDate.of(2025, 6, 5)));
+    for (Event standup : copy.getEventsInSeries("series-1")) {
+      assertEquals("Standup", standup.getSubject());
+      assertSame(standup, standups.get(standup.getStartDate().getDayOfMonth() - 2));
+    }
+    assertEquals(4, personalCalendar.getCalendarStore().size());
+    for (Event standup : personalCalendar.getEventsInSeries("series-1")) {
+      assertEquals("Sync", standup.getSubject());
+    }
+  }
+
+  @Test
+  public void testCopyKeepsCalendarVersion() {
+    personalCalendar.saveEvent(personalCalendar.createEvent("Meeting", startDateTime,
+        endDateTime, null, null, null, null));
+    personalCalendar.modifyName("Home");
+
+    Calendar copy = new CalendarImpl(personalCalendar);
+
+    assertEquals(personalCalendar.getVersion(), copy.getVersion());
+    assertTrue(copy.getChangesSince(copy.getVersion()).getChanges().isEmpty());
+    assertNull(copy.getChangesSince(0));
+    assertEquals(1, copy.getEventsForDate(startDateTime.toLocalDate()).size());
+  }
+
+  @Test
+  public void testModelOperationsAreRecordedAsFlightRecorderEvents() throws Exception {
+    File dump = File.createTempFile("calendar", ".jfr");
+    dump.deleteOnExit();
+    try (Recording recording = new Recording()) {
+      recording.enable("calendar.SeriesConstruction");
+      recording.enable("calendar.CopyEvents");
+      recording.enable("calendar.TimezoneChange");
+      recording.start();
+
+      Event first = personalCalendar.createEvent("Standup", startDateTime, endDateTime,
+          "series-jfr", null, null, null);
+      personalCalendar.saveEvent(first);
+      personalCalendar.createSeries(first, 4, List.of(DayOfWeek.THURSDAY), null);
+      personalCalendar.copyEventsBetween(startDateTime.toLocalDate(),
+          startDateTime.toLocalDate().plusDays(30), workCalendar, LocalDate.of(2026, 1, 1));
+      workCalendar.modifyTimezone(ZoneId.of("Asia/Kolkata"));
+
+      recording.stop();
+      recording.dump(dump.toPath());
+    }
+
+    List<RecordedEvent> recorded = RecordingFile.readAllEvents(dump.toPath());
+    RecordedEvent series = only(recorded, "calendar.SeriesConstruction");
+    assertEquals("Personal", series.getString("calendarName"));
+    assertEquals("series-jfr", series.getString("seriesId"));
+    assertEquals(3, series.getInt("eventCount"));
+    RecordedEvent copy = only(recorded, "calendar.CopyEvents");
+    assertEquals("between", copy.getString("operation"));
+    assertEquals("Work", copy.getString("targetCalendarName"));
+    assertEquals(4, copy.getInt("eventCount"));
+    RecordedEvent timezone = only(recorded, "calendar.TimezoneChange");
+    assertEquals("America/Los_Angeles", timezone.getString("fromTimezone"));
+    assertEquals(4, timezone.getInt("eventCount"));
+  }
+
+  @Test
+  public void testCountEventsMatchesEventsStartingInRange() {
+    Random random = new Random(7);
+    LocalDate first = LocalDate.of(2024, 12, 1);
+    List<Event> saved = new ArrayList<>();
+    for (int i = 0; i < 400; i++) {
+      LocalDateTime start = first.plusDays(random.nextInt(1500)).atTime(9, 0);
+      Event event = personalCalendar.createEvent("Event " + i, start, start.plusHours(1),
+          null, null, null, null);
+      personalCalendar.saveEvent(event);
+      saved.add(event);
+    }
+    for (int i = 0; i < 100; i++) {
+      Event event = saved.get(i);
+      personalCalendar.getCalendarStore().remove(new EventKey(event.getSubject(),
+          event.getStartDate(), event.getEndDate(), event.getStartTime(),
+          event.getEndTime()));
+    }
+    personalCalendar.modifyTimezone(ZoneId.of("Asia/Tokyo"));
+
+    for (int i = 0; i < 50; i++) {
+      LocalDate from = first.plusDays(random.nextInt(1600) - 50);
+      LocalDate to = from.plusDays(random.nextInt(400));
+      int expected = 0;
+      for (Event event : personalCalendar.getCalendarStore().values()) {
+        if (!event.getStartDate().isBefore(from) && !event.getStartDate().isAfter(to)) {
+          expected++;
+        }
+      }
+      assertEquals(expected, personalCalendar.countEvents(from, to));
+    }
+    assertEquals(300, personalCalendar.countEvents(null, null));
+    personalCalendar.getCalendarStore().clear();
+    assertEquals(0, personalCalendar.countEvents(null, null));
+  }
+
+  @Test
+  public void testCountEventsPerDayWeekAndMonth() {
+    Event first = personalCalendar.createEvent("Standup",
+        LocalDateTime.of(2025, 5, 28, 9, 0), LocalDateTime.of(2025, 5, 28, 9, 15),
+        "series-count", null, null, null);
+    personalCalendar.saveEvent(first);
+    personalCalendar.createSeries(first, 6, List.of(DayOfWeek.WEDNESDAY,
+        DayOfWeek.FRIDAY), null);
+
+    assertEquals(6, personalCalendar.countEvents(LocalDate.of(2025, 5, 1),
+        LocalDate.of(2025, 6, 30)));
+    assertEquals(Map.of(LocalDate.of(2025, 5, 28), 1, LocalDate.of(2025, 5, 29), 0,
+            LocalDate.of(2025, 5, 30), 1),
+        personalCalendar.countEventsPer(LocalDate.of(2025, 5, 28), LocalDate.of(2025, 5, 30),
+            ChronoUnit.DAYS));
+    assertEquals(Map.of(LocalDate.of(2025, 5, 29), 1, LocalDate.of(2025, 6, 2), 2,
+            LocalDate.of(2025, 6, 9), 2, LocalDate.of(2025, 6, 16), 0),
+        personalCalendar.countEventsPer(LocalDate.of(2025, 5, 29), LocalDate.of(2025, 6, 20),
+            ChronoUnit.WEEKS));
+    assertEquals(Map.of(LocalDate.of(2025, 5, 15), 2, LocalDate.of(2025, 6, 1), 4),
+        personalCalendar.countEventsPer(LocalDate.of(2025, 5, 15), LocalDate.of(2025, 6, 30),
+            ChronoUnit.MONTHS));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCountEventsPerYearIsRejected() {
+    personalCalendar.countEventsPer(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 31),
+        ChronoUnit.YEARS);
+  }
+
+  @Test
+  public void testStreamEventsInStartOrderAndStopsEarly() {
+    for (int day = 30; day >= 1; day--) {
+      LocalDateTime start = LocalDateTime.of(2025, 6, day, 9, 0);
+      personalCalendar.saveEvent(personalCalendar.createEvent("Event " + day, start,
+          start.plusHours(1), null, null, null, null));
+    }
+
+    List<Event> firstThree = personalCalendar.streamEvents(
+        LocalDateTime.of(2025, 6, 10, 0, 0), null).limit(3).collect(Collectors.toList());
+    assertEquals(3, firstThree.size());
+    assertEquals(LocalDate.of(2025, 6, 10), firstThree.get(0).getStartDate());
+    assertEquals(LocalDate.of(2025, 6, 12), firstThree.get(2).getStartDate());
+    assertEquals(5, personalCalendar.streamEvents(LocalDateTime.of(2025, 6, 1, 9, 0),
+        LocalDateTime.of(2025, 6, 6, 9, 0)).count());
+  }
+
+  @Test
+  public void testEventsPagesCoverRangeOnceInOrder() {
+    for (int i = 0; i < 11; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 6, 1 + i / 4, 9, 0);
+      personalCalendar.saveEvent(personalCalendar.createEvent("Event " + i, start,
+          start.plusHours(1), null, null, null, null));
+    }
+    LocalDateTime from = LocalDateTime.of(2025, 6, 1, 0, 0);
+    LocalDateTime to = LocalDateTime.of(2025, 7, 1, 0, 0);
+
+    List<Event> paged = new ArrayList<>();
+    String token = null;
+    int pages = 0;
+    do {
+      SchedulePage page = personalCalendar.getEventsPage(from, to, token, 3);
+      assertTrue(page.getEvents().size() <= 3);
+      paged.addAll(page.getEvents());
+      token = page.getNextPageToken();
+      pages++;
+    } while (token != null);
+
+    assertEquals(4, pages);
+    assertEquals(personalCalendar.streamEvents(from, to).collect(Collectors.toList()), paged);
+    assertFalse(personalCalendar.getEventsPage(from, to, null, 11).hasNextPage());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEventsPageRejectsMalformedToken() {
+    personalCalendar.getEventsPage(null, null, "2025-06-01T09:00", 10);
+  }
+
+  @Test
+  public void testSaveEventsSkipsExistingKeysAndSavesUnderOneVersion() {
+    Event existing = personalCalendar.createEvent("Meeting", startDateTime, endDateTime,
+        null, null, null, null);
+    personalCalendar.saveEvent(existing);
+    long versionBefore = personalCalendar.getVersion();
+
+    Event sameKey = personalCalendar.createEvent("Meeting", startDateTime, endDateTime,
+        null, null, null, null);
+    Event next = personalCalendar.createEvent("Meeting", startDateTime.plusDays(1),
+        endDateTime.plusDays(1), null, null, null, null);
+    Event nextAgain = personalCalendar.createEvent("Meeting", startDateTime.plusDays(1),
+        endDateTime.plusDays(1), null, null, null, null);
+
+    assertEquals(1, personalCalendar.saveEvents(List.of(sameKey, next, nextAgain)));
+    assertEquals(2, personalCalendar.getCalendarStore().size());
+    assertEquals(versionBefore + 1, personalCalendar.getVersion());
+    assertSame(existing, personalCalendar.getEvent("Meeting", startDateTime.toLocalDate(),
+        endDateTime.toLocalDate(), startDateTime.toLocalTime(), endDateTime.toLocalTime()));
+  }
+
+  @Test
+  public void testSaveEventsRejectsTheWholeBatchIfAnEventIsInvalid() {
+    Event valid = personalCalendar.createEvent("Meeting", startDateTime, endDateTime,
+        null, null, null, null);
+    Event backwards = personalCalendar.createEvent("Backwards", endDateTime.plusDays(1),
+        startDateTime, null, null, null, null);
+
+    try {
+      personalCalendar.saveEvents(List.of(valid, backwards));
+      fail("Should throw IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      assertTrue(personalCalendar.getCalendarStore().isEmpty());
+    }
+  }
+
+  @Test
+  public void testCopyEventsBetweenInBulkReportsConflictsWithTargetAndEarlierCopies() {
+    Calendar teamCalendar = new CalendarImpl("Team", ZoneId.of("America/New_York"));
+    teamCalendar.saveEvent(teamCalendar.createEvent("Offsite", LocalDateTime.of(2025, 6, 29, 9, 0),
+        LocalDateTime.of(2025, 7, 1, 10, 15), null, null, null, null));
+    teamCalendar.saveEvent(teamCalendar.createEvent("Dentist",
+        LocalDateTime.of(2025, 7, 2, 12, 30), LocalDateTime.of(2025, 7, 2, 13, 30),
+        null, null, null, null));
+    long versionBefore = teamCalendar.getVersion();
+
+    personalCalendar.saveEvent(personalCalendar.createEvent("Review",
+        LocalDateTime.of(2025, 5, 15, 10, 0), LocalDateTime.of(2025, 5, 15, 11, 0),
+        null, null, null, null));
+    personalCalendar.saveEvent(personalCalendar.createEvent("Sync",
+        LocalDateTime.of(2025, 5, 15, 10, 30), LocalDateTime.of(2025, 5, 15, 11, 30),
+        null, null, null, null));
+    personalCalendar.saveEvent(personalCalendar.createEvent("Lunch",
+        LocalDateTime.of(2025, 5, 16, 12, 0), LocalDateTime.of(2025, 5, 16, 13, 0),
+        null, null, null, null));
+    personalCalendar.saveEvent(personalCalendar.createEvent("Retro",
+        LocalDateTime.of(2025, 5, 16, 15, 0), LocalDateTime.of(2025, 5, 16, 16, 0),
+        null, null, null, null));
+
+    CopyReport report = personalCalendar.copyEventsBetweenInBulk(LocalDate.of(2025, 5, 15),
+        LocalDate.of(2025, 5, 16), teamCalendar, LocalDate.of(2025, 7, 1));
+
+    assertEquals("Team", report.getTargetCalendarName());
+    assertEquals(List.of("Sync_copy", "Retro_copy"), report.getCopiedEvents().stream()
+        .map(Event::getSubject).collect(Collectors.toList()));
+    assertEquals(List.of("Review_copy", "Lunch_copy"), report.getConflicts().stream()
+        .map(Event::getSubject).collect(Collectors.toList()));
+    assertEquals(4, report.getStandaloneEvents());
+    assertEquals(0, report.getSeriesProcessed());
+    assertEquals(4, teamCalendar.getCalendarStore().size());
+    assertEquals(versionBefore + 1, teamCalendar.getVersion());
+  }
+
+  @Test
+  public void testCopyEventsBetweenShiftsEachEventWithItsOwnOffsets() {
+    for (int day : new int[] {5, 20}) {
+      personalCalendar.saveEvent(personalCalendar.createEvent("Call",
+          LocalDateTime.of(2025, 3, day, 10, 0), LocalDateTime.of(2025, 3, day, 11, 0),
+          null, null, null, null));
+    }
+    personalCalendar.saveEvent(personalCalendar.createEvent("Call",
+        LocalDateTime.of(2025, 4, 2, 10, 0), LocalDateTime.of(2025, 4, 2, 11, 0),
+        null, null, null, null));
+
+    List<Event> copied = personalCalendar.copyEventsBetween(LocalDate.of(2025, 3, 1),
+        LocalDate.of(2025, 4, 30), schoolCalendar, LocalDate.of(2025, 3, 1));
+
+    assertEquals(List.of(LocalDateTime.of(2025, 3, 5, 15, 0),
+            LocalDateTime.of(2025, 3, 20, 14, 0), LocalDateTime.of(2025, 4, 2, 15, 0)),
+        copied.stream().map(event -> LocalDateTime.of(event.getStartDate(),
+            event.getStartTime())).collect(Collectors.toList()));
+    assertEquals(LocalTime.of(16, 0), copied.get(0).getEndTime());
+  }
+
+  @Test
+  public void testParallelCopyCreatesTheSameCopiesAsTheSequentialCopy() {
+    LocalDateTime start = LocalDateTime.of(2025, 1, 6, 8, 0);
+    for (int i = 0; i < 600; i++) {
+      LocalDateTime eventStart = start.plusHours(i * 7L);
+      personalCalendar.saveEvent(personalCalendar.createEvent("Task " + i, eventStart,
+          eventStart.plusMinutes(90), null, null, null, null));
+    }
+    for (int series = 0; series < 12; series++) {
+      Event first = personalCalendar.createEvent("Series " + series,
+          start.plusMinutes(series * 20L), start.plusMinutes(series * 20L + 45),
+          "series-" + series, null, null, null);
+      personalCalendar.saveEvent(first);
+      personalCalendar.createSeries(first, 40, List.of(DayOfWeek.MONDAY, DayOfWeek.THURSDAY),
+          null);
+    }
+    Calendar sequentialTarget = new CalendarImpl("Sequential", ZoneId.of("Europe/London"));
+    Calendar parallelTarget = new CalendarImpl("Parallel", ZoneId.of("Europe/London"));
+    LocalDate from = LocalDate.of(2025, 1, 1);
+    LocalDate to = LocalDate.of(2025, 12, 31);
+
+    CopyReport sequential = personalCalendar.copyEventsBetweenInBulk(from, to,
+        sequentialTarget, LocalDate.of(2026, 1, 1));
+    ForkJoinPool pool = new ForkJoinPool(4);
+    CopyReport parallel;
+    try {
+      parallel = personalCalendar.copyEventsBetweenInParallel(from, to, parallelTarget,
+          LocalDate.of(2026, 1, 1), pool);
+    } finally {
+      pool.shutdown();
+    }
+
+    assertEquals(sequential.getTotalCopied(), parallel.getTotalCopied());
+    assertEquals(sequential.getConflicts().size(), parallel.getConflicts().size());
+    assertEquals(12, parallel.getSeriesProcessed());
+    Map<String, String> seriesIds = new HashMap<>();
+    for (int i = 0; i < sequential.getTotalCopied(); i++) {
+      Event expected = sequential.getCopiedEvents().get(i);
+      Event actual = parallel.getCopiedEvents().get(i);
+      assertEquals(expected.toString(), actual.toString());
+      if (expected.getEventSeriesId() != null) {
+        assertEquals(seriesIds.computeIfAbsent(expected.getEventSeriesId(),
+            id -> actual.getEventSeriesId()), actual.getEventSeriesId());
+      }
+    }
+    assertEquals(sequentialTarget.getCalendarStore().keySet(),
+        parallelTarget.getCalendarStore().keySet());
+  }
+
+  @Test
+  public void testStreamConflictsListsEveryOverlappingPairOnce() {
+    Random random = new Random(40);
+    List<Event> events = new ArrayList<>();
+    for (int i = 0; i < 400; i++) {
+      LocalDateTime start = LocalDateTime.of(2025, 6, 1, 0, 0)
+          .plusMinutes(15L * random.nextInt(2000));
+      Event event = personalCalendar.createEvent("Event " + i, start,
+          start.plusMinutes(15L * random.nextInt(9)), null, null, null, null);
+      personalCalendar.saveEvent(event);
+      events.add(event);
+    }
+
+    long expected = 0;
+    for (int i = 0; i < events.size(); i++) {
+      for (int j = i + 1; j < events.size(); j++) {
+        if (overlap(events.get(i), events.get(j))) {
+          expected++;
+        }
+      }
+    }
+
+    List<EventConflict> conflicts =
+        personalCalendar.streamConflicts(null, null).collect(Collectors.toList());
+    assertEquals(expected, conflicts.size());
+    LocalDateTime previous = LocalDateTime.MIN;
+    for (EventConflict conflict : conflicts) {
+      assertTrue(overlap(conflict.getFirst(), conflict.getSecond()));
+      assertFalse(conflict.getOverlapStart().isBefore(previous));
+      previous = conflict.getOverlapStart();
+    }
+  }
+
+  @Test
+  public void testStreamConflictsWithinRangeIncludesLongEventsStartingBeforeIt() {
+    personalCalendar.saveEvent(personalCalendar.createEvent("Conference",
+        LocalDateTime.of(2025, 6, 1, 9, 0), LocalDateTime.of(2025, 6, 5, 17, 0),
+        null, null, null, null));
+    personalCalendar.saveEvent(personalCalendar.createEvent("Standup",
+        LocalDateTime.of(2025, 6, 2, 9, 0), LocalDateTime.of(2025, 6, 2, 9, 15),
+        null, null, null, null));
+    personalCalendar.saveEvent(personalCalendar.createEvent("Review",
+        LocalDateTime.of(2025, 6, 4, 10, 0), LocalDateTime.of(2025, 6, 4, 11, 0),
+        null, null, null, null));
+    personalCalendar.saveEvent(personalCalendar.createEvent("Retro",
+        LocalDateTime.of(2025, 6, 4, 11, 0), LocalDateTime.of(2025, 6, 4, 12, 0),
+        null, null, null, null));
+
+    List<String> conflicts = personalCalendar.streamConflicts(
+            LocalDateTime.of(2025, 6, 4, 0, 0), LocalDateTime.of(2025, 6, 5, 0, 0))
+        .map(EventConflict::toString).collect(Collectors.toList());
+
+    assertEquals(List.of(
+        "Conference overlaps Review from 2025-06-04T10:00 to 2025-06-04T11:00",
+        "Conference overlaps Retro from 2025-06-04T11:00 to 2025-06-04T12:00"), conflicts);
+  }
+
+  @Test
+  public void testEditEventsMovesEveryEventUnderOneVersion() {
+    List<Event> standups = new ArrayList<>();
+    for (int day = 0; day < 3; day++) {
+      Event standup = personalCalendar.createEvent("Standup",
+          LocalDateTime.of(2025, 6, 2 + day, 9, 0), LocalDateTime.of(2025, 6, 2 + day, 9, 15),
+          "series-1", null, null, null);
+      personalCalendar.saveEvent(standup);
+      standups.add(standup);
+    }
+    long versionBefore = personalCalendar.getVersion();
+
+    assertTrue(personalCalendar.editEvents(standups,
+        new PropertyEdit("start", "2025-06-02T08:45", true, null)));
+
+    assertEquals(versionBefore + 1, personalCalendar.getVersion());
+    assertEquals(3, personalCalendar.getEventsInSeries("series-1").size());
+    for (int day = 0; day < 3; day++) {
+      LocalDate date = LocalDate.of(2025, 6, 2 + day);
+      assertSame(standups.get(day), personalCalendar.getEvent("Standup", date, date,
+          LocalTime.of(8, 45), LocalTime.of(9, 15)));
+    }
+  }
+
+  @Test
+  public void testEditEventsChangesNothingWhenOneEventWouldBeDuplicated() {
+    List<Event> standups = new ArrayList<>();
+    for (int day = 0; day < 3; day++) {
+      Event standup = personalCalendar.createEvent("Standup",
+          LocalDateTime.of(2025, 6, 2 + day, 9, 0), LocalDateTime.of(2025, 6, 2 + day, 9, 15),
+          "series-1", null, null, null);
+      personalCalendar.saveEvent(standup);
+      standups.add(standup);
+    }
+    personalCalendar.saveEvent(personalCalendar.createEvent("Sync",
+        LocalDateTime.of(2025, 6, 4, 9, 0), LocalDateTime.of(2025, 6, 4, 9, 15),
+        null, null, null, null));
+    long versionBefore = personalCalendar.getVersion();
+
+    assertFalse(personalCalendar.editEvents(standups,
+        new PropertyEdit("subject", "Sync", true, null)));
+
+    assertEquals(versionBefore, personalCalendar.getVersion());
+    assertEquals(4, personalCalendar.getCalendarStore().size());
+    for (Event standup : standups) {
+      assertEquals("Standup", standup.getSubject());
+      assertSame(standup, personalCalendar.getEvent("Standup", standup.getStartDate(),
+          standup.getEndDate(), standup.getStartTime(), standup.getEndTime()));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testEditEventsRejectsEndBeforeStart() {
+    Event standup = personalCalendar.createEvent("Standup", LocalDateTime.of(2025, 6, 2, 9, 0),
+        LocalDateTime.of(2025, 6, 2, 9, 15), null, null, null, null);
+    personalCalendar.saveEvent(standup);
+
+    personalCalendar.editEvents(List.of(standup),
+        new PropertyEdit("end", "2025-06-02T08:00", false, null));
+  }
+
+  @Test
+  public void testQueriesCachedUntilVersionChanges() {
+    Event standup = personalCalendar.createEvent("Standup", LocalDateTime.of(2025, 6, 2, 9, 0),
+        LocalDateTime.of(2025, 6, 2, 9, 15), null, null, null, null);
+    personalCalendar.saveEvent(standup);
+    long hits = QueryCache.getHits();
+    long misses = QueryCache.getMisses();
+
+    List<Event> day = personalCalendar.getEventsForDate(LocalDate.of(2025, 6, 2));
+    List<Event> schedule = personalCalendar.getSchedule("2025-06-01T00:00", "2025-06-07T00:00");
+    assertEquals("Busy", personalCalendar.showStatus("2025-06-02T09:00"));
+    assertSame(day, personalCalendar.getEventsForDate(LocalDate.of(2025, 6, 2)));
+    assertSame(schedule,
+        personalCalendar.getSchedule("2025-06-01T00:00", "2025-06-07T00:00"));
+    assertEquals("Busy", personalCalendar.showStatus("2025-06-02T09:00"));
+    assertEquals(3, QueryCache.getHits() - hits);
+    assertEquals(3, QueryCache.getMisses() - misses);
+
+    personalCalendar.saveEvent(personalCalendar.createEvent("Review",
+        LocalDateTime.of(2025, 6, 2, 11, 0), LocalDateTime.of(2025, 6, 2, 12, 0),
+        null, null, null, null));
+    assertEquals(2, personalCalendar.getEventsForDate(LocalDate.of(2025, 6, 2)).size());
+    assertEquals(2,
+        personalCalendar.getSchedule("2025-06-01T00:00", "2025-06-07T00:00").size());
+    assertEquals(1, day.size());
+
+    personalCalendar.editEvents(List.of(personalCalendar.getEvent("Standup",
+            standup.getStartDate(), standup.getEndDate(), standup.getStartTime(),
+            standup.getEndTime())),
+        new PropertyEdit("start", "2025-06-02T08:00", false, null));
+    assertEquals("Available", personalCalendar.showStatus("2025-06-02T09:00"));
+    assertEquals("Busy", personalCalendar.showStatus("2025-06-02T08:00"));
+  }
+
+  @Test
+  public void testCachedEventsOfDayCanBeEditedAfterCloneAndGetEvent() {
+    Event standup = personalCalendar.createEvent("Standup", LocalDateTime.of(2025, 6, 2, 9, 0),
+        LocalDateTime.of(2025, 6, 2, 9, 15), null, null, null, null);
+    personalCalendar.saveEvent(standup);
+    LocalDate day = LocalDate.of(2025, 6, 2);
+    personalCalendar.getEventsForDate(day);
+
+    Calendar clone = new CalendarImpl(personalCalendar);
+    Event owned = personalCalendar.getEvent("Standup", standup.getStartDate(),
+        standup.getEndDate(), standup.getStartTime(), standup.getEndTime());
+    List<Event> events = personalCalendar.getEventsForDate(day);
+    assertSame(owned, events.get(0));
+    personalCalendar.editEvents(events, new PropertyEdit("subject", "Sync", false, null));
+
+    assertEquals("Sync", personalCalendar.getEventsForDate(day).get(0).getSubject());
+    assertEquals("Standup", clone.getEventsForDate(day).get(0).getSubject());
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testCachedQueryResultsAreUnmodifiable() {
+    personalCalendar.getEventsForDate(LocalDate.of(2025, 6, 2)).add(null);
+  }
+
+  @Test
+  public void testQueryCacheEvictsLeastRecentlyUsed() {
+    long evictions = QueryCache.getEvictions();
+    LocalDate first = LocalDate.of(2025, 1, 1);
+    personalCalendar.getEventsForDate(first);
+    for (int day = 1; day < 300; day++) {
+      personalCalendar.getEventsForDate(first.plusDays(day));
+      personalCalendar.getEventsForDate(first);
+    }
+
+    assertTrue(QueryCache.getEvictions() - evictions >= 300 - 256);
+    long hits = QueryCache.getHits();
+    personalCalendar.getEventsForDate(first);
+    personalCalendar.getEventsForDate(first.plusDays(1));
+    assertEquals(1, QueryCache.getHits() - hits);
+  }
+
+  private static boolean overlap(Event first, Event second) {
+    LocalDateTime firstStart = LocalDateTime.of(first.getStartDate(), first.getStartTime());
+    LocalDateTime firstEnd = LocalDateTime.of(first.getEndDate(), first.getEndTime());
+    LocalDateTime secondStart = LocalDateTime.of(second.getStartDate(), second.getStartTime());
+    LocalDateTime secondEnd = LocalDateTime.of(second.getEndDate(), second.getEndTime());
+    return firstStart.isBefore(secondEnd) && secondStart.isBefore(firstEnd);
+  }
+
+  private static RecordedEvent only(List<RecordedEvent> recorded, String name) {
+    List<RecordedEvent> matching = new ArrayList<>();
+    for (RecordedEvent event : recorded) {
+      if (event.getEventType().getName().equals(name)) {
+        matching.add(event);
+      }
+    }
+    assertEquals(1, matching.size());
+    return matching.get(0);
+  }
+}
@@ -1,25 +1,52 @@
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import calendar.commandobject.create.CreateCalendarCommand;
+import calendar.controller.CalendarDaemon;
+import calendar.controller.CalendarServer;
+import calendar.controller.CommandMetrics;
+import calendar.controller.CommandStatistics;
 import calendar.controller.ControllerImpl;
+import calendar.controller.LatencyHistogram;
 import calendar.model.modelimplementations.CalendarImpl;
 import calendar.model.modelimplementations.CalendarManagerImpl;
 import calendar.model.modelinterfaces.Calendar;
 import calendar.model.modelinterfaces.CalendarManager;
 import calendar.model.modelinterfaces.Event;
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedReader;
+import java.io.PipedWriter;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -1010,4 +1037,292 @@ public class ControllerTest {
 
     assertTrue(true);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testCommandMetricsRecordEveryCommandType() {
+    CommandMetrics metrics = CommandMetrics.getInstance();
+    metrics.reset();
+    StringReader input = new StringReader("");
+    controller = new ControllerImpl(calendarManager, input, output, "interactive", null);
+    controller.initializeCommands();
+
+    controller.processCommands("print events on 2025-06-15");
+    controller.processCommands("use calendar --name TestCalendar");
+    controller.processCommands(
+        "create event Standup from 2025-06-15T10:00 to 2025-06-15T10:30 repeats MW for 3 times");
+    controller.processCommands("create event Lunch from 2025-06-15T12:00 to 2025-06-15T13:00");
+    controller.processCommands("print events on 2025-06-15");
+    controller.processCommands("fly to the moon");
+
+    Map<String, CommandStatistics> commands = metrics.getCommands();
+    assertEquals(2, commands.get("print events").getCount());
+    assertEquals(1, commands.get("print events").getErrors());
+    assertEquals(1, commands.get("create series").getCount());
+    assertEquals(1, commands.get("create event").getCount());
+    assertEquals(0, commands.get("create event").getErrors());
+    assertEquals(1, commands.get("invalid command").getErrors());
+    assertEquals(6, metrics.getTotalCommands());
+    assertEquals(2, metrics.getTotalErrors());
+    assertTrue(commands.get("create event").getMaxMicros() > 0);
+  }
+
+  @Test
+  public void testLatencyHistogramPercentiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long micros = 1; micros <= 1000; micros++) {
+      histogram.record(micros * 1000);
+    }
+
+    assertEquals(1000, histogram.getCount());
+    assertEquals(1_000_000, histogram.getMax());
+    assertEquals(500_500, histogram.getMean(), 1e-6);
+    long p50 = histogram.getPercentile(50);
+    long p99 = histogram.getPercentile(99);
+    assertTrue(p50 >= 500_000 && p50 <= 500_000 * 17 / 16);
+    assertTrue(p99 >= 990_000 && p99 <= 1_000_000);
+    assertEquals(1_000_000, histogram.getPercentile(100));
+
+    histogram.reset();
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getPercentile(50));
+  }
+
+  @Test
+  public void testLatencyHistogramRecordsLargestLatencies() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(Long.MAX_VALUE);
+    histogram.record(Long.MAX_VALUE / 2 + 1);
+
+    assertEquals(2, histogram.getCount());
+    assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+    assertTrue(histogram.getPercentile(50) >= Long.MAX_VALUE / 2);
+  }
+
+  @Test
+  public void testCommandMetricsRegisteredAsMxBean() throws Exception {
+    calendarManager.getCalendar("TestCalendar").saveEvent(testCalendar.createEvent("Review",
+        LocalDateTime.of(2025, 6, 15, 10, 0), LocalDateTime.of(2025, 6, 15, 11, 0),
+        null, null, null, null));
+    CommandMetrics.register(calendarManager);
+    CommandMetrics.getInstance().record("show status", 2_000, false);
+
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName(CommandMetrics.OBJECT_NAME);
+    assertTrue(server.isRegistered(name));
+    assertTrue((Long) server.getAttribute(name, "TotalCommands") > 0);
+    assertNotNull(server.getAttribute(name, "Commands"));
+    assertNotNull(server.getAttribute(name, "QueryCacheHits"));
+    assertEquals(Integer.valueOf(1),
+        CommandMetrics.getInstance().getCalendarEventCounts().get("TestCalendar"));
+  }
+
+  @Test
+  public void testDaemonKeepsCalendarsBetweenSessions() throws Exception {
+    Path socket = Files.createTempDirectory("daemon").resolve("calendar.sock");
+    CalendarDaemon daemon = new CalendarDaemon(socket);
+    controller = new ControllerImpl(calendarManager, new StringReader(""), daemon.getOutput(),
+        "daemon", socket.toString());
+    Thread server = new Thread(() -> {
+      try {
+        daemon.serve(controller);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    server.start();
+    for (int i = 0; i < 100 && !Files.exists(socket); i++) {
+      Thread.sleep(50);
+    }
+
+    StringWriter first = new StringWriter();
+    CalendarDaemon.send(socket, new BufferedReader(new StringReader(
+        "use calendar --name TestCalendar\n"
+            + "create event Standup from 2025-06-15T10:00 to 2025-06-15T10:30\n"
+            + "exit\n")), first);
+    StringWriter second = new StringWriter();
+    CalendarDaemon.send(socket, new BufferedReader(new StringReader(
+        "print events on 2025-06-15\n")), second);
+    daemon.close();
+    server.join(5000);
+
+    assertTrue(first.toString().contains("Saved event: Standup"));
+    assertTrue(second.toString().contains("Standup starting on 2025-06-15 at 10:00"));
+    assertTrue(second.toString().contains("Thank you for using"));
+    assertFalse(server.isAlive());
+    assertFalse(Files.exists(socket));
+  }
+
+  @Test
+  public void testDaemonEndsSessionIdleLongerThanReadTimeout() throws Exception {
+    Path socket = Files.createTempDirectory("daemon").resolve("calendar.sock");
+    CalendarDaemon daemon = new CalendarDaemon(socket, 200);
+    controller = new ControllerImpl(calendarManager, new StringReader(""), daemon.getOutput(),
+        "daemon", socket.toString());
+    Thread server = new Thread(() -> {
+      try {
+        daemon.serve(controller);
+      } catch (IOException e) {
+        throw new IllegalStateException(e);
+      }
+    });
+    server.start();
+    for (int i = 0; i < 100 && !Files.exists(socket); i++) {
+      Thread.sleep(50);
+    }
+
+    PipedWriter idle = new PipedWriter();
+    BufferedReader idleCommands = new BufferedReader(new PipedReader(idle));
+    idle.write("use calendar --name TestCalendar\n");
+    idle.flush();
+    long start = System.currentTimeMillis();
+    CalendarDaemon.send(socket, idleCommands, new StringWriter());
+    long idleFor = System.currentTimeMillis() - start;
+    StringWriter next = new StringWriter();
+    CalendarDaemon.send(socket, new BufferedReader(new StringReader(
+        "print events on 2025-06-15\n")), next);
+    daemon.close();
+    server.join(5000);
+    idle.close();
+
+    assertTrue(idleFor < 5000);
+    assertTrue(next.toString().contains("Thank you for using"));
+    assertFalse(server.isAlive());
+  }
+
+  @Test
+  public void testServerAnswersReadsAndRunsCommands() throws Exception {
+    CalendarServer server = new CalendarServer(calendarManager);
+    server.run("use calendar --name TestCalendar\n"
+        + "create event Standup from 2025-06-15T10:00 to 2025-06-15T10:30\n"
+        + "create event Review from 2025-06-15T10:15 to 2025-06-15T11:00\n");
+    server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    String api = "http://localhost:" + server.getAddress().getPort() + "/api/";
+    try {
+      assertTrue(request(api + "calendars", null)
+          .contains("{\"name\":\"TestCalendar\",\"timezone\":\"America/New_York\",\"events\":2"));
+      assertTrue(request(api + "calendars/TestCalendar/events?date=2025-06-15", null)
+          .contains("\"subject\":\"Review\",\"start\":\"2025-06-15T10:15\""));
+      assertTrue(request(api + "calendars/TestCalendar/status?at=2025-06-15T10:00", null)
+          .contains("\"status\":\"Busy\""));
+      assertTrue(request(api
+          + "calendars/TestCalendar/freebusy?from=2025-06-15T09:00&to=2025-06-15T12:00", null)
+          .contains("\"busy\":[{\"start\":\"2025-06-15T10:00\",\"end\":\"2025-06-15T11:00\"}],"
+              + "\"free\":[{\"start\":\"2025-06-15T09:00\",\"end\":\"2025-06-15T10:00\"},"
+              + "{\"start\":\"2025-06-15T11:00\",\"end\":\"2025-06-15T12:00\"}]"));
+      String page = request(api + "calendars/TestCalendar/events?limit=1", null);
+      assertTrue(page.contains("Standup") && !page.contains("Review"));
+      assertTrue(page.contains("\"nextPageToken\":\""));
+
+      assertTrue(request(api + "commands", "use calendar --name TestCalendar\n"
+          + "create event Lunch from 2025-06-15T12:00 to 2025-06-15T13:00\n",
+          CalendarServer.TOKEN_HEADER, server.getToken())
+          .contains("Saved event: Lunch"));
+      assertTrue(request(api + "calendars/TestCalendar/events?date=2025-06-15", null)
+          .contains("Lunch"));
+
+      assertTrue(request(api + "calendars/Missing/events", null).startsWith("404"));
+      assertTrue(request(api + "calendars/TestCalendar/status?at=noon", null).startsWith("400"));
+      assertTrue(request(api + "commands", null).startsWith("405"));
+      assertTrue(CommandMetrics.getInstance().getCommands().get("http events").getCount() > 0);
+    } finally {
+      server.close();
+    }
+  }
+
+  @Test
+  public void testServerRefusesCrossOriginAndUnauthenticatedRequests() throws Exception {
+    CalendarServer server = new CalendarServer(calendarManager);
+    server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    int port = server.getAddress().getPort();
+    String api = "http://localhost:" + port + "/api/";
+    String commands = "use calendar --name TestCalendar\n"
+        + "create event Lunch from 2025-06-15T12:00 to 2025-06-15T13:00\n";
+    try {
+      assertTrue(rawRequest(port, "POST /api/commands", "localhost:" + port,
+          "Origin: http://evil.example\r\nContent-Type: text/plain\r\n"
+              + CalendarServer.TOKEN_HEADER + ": " + server.getToken() + "\r\n", commands)
+          .startsWith("HTTP/1.1 403"));
+      assertTrue(rawRequest(port, "GET /api/calendars", "localhost:" + port,
+          "Origin: http://evil.example\r\n", "").startsWith("HTTP/1.1 403"));
+      assertTrue(rawRequest(port, "GET /api/calendars", "evil.example:" + port, "", "")
+          .startsWith("HTTP/1.1 403"));
+      assertTrue(request(api + "commands", commands).startsWith("403"));
+      assertTrue(request(api + "commands", commands, CalendarServer.TOKEN_HEADER, "guess")
+          .startsWith("403"));
+      assertFalse(request(api + "calendars/TestCalendar/events?date=2025-06-15", null)
+          .contains("Lunch"));
+    } finally {
+      server.close();
+    }
+  }
+
+  @Test
+  public void testServerReadsWhileCommandsRun() throws Exception {
+    CalendarServer server = new CalendarServer(calendarManager);
+    server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    String events = "http://localhost:" + server.getAddress().getPort()
+        + "/api/calendars/TestCalendar/events?from=2025-06-01T00:00&limit=1000";
+    ExecutorService readers = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<String>> reads = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        reads.add(readers.submit(() -> request(events, null)));
+      }
+      StringBuilder commands = new StringBuilder("use calendar --name TestCalendar\n");
+      for (int day = 1; day <= 28; day++) {
+        commands.append(String.format(
+            "create event Standup from 2025-06-%02dT10:00 to 2025-06-%02dT10:30%n", day, day));
+      }
+      server.run(commands.toString());
+      for (Future<String> read : reads) {
+        assertTrue(read.get().startsWith("{\"calendar\":\"TestCalendar\""));
+      }
+      assertEquals(28, request(events, null).split("Standup", -1).length - 1);
+    } finally {
+      readers.shutdown();
+      server.close();
+    }
+  }
+
+  /**
+   * Sends a request line with a Host, other header lines and a body over a socket, as a
+   * browser could, and gets the whole response.
+   */
+
+  private static String rawRequest(int port, String requestLine, String host, String headers,
+                                   String body) throws IOException {
+    try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+      byte[] content = body.getBytes(StandardCharsets.UTF_8);
+      socket.getOutputStream().write((requestLine + " HTTP/1.1\r\nHost: " + host + "\r\n"
+          + headers + "Content-Length: " + content.length + "\r\nConnection: close\r\n\r\n")
+          .getBytes(StandardCharsets.UTF_8));
+      socket.getOutputStream().write(content);
+      return new String(socket.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  /**
+   * Sends a GET request, or a POST request with a body if given, with the given pairs of
+   * header names and values, and gets the body of the response, prefixed with its status
+   * if it failed.
+   */
+
+  private static String request(String url, String body, String... headers)
+      throws IOException {
+    HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+    for (int i = 0; i < headers.length; i += 2) {
+      connection.setRequestProperty(headers[i], headers[i + 1]);
+    }
+    if (body != null) {
+      connection.setRequestMethod("POST");
+      connection.setDoOutput(true);
+      connection.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+    }
+    int status = connection.getResponseCode();
+    try (InputStream in = status < 400 ? connection.getInputStream()
+        : connection.getErrorStream()) {
+      String response = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+      return status < 400 ? response : status + " " + response;
+    }
+  }
+}
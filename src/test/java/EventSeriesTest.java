@@ -509,4 +509,51 @@ public class EventSeriesTest {
 
     assertEquals(sizeBefore, sizeAfter);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testConstructSeriesEventsJumpsBetweenRepeatDaysOverTenYears() {
+    LocalDate eventStartDate = LocalDate.of(2025, 1, 1);
+    LocalDate seriesEndDate = LocalDate.of(2034, 12, 31);
+    eventSeries = new EventSeriesImpl("series-id", 0, null, seriesEndDate,
+        Arrays.asList(DayOfWeek.SUNDAY, DayOfWeek.TUESDAY, DayOfWeek.SATURDAY));
+
+    testEvent = testCalendar.createEvent("Test Event",
+        eventStartDate.atTime(9, 0),
+        eventStartDate.atTime(10, 0),
+        "series-id", null, null, null);
+
+    testCalendar.getCalendarStore().clear();
+    long versionBefore = testCalendar.getVersion();
+
+    eventSeries.constructSeriesEvents(testEvent, testCalendar);
+
+    int expected = 0;
+    for (LocalDate date = eventStartDate.plusDays(1); !date.isAfter(seriesEndDate);
+         date = date.plusDays(1)) {
+      DayOfWeek day = date.getDayOfWeek();
+      if (day == DayOfWeek.SUNDAY || day == DayOfWeek.TUESDAY || day == DayOfWeek.SATURDAY) {
+        expected++;
+        assertNotNull(testCalendar.getEvent("Test Event", date, date, LocalTime.of(9, 0),
+            LocalTime.of(10, 0)));
+      }
+    }
+    assertEquals(expected, testCalendar.getCalendarStore().size());
+    assertEquals(versionBefore + 1, testCalendar.getVersion());
+  }
+
+  @Test
+  public void testConstructSeriesEventsWithNoRepeatDaysCreatesNothing() {
+    eventSeries = new EventSeriesImpl("series-id", 5, null, null, Arrays.asList());
+
+    testEvent = testCalendar.createEvent("Test Event",
+        startDate.atTime(9, 0),
+        startDate.atTime(10, 0),
+        "series-id", null, null, null);
+
+    testCalendar.getCalendarStore().clear();
+
+    eventSeries.constructSeriesEvents(testEvent, testCalendar);
+
+    assertEquals(0, testCalendar.getCalendarStore().size());
+  }
+}
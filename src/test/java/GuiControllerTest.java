@@ -2,8 +2,11 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import calendar.controller.CommandMetrics;
+import calendar.controller.CommandStatistics;
 import calendar.controller.GuiControllerFeatures;
 import calendar.controller.GuiControllerHandlers;
 import calendar.model.modelimplementations.CalendarImpl;
@@ -11,14 +14,21 @@ import calendar.model.modelimplementations.CalendarManagerImpl;
 import calendar.model.modelinterfaces.Calendar;
 import calendar.model.modelinterfaces.CalendarManager;
 import calendar.model.modelinterfaces.Event;
+import calendar.model.modelutility.MonthSummary;
 import calendar.view.ViewInterface;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
+import javax.swing.SwingUtilities;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -230,6 +240,43 @@ public class GuiControllerTest {
     assertEquals("Physical", editedEvent.getLocation());
   }
 
+  @Test
+  public void testHandleEditEventClickedForSeriesRecordsOneOperation() {
+    Calendar currentCal = calendarManager.getCalendar("TestCalendar");
+    for (int day = 20; day < 23; day++) {
+      currentCal.saveEvent(currentCal.createEvent("Standup",
+          LocalDateTime.of(2024, 11, day, 9, 0), LocalDateTime.of(2024, 11, day, 9, 15),
+          "series-1", "Online", "Public", ""));
+    }
+    long editEvents = commandCount("gui editEvent");
+    long editSeries = commandCount("gui editSeries");
+
+    Map<String, Object> updatedData = new HashMap<>();
+    updatedData.put("name", "Standup");
+    updatedData.put("startDate", "2024-11-20");
+    updatedData.put("endDate", "2024-11-20");
+    updatedData.put("startTime", "09:00");
+    updatedData.put("endTime", "09:15");
+    updatedData.put("location", "Physical");
+    updatedData.put("status", "Public");
+    updatedData.put("description", "");
+    updatedData.put("editAllEvents", true);
+    testView.currentDate = LocalDate.of(2024, 11, 20);
+    controller.handleEditEventClicked(updatedData);
+
+    for (Event event : currentCal.getEventsInSeries("series-1")) {
+      assertEquals("Physical", event.getLocation());
+    }
+    assertEquals(editEvents + 1, commandCount("gui editEvent"));
+    assertEquals(editSeries, commandCount("gui editSeries"));
+
+    calendarManager.undo();
+    for (Event event : currentCal.getEventsInSeries("series-1")) {
+      assertEquals("Online", event.getLocation());
+    }
+    assertFalse(calendarManager.canUndo());
+  }
+
   @Test
   public void testHandleEditEventClickedEventNotFound() {
     Map<String, Object> updatedData = new HashMap<>();
@@ -418,6 +465,166 @@ public class GuiControllerTest {
     assertEquals("Personal", calendarManager.getCurrentCalendarName());
   }
 
+  @Test
+  public void testUndoAndRedoCreatedEvent() {
+    Map<String, Object> params = new HashMap<>();
+    params.put("name", "Team Meeting");
+    params.put("startDate", "2024-11-20");
+    params.put("endDate", "2024-11-20");
+    params.put("startTime", "10:00");
+    params.put("endTime", "11:00");
+    params.put("location", "Online");
+    params.put("status", "Public");
+    params.put("description", "Weekly team sync");
+    params.put("isRecurring", false);
+    testView.currentDate = LocalDate.of(2024, 11, 20);
+    controller.handleDialogBoxCreateEvent(params);
+    assertTrue(testView.canUndo);
+
+    controller.handleUndoClicked();
+
+    assertTrue(testView.shownEvents.isEmpty());
+    assertFalse(testView.canUndo);
+    assertTrue(testView.canRedo);
+
+    controller.handleRedoClicked();
+
+    assertEquals(1, testView.shownEvents.size());
+    assertEquals("Team Meeting", testView.shownEvents.get(0).getSubject());
+    assertTrue(testView.canUndo);
+    assertFalse(testView.canRedo);
+  }
+
+  @Test
+  public void testMonthShownSummarizesEventsOfEveryDay() throws Exception {
+    Calendar calendar = calendarManager.getCalendar("TestCalendar");
+    for (int i = 0; i < 5; i++) {
+      calendar.saveEvent(calendar.createEvent("Standup " + i,
+          LocalDateTime.of(2024, 11, 20, 9 + i, 0), LocalDateTime.of(2024, 11, 20, 10 + i, 0),
+          null, null, null, null));
+    }
+    testView.currentDate = LocalDate.of(2024, 11, 1);
+
+    SwingUtilities.invokeAndWait(controller::handleMonthShown);
+    MonthSummary summary = testView.monthSummary;
+    assertNotNull(summary);
+
+    assertEquals(YearMonth.of(2024, 11), summary.getMonth());
+    assertEquals(5, summary.getEventCount(20));
+    assertEquals(Arrays.asList("Standup 0", "Standup 1", "Standup 2"),
+        summary.getSubjects(20));
+    assertEquals(0, summary.getEventCount(21));
+
+    testView.monthSummary = null;
+    SwingUtilities.invokeAndWait(controller::handleMonthShown);
+    assertSame(summary, testView.monthSummary);
+
+    Map<String, Object> params = new HashMap<>();
+    params.put("name", "Review");
+    params.put("startDate", "2024-11-21");
+    params.put("endDate", "2024-11-21");
+    params.put("startTime", "10:00");
+    params.put("endTime", "11:00");
+    params.put("location", "Online");
+    params.put("status", "Public");
+    params.put("description", "");
+    params.put("isRecurring", false);
+    testView.currentDate = LocalDate.of(2024, 11, 21);
+    testView.monthSummary = null;
+    SwingUtilities.invokeAndWait(() -> controller.handleDialogBoxCreateEvent(params));
+
+    assertEquals(1, testView.monthSummary.getEventCount(21));
+  }
+
+  @Test
+  public void testSearchTypedShowsRankedResultsOfLastTermOnly() throws Exception {
+    Calendar currentCal = calendarManager.getCalendar("TestCalendar");
+    String[] subjects = {"Team meeting", "Lunch", "Meeting prep", "meeting"};
+    for (int i = 0; i < subjects.length; i++) {
+      currentCal.saveEvent(currentCal.createEvent(subjects[i],
+          LocalDateTime.of(2024, 11, 20 + i, 10, 0), LocalDateTime.of(2024, 11, 20 + i, 11, 0),
+          null, null, null, null));
+    }
+
+    SwingUtilities.invokeAndWait(() -> {
+      controller.handleSearchTyped("Me");
+      controller.handleSearchTyped("Mee");
+      controller.handleSearchTyped("Meeting");
+    });
+    long deadline = System.currentTimeMillis() + 5000;
+    while (testView.searchTerm == null && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    Thread.sleep(500);
+    SwingUtilities.invokeAndWait(() -> { });
+
+    assertEquals(Arrays.asList("Meeting"), testView.shownSearchTerms);
+    assertEquals(3, testView.searchResults.size());
+    assertEquals("meeting", testView.searchResults.get(0).getSubject());
+    assertEquals("Meeting prep", testView.searchResults.get(1).getSubject());
+    assertEquals("Team meeting", testView.searchResults.get(2).getSubject());
+  }
+
+  @Test
+  public void testSearchTypedEmptyCancelsPendingSearch() throws Exception {
+    SwingUtilities.invokeAndWait(() -> {
+      controller.handleSearchTyped("Meeting");
+      controller.handleSearchTyped("");
+    });
+    Thread.sleep(500);
+    SwingUtilities.invokeAndWait(() -> { });
+
+    assertTrue(testView.shownSearchTerms.isEmpty());
+  }
+
+  @Test
+  public void testAdjacentMonthsArePrefetchedAndOnlyChangedMonthsReloaded() throws Exception {
+    List<YearMonth> summarized = new ArrayList<>();
+    Calendar calendar = new CalendarImpl("Counted", ZoneId.of("America/New_York")) {
+      @Override
+      public SortedMap<LocalDate, Integer> countEventsPer(LocalDate startDate,
+                                                          LocalDate endDate,
+                                                          ChronoUnit period) {
+        summarized.add(YearMonth.from(startDate));
+        return super.countEventsPer(startDate, endDate, period);
+      }
+    };
+    calendarManager.saveCalendar(calendar);
+    calendarManager.setCurrentCalendarNameAs("Counted");
+    calendar.saveEvent(calendar.createEvent("Retro", LocalDateTime.of(2024, 12, 10, 9, 0),
+        LocalDateTime.of(2024, 12, 10, 10, 0), null, null, null, null));
+    testView.currentDate = LocalDate.of(2024, 11, 1);
+    SwingUtilities.invokeAndWait(controller::handleMonthShown);
+    assertNotNull(testView.monthSummary);
+    assertEquals(Arrays.asList(YearMonth.of(2024, 11), YearMonth.of(2024, 10),
+        YearMonth.of(2024, 12)), summarized);
+
+    testView.currentDate = LocalDate.of(2024, 12, 1);
+    testView.monthSummary = null;
+    SwingUtilities.invokeAndWait(controller::handleMonthShown);
+    MonthSummary december = testView.monthSummary;
+    assertEquals(1, december.getEventCount(10));
+    assertEquals(Arrays.asList(YearMonth.of(2024, 11), YearMonth.of(2024, 10),
+        YearMonth.of(2024, 12), YearMonth.of(2025, 1)), summarized);
+
+    calendar.saveEvent(calendar.createEvent("Kickoff", LocalDateTime.of(2024, 11, 4, 9, 0),
+        LocalDateTime.of(2024, 11, 4, 10, 0), null, null, null, null));
+    testView.monthSummary = null;
+    SwingUtilities.invokeAndWait(controller::handleMonthShown);
+    assertSame(december, testView.monthSummary);
+
+    testView.currentDate = LocalDate.of(2024, 11, 1);
+    testView.monthSummary = null;
+    SwingUtilities.invokeAndWait(controller::handleMonthShown);
+    assertEquals(1, testView.monthSummary.getEventCount(4));
+  }
+
+
+  private static long commandCount(String command) {
+    CommandStatistics statistics = CommandMetrics.getInstance().getCommands().get(command);
+    return statistics == null ? 0 : statistics.getCount();
+  }
+
   private static class TestView implements ViewInterface {
     boolean handlersAdded = false;
     boolean createEventDialogShown = false;
@@ -430,15 +637,29 @@ public class GuiControllerTest {
     List<String> shownCalendars = null;
     List<Event> shownEvents = null;
     List<Event> searchResults = null;
-    String searchTerm = null;
+    volatile String searchTerm = null;
     LocalDate currentDate = LocalDate.now();
     Event editEventDialogEvent = null;
+    boolean canUndo = false;
+    boolean canRedo = false;
+    MonthSummary monthSummary = null;
+    List<String> shownSearchTerms = new ArrayList<>();
 
     @Override
     public void addHandlers(GuiControllerFeatures handler) {
       handlersAdded = true;
     }
 
+    @Override
+    public YearMonth getCurrentMonth() {
+      return YearMonth.from(currentDate);
+    }
+
+    @Override
+    public void showMonthSummary(MonthSummary summary) {
+      monthSummary = summary;
+    }
+
     @Override
     public void showCreateEventDialogBox() {
       createEventDialogShown = true;
@@ -465,6 +686,12 @@ public class GuiControllerTest {
 
     }
 
+    @Override
+    public void setUndoRedoEnabled(boolean canUndo, boolean canRedo) {
+      this.canUndo = canUndo;
+      this.canRedo = canRedo;
+    }
+
     @Override
     public void showCalendarNameExistsError(String name, boolean isEdit, String oldName) {
       calendarNameExistsErrorShown = true;
@@ -495,6 +722,7 @@ public class GuiControllerTest {
     public void showSearchResults(List<Event> results, String searchTerm) {
       this.searchResults = new ArrayList<>(results);
       this.searchTerm = searchTerm;
+      this.shownSearchTerms.add(searchTerm);
     }
 
     @Override